@@ -0,0 +1,98 @@
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.task.ColumnarTaskList;
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Task;
+import duke.task.ToDo;
+import duke.tasklist.TreeList;
+
+/**
+ * Measures the heap retained by a million tasks, a third of each type, kept as task objects in an ArrayList or a
+ * TreeList against the same tasks kept in a ColumnarTaskList, and the time each takes to scan every task for a
+ * substring and for its deadline. Run it with {@code gradle columnarBenchmark}, which gives it a fixed heap, it is
+ * not part of the test suite.
+ */
+public class ColumnarBenchmark {
+
+    private static final int NUM_OF_TASKS = 1_000_000;
+    private static final int NUM_OF_SCANS = 5;
+
+    /**
+     * Builds the tasks in each list in turn and prints the heap each list retains and how long its scans take.
+     *
+     * @param args unused.
+     */
+    public static void main(String[] args) {
+        System.out.printf("%-18s %14s %14s %14s%n", "backing", "bytes/task", "find (ms)", "due (ms)");
+        for (int round = 0; round < 2; round++) {
+            // The first round only warms up the JIT.
+            measure("ArrayList", new ArrayList<>(), round == 1);
+            measure("TreeList", new TreeList<>(), round == 1);
+            measure("ColumnarTaskList", new ColumnarTaskList(), round == 1);
+        }
+    }
+
+    private static void measure(String name, List<Task> tasks, boolean isPrinted) {
+        long baseline = usedHeap();
+        LocalDateTime start = LocalDateTime.of(2026, 10, 19, 9, 0);
+        for (int i = 0; i < NUM_OF_TASKS; i++) {
+            // Every task is due at a different time, as most are, so that no date objects are shared.
+            LocalDateTime dateTime = start.plusMinutes(i);
+            String details = "Do work for CS2103T week " + i % 13;
+            Task task = i % 3 == 0 ? new ToDo(details)
+                    : i % 3 == 1 ? new Deadline(details, dateTime, false)
+                    : new Event(details, dateTime, dateTime.plusHours(1), false);
+            tasks.add(task.withId(i + 1));
+        }
+        long bytesPerTask = (usedHeap() - baseline) / NUM_OF_TASKS;
+
+        LocalDateTime weekLater = start.plusDays(7);
+        int numOfFound = 0;
+        long scanStart = System.nanoTime();
+        for (int i = 0; i < NUM_OF_SCANS; i++) {
+            for (Task task : tasks) {
+                numOfFound += task.isContains("week 7") ? 1 : 0;
+            }
+        }
+        long findTime = (System.nanoTime() - scanStart) / NUM_OF_SCANS / 1_000_000;
+        if (tasks instanceof ColumnarTaskList) {
+            ColumnarTaskList columns = (ColumnarTaskList) tasks;
+            scanStart = System.nanoTime();
+            for (int i = 0; i < NUM_OF_SCANS; i++) {
+                for (int j = 0; j < columns.size(); j++) {
+                    numOfFound += columns.isContains(j, "week 7") ? 1 : 0;
+                }
+            }
+            long columnFindTime = (System.nanoTime() - scanStart) / NUM_OF_SCANS / 1_000_000;
+            if (isPrinted) {
+                System.out.printf("%-18s %14s %,14d%n", "  details column", "", columnFindTime);
+            }
+        }
+
+        scanStart = System.nanoTime();
+        for (int i = 0; i < NUM_OF_SCANS; i++) {
+            for (Task task : tasks) {
+                numOfFound += task instanceof Deadline && ((Deadline) task).getDeadline().isBefore(weekLater) ? 1 : 0;
+            }
+        }
+        long dueTime = (System.nanoTime() - scanStart) / NUM_OF_SCANS / 1_000_000;
+
+        if (isPrinted) {
+            System.out.printf("%-18s %,14d %,14d %,14d%n", name, bytesPerTask, findTime, dueTime);
+        }
+        if (numOfFound == 42) {
+            System.out.println();
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,56 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import duke.database.StorageEngine;
+import duke.database.StorageEngines;
+import duke.task.Deadline;
+import duke.task.Task;
+import duke.task.ToDo;
+
+/**
+ * Compares the size of the database file, and the time taken to save and load it, with and without compression. The
+ * details of each task are long and repetitive, like notes copied between tasks. Run it with
+ * {@code gradle compressionBenchmark}, it is not part of the test suite.
+ */
+public class CompressionBenchmark {
+
+    private static final String[] ENGINES = {"text", "text.gz", "binary", "binary.gz"};
+    private static final int NUM_OF_TASKS = 100_000;
+    private static final int NUM_OF_RUNS = 5;
+
+    /**
+     * Saves and loads the same tasks through every engine and prints the file size and timings.
+     *
+     * @param args unused.
+     * @throws Exception thrown when a storage engine fails.
+     */
+    public static void main(String[] args) throws Exception {
+        for (String name : ENGINES) {
+            Path directory = Files.createTempDirectory("duke-benchmark");
+            String filePath = directory.resolve("tasks.txt").toString();
+            StorageEngine engine = StorageEngines.create(name, filePath);
+            List<Task> tasks = engine.load();
+            for (int i = 0; i < NUM_OF_TASKS; i++) {
+                String details = "Read chapter " + (i % 40) + " of the textbook and summarise the key points for the "
+                        + "weekly tutorial, then post questions on the forum #" + i;
+                tasks.add(i % 2 == 0 ? new ToDo(details) : new Deadline(details, "18-02-2023 18:00"));
+            }
+
+            long saveNanos = Long.MAX_VALUE;
+            long loadNanos = Long.MAX_VALUE;
+            for (int run = 0; run < NUM_OF_RUNS; run++) {
+                long start = System.nanoTime();
+                engine.update(tasks);
+                saveNanos = Math.min(saveNanos, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                List<Task> loaded = StorageEngines.create(name, filePath).load();
+                loadNanos = Math.min(loadNanos, System.nanoTime() - start);
+                assert loaded.size() == tasks.size();
+            }
+            System.out.printf("%-10s %,12d bytes  save %6.1f ms  load %6.1f ms%n", name, Files.size(Path.of(filePath)),
+                    saveNanos / 1e6, loadNanos / 1e6);
+        }
+    }
+}
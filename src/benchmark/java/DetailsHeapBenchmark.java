@@ -0,0 +1,78 @@
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.task.Task;
+import duke.task.ToDo;
+
+/**
+ * Measures the heap retained by a million tasks whose details repeat, as recurring tasks do, against the heap that
+ * the same details take as a separate String per task. Run it with {@code gradle detailsHeapBenchmark}, which gives it
+ * a fixed heap, it is not part of the test suite.
+ */
+public class DetailsHeapBenchmark {
+
+    private static final int NUM_OF_TASKS = 1_000_000;
+    /** Number of different details, each used by NUM_OF_TASKS / NUM_OF_DISTINCT tasks. */
+    private static final int NUM_OF_DISTINCT = 1_000;
+
+    /**
+     * Builds both lists in turn and prints the heap each of them retains.
+     *
+     * @param args unused.
+     */
+    public static void main(String[] args) {
+        long baseline = usedHeap();
+        List<String> strings = new ArrayList<>(NUM_OF_TASKS);
+        for (int i = 0; i < NUM_OF_TASKS; i++) {
+            // A new String each time, as a task parsed from a command or read from the database file is.
+            strings.add(new StringBuilder("Do work for CS2103T week ").append(i % NUM_OF_DISTINCT).toString());
+        }
+        long stringHeap = usedHeap() - baseline;
+        System.out.printf("separate Strings  %,14d bytes%n", stringHeap);
+        Reference.reachabilityFence(strings);
+        strings = null;
+
+        baseline = usedHeap();
+        List<Task> tasks = new ArrayList<>(NUM_OF_TASKS);
+        for (int i = 0; i < NUM_OF_TASKS; i++) {
+            tasks.add(new ToDo(new StringBuilder("Do work for CS2103T week ").append(i % NUM_OF_DISTINCT).toString()));
+        }
+        long taskHeap = usedHeap() - baseline;
+        long detailsHeap = taskHeap - shellHeap();
+        System.out.printf("tasks             %,14d bytes%n", taskHeap);
+        System.out.printf("  of which details %,13d bytes (%.1f%% of separate Strings)%n", detailsHeap,
+                100.0 * detailsHeap / stringHeap);
+
+        // Printing or indexing the tasks reads their details, which must not leave anything behind on the tasks.
+        long length = 0;
+        for (Task task : tasks) {
+            length += task.getDetails().length();
+        }
+        System.out.printf("tasks after read  %,14d bytes (%,d characters read)%n", usedHeap() - baseline, length);
+        Reference.reachabilityFence(tasks);
+    }
+
+    /**
+     * Measures the tasks themselves by building them with details shared up front, which costs nothing per task.
+     */
+    private static long shellHeap() {
+        long baseline = usedHeap();
+        List<Task> tasks = new ArrayList<>(NUM_OF_TASKS);
+        String shared = "Do work for CS2103T week 0";
+        for (int i = 0; i < NUM_OF_TASKS; i++) {
+            tasks.add(new ToDo(shared));
+        }
+        long heap = usedHeap() - baseline;
+        Reference.reachabilityFence(tasks);
+        return heap;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,114 @@
+import java.util.List;
+import java.util.Random;
+
+import duke.task.Task;
+import duke.task.ToDo;
+import duke.tasklist.TaskList;
+
+/**
+ * Compares finding tasks by scanning every task against looking them up in the indexes of the words and the trigrams
+ * in the TaskList, for queries with few and many results. Run it with {@code gradle findBenchmark}, which gives it a
+ * 4g heap, it is not part of the test suite.
+ */
+public class FindBenchmark {
+
+    private static final int[] NUM_OF_TASKS = {100_000, 300_000, 1_000_000};
+    private static final int NUM_OF_WORDS = 5_000;
+    private static final int NUM_OF_QUERIES = 200;
+
+    /**
+     * Builds a list of tasks from a vocabulary where a few words are common and most are rare, then prints the
+     * average time each query takes both ways.
+     *
+     * @param args unused.
+     */
+    public static void main(String[] args) {
+        System.out.printf("%10s %-22s %10s %14s %14s%n", "tasks", "query", "results", "scan (us)", "index (us)");
+        for (int numOfTasks : NUM_OF_TASKS) {
+            Random random = new Random(numOfTasks);
+            TaskList taskList = new TaskList();
+            for (int i = 0; i < numOfTasks; i++) {
+                taskList.addTask(new ToDo(word(random) + " " + word(random) + " " + word(random)));
+            }
+            long start = System.nanoTime();
+            taskList.findTasksWithWords("w1");
+            System.out.printf("%10s index built in %,d ms%n", "", (System.nanoTime() - start) / 1_000_000);
+
+            for (String query : new String[] {"w4321", "w7", "w1 w2", "w1 w4321"}) {
+                for (int round = 0; round < 2; round++) {
+                    // The first round only warms up the JIT.
+                    measure(numOfTasks, taskList, query, round == 1);
+                }
+            }
+
+            start = System.nanoTime();
+            taskList.findTasksContaining("w12");
+            System.out.printf("%10s trigram index built in %,d ms%n", "", (System.nanoTime() - start) / 1_000_000);
+            for (String query : new String[] {"w432", "4321 w", "w7 w1", "w1", "99"}) {
+                for (int round = 0; round < 2; round++) {
+                    measureContaining(numOfTasks, taskList, query, round == 1);
+                }
+            }
+        }
+    }
+
+    private static void measureContaining(int numOfTasks, TaskList taskList, String query, boolean isPrinted) {
+        int numOfResults = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < NUM_OF_QUERIES; i++) {
+            numOfResults = 0;
+            for (Task task : taskList.getTasks()) {
+                numOfResults += task.isContains(query) ? 1 : 0;
+            }
+        }
+        long scanTime = (System.nanoTime() - start) / NUM_OF_QUERIES / 1_000;
+
+        start = System.nanoTime();
+        List<Task> found = null;
+        for (int i = 0; i < NUM_OF_QUERIES; i++) {
+            found = taskList.findTasksContaining(query);
+        }
+        long indexTime = (System.nanoTime() - start) / NUM_OF_QUERIES / 1_000;
+
+        assert found.size() == numOfResults;
+        if (isPrinted) {
+            System.out.printf("%,10d %-22s %,10d %,14d %,14d%n", numOfTasks, "\"" + query + "\"", numOfResults,
+                    scanTime, indexTime);
+        }
+    }
+
+    /** Picks a word, with the word numbered k about k times rarer than the first. */
+    private static String word(Random random) {
+        return "w" + (int) Math.pow(NUM_OF_WORDS, random.nextDouble());
+    }
+
+    private static void measure(int numOfTasks, TaskList taskList, String query, boolean isPrinted) {
+        String[] words = query.split(" ");
+        int numOfResults = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < NUM_OF_QUERIES; i++) {
+            numOfResults = 0;
+            for (Task task : taskList.getTasks()) {
+                boolean isMatch = true;
+                for (String word : words) {
+                    isMatch &= (" " + task.getDetails() + " ").contains(" " + word + " ");
+                }
+                numOfResults += isMatch ? 1 : 0;
+            }
+        }
+        long scanTime = (System.nanoTime() - start) / NUM_OF_QUERIES / 1_000;
+
+        start = System.nanoTime();
+        List<Task> found = null;
+        for (int i = 0; i < NUM_OF_QUERIES; i++) {
+            found = taskList.findTasksWithWords(query);
+        }
+        long indexTime = (System.nanoTime() - start) / NUM_OF_QUERIES / 1_000;
+
+        assert found.size() == numOfResults;
+        if (isPrinted) {
+            System.out.printf("%,10d %-22s %,10d %,14d %,14d%n", numOfTasks, query, numOfResults, scanTime,
+                    indexTime);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Scanner;
+
+import duke.database.BinaryTaskCodec;
+import duke.database.ChunkedTaskLoader;
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Task;
+import duke.task.ToDo;
+
+/**
+ * Compares the line-by-line Scanner loader that Duke used to have against the ChunkedTaskLoader and the binary format.
+ * Run it with {@code gradle loaderBenchmark}, it is not part of the test suite.
+ */
+public class LoaderBenchmark {
+
+    private static final String DELIMITER = Character.toString((char) 31);
+    private static final int NUM_OF_TASKS = 500_000;
+    private static final int NUM_OF_RUNS = 5;
+
+    /**
+     * Writes a temporary database of NUM_OF_TASKS tasks and prints the best load time of each loader.
+     *
+     * @param args unused.
+     * @throws Exception thrown when the temporary database could not be written or loaded.
+     */
+    public static void main(String[] args) throws Exception {
+        Path file = Files.createTempFile("duke-benchmark", ".txt");
+        file.toFile().deleteOnExit();
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < NUM_OF_TASKS; i++) {
+            data.append(String.join(DELIMITER, "D", i % 2 == 0 ? "X" : " ", "Do work for CS2103T week " + i,
+                    "2023-02-18T18:00")).append("\n");
+        }
+        Files.writeString(file, data);
+
+        Path binaryFile = Files.createTempFile("duke-benchmark", ".bin");
+        binaryFile.toFile().deleteOnExit();
+
+        long scannerTime = Long.MAX_VALUE;
+        long chunkedTime = Long.MAX_VALUE;
+        long binaryEncodeTime = Long.MAX_VALUE;
+        long binaryTime = Long.MAX_VALUE;
+        for (int i = 0; i < NUM_OF_RUNS; i++) {
+            long start = System.nanoTime();
+            loadWithScanner(file.toFile());
+            scannerTime = Math.min(scannerTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            ChunkedTaskLoader loader = new ChunkedTaskLoader();
+            ArrayList<Task> tasks = loader.load(file);
+            chunkedTime = Math.min(chunkedTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            Files.write(binaryFile, new BinaryTaskCodec().encode(tasks, loader.getLastId()));
+            binaryEncodeTime = Math.min(binaryEncodeTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            new BinaryTaskCodec().load(binaryFile);
+            binaryTime = Math.min(binaryTime, System.nanoTime() - start);
+        }
+        System.out.printf("Scanner: %d ms%nChunked: %d ms%nBinary save: %d ms%nBinary load: %d ms%n",
+                scannerTime / 1_000_000, chunkedTime / 1_000_000, binaryEncodeTime / 1_000_000,
+                binaryTime / 1_000_000);
+        System.out.printf("Text size: %d bytes%nBinary size: %d bytes%n", Files.size(file), Files.size(binaryFile));
+    }
+
+    private static ArrayList<Task> loadWithScanner(File file) throws Exception {
+        ArrayList<Task> tasks = new ArrayList<>();
+        Scanner scanner = new Scanner(file);
+        while (scanner.hasNextLine()) {
+            String[] taskData = scanner.nextLine().split(DELIMITER);
+            switch (taskData[0]) {
+            case "T":
+                tasks.add(new ToDo(taskData));
+                break;
+            case "E":
+                tasks.add(new Event(taskData));
+                break;
+            default:
+                tasks.add(new Deadline(taskData));
+            }
+        }
+        scanner.close();
+        return tasks;
+    }
+}
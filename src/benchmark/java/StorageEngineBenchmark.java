@@ -0,0 +1,66 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import duke.database.StorageEngine;
+import duke.database.StorageEngines;
+import duke.task.ToDo;
+import duke.tasklist.TaskList;
+
+/**
+ * Measures how many changes per second each storage engine takes, running the same mix of adds, marks, edits and
+ * deletes that the commands make, with a full save every SAVE_INTERVAL changes. The in-memory engine gives the cost of
+ * the commands themselves without any disk writes. Run it with {@code gradle storageEngineBenchmark}, it is not part
+ * of the test suite.
+ */
+public class StorageEngineBenchmark {
+
+    private static final String[] ENGINES = {"memory", "binary", "text", "mapped", "sharded", "paged"};
+    private static final int NUM_OF_TASKS = 10_000;
+    private static final int NUM_OF_CHANGES = 2_000;
+    private static final int SAVE_INTERVAL = 100;
+
+    /**
+     * Runs the workload against every storage engine and prints its throughput.
+     *
+     * @param args unused.
+     * @throws Exception thrown when a storage engine fails.
+     */
+    public static void main(String[] args) throws Exception {
+        for (String name : ENGINES) {
+            Path directory = Files.createTempDirectory("duke-benchmark");
+            StorageEngine engine = StorageEngines.create(name, directory.resolve("tasks.txt").toString());
+            TaskList taskList = new TaskList(engine.load(), engine.getLastId());
+            for (int i = 0; i < NUM_OF_TASKS; i++) {
+                taskList.addTask(new ToDo("Do work for CS2103T week " + i));
+            }
+            engine.update(taskList.getTasks());
+
+            long start = System.nanoTime();
+            for (int i = 0; i < NUM_OF_CHANGES; i++) {
+                int taskNumber = i % taskList.length() + 1;
+                switch (i % 4) {
+                case 0:
+                    engine.recordAdd(taskList.addTask(new ToDo("Added task " + i)));
+                    break;
+                case 1:
+                    taskList.markTask(taskNumber, true);
+                    engine.recordMark(taskNumber);
+                    break;
+                case 2:
+                    taskList.editTask(taskNumber, "Edited task " + i);
+                    engine.recordEdit(taskNumber, "Edited task " + i);
+                    break;
+                default:
+                    taskList.deleteTask(taskNumber);
+                    engine.recordDelete(taskNumber);
+                }
+                engine.compactIfDue(taskList.getTasks());
+                if (i % SAVE_INTERVAL == SAVE_INTERVAL - 1) {
+                    engine.update(taskList.getTasks());
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%-8s %,10.0f changes/s%n", name, NUM_OF_CHANGES * 1e9 / elapsed);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import duke.exception.DukeException;
+import duke.task.Task;
+import duke.task.ToDo;
+import duke.tasklist.TaskList;
+import duke.tasklist.TreeList;
+
+/**
+ * Compares a TaskList kept in an ArrayList against one kept in a TreeList at 10k, 100k and 1M tasks, timing random
+ * gets, deletes from the front and inserts in the middle. Run it with {@code gradle taskListBenchmark}, it is not
+ * part of the test suite.
+ */
+public class TaskListBenchmark {
+
+    private static final int[] NUM_OF_TASKS = {10_000, 100_000, 1_000_000};
+    private static final int NUM_OF_GETS = 1_000_000;
+    private static final int NUM_OF_CHANGES = 2_000;
+
+    /**
+     * Runs every operation on both backings at each size and prints the average time each of them takes.
+     *
+     * @param args unused.
+     */
+    public static void main(String[] args) throws DukeException {
+        System.out.printf("%10s %-10s %14s %14s %14s%n", "tasks", "backing", "get (ns)", "delete (ns)",
+                "insert (ns)");
+        for (int numOfTasks : NUM_OF_TASKS) {
+            List<Task> tasks = new ArrayList<>(numOfTasks);
+            for (int i = 0; i < numOfTasks; i++) {
+                tasks.add(new ToDo("Do work for CS2103T week " + i % 13));
+            }
+            for (int round = 0; round < 2; round++) {
+                // The first round only warms up the JIT.
+                run(numOfTasks, "ArrayList", new ArrayList<>(tasks), round == 1);
+                run(numOfTasks, "TreeList", new TreeList<>(tasks), round == 1);
+            }
+        }
+    }
+
+    private static void run(int numOfTasks, String name, List<Task> tasks, boolean isPrinted) throws DukeException {
+        TaskList taskList = new TaskList(tasks);
+        Random random = new Random(numOfTasks);
+        long checksum = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < NUM_OF_GETS; i++) {
+            checksum += taskList.getTask(random.nextInt(numOfTasks) + 1).getId();
+        }
+        long getTime = (System.nanoTime() - start) / NUM_OF_GETS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < NUM_OF_CHANGES; i++) {
+            taskList.deleteTask(1);
+        }
+        long deleteTime = (System.nanoTime() - start) / NUM_OF_CHANGES;
+
+        start = System.nanoTime();
+        for (int i = 0; i < NUM_OF_CHANGES; i++) {
+            // TaskList only appends, so inserting at a position goes through the List it is backed by.
+            tasks.add(tasks.size() / 2, new ToDo("inserted"));
+        }
+        long insertTime = (System.nanoTime() - start) / NUM_OF_CHANGES;
+
+        if (isPrinted) {
+            System.out.printf("%,10d %-10s %,14d %,14d %,14d%n", numOfTasks, name, getTime, deleteTime, insertTime);
+        }
+        if (checksum == 42) {
+            System.out.println();
+        }
+    }
+}
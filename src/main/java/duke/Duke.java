@@ -1,10 +1,22 @@
 package duke;
 
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
 import duke.commands.Command;
-import duke.database.Database;
+import duke.database.BinaryDatabase;
+import duke.database.StorageEngine;
+import duke.database.StorageEngines;
 import duke.exception.DukeException;
+import duke.exception.databaseexceptions.StorageEngineNotFoundException;
 import duke.parser.Parser;
+import duke.task.ColumnarTaskList;
+import duke.task.Task;
+import duke.tasklist.ReminderScheduler;
 import duke.tasklist.TaskList;
+import duke.tasklist.TreeList;
 import duke.ui.Ui;
 import javafx.application.Platform;
 
@@ -14,11 +26,27 @@ import javafx.application.Platform;
 public class Duke {
 
     private static final String FRAME = ""; //"    ____________________________________________________________\n";
-    private final Database database;
+    /** Set this system property to true to read saved tasks only when they are first accessed. */
+    private static final String LAZY_LOAD_PROPERTY = "duke.lazyLoad";
+    /** Set this system property to true to keep the tasks in columns, which takes less memory for many tasks. */
+    private static final String COLUMNAR_PROPERTY = "duke.columnar";
+    /** Set this system property to the name of a storage engine, such as "mapped" or "memory", to use it instead. */
+    private static final String STORAGE_ENGINE_PROPERTY = "duke.storageEngine";
+    /** Set these system properties to change how long after a change, in milliseconds, the tasks are saved. */
+    private static final String SAVE_QUIET_PERIOD_PROPERTY = "duke.saveQuietPeriod";
+    private static final String SAVE_MAX_DELAY_PROPERTY = "duke.saveMaxDelay";
+    private static final long DEFAULT_SAVE_QUIET_PERIOD = 500;
+    private static final long DEFAULT_SAVE_MAX_DELAY = 5000;
+    /** Set this system property to the memory, in bytes, that the versions kept for undoing commands may take up. */
+    private static final String UNDO_BUDGET_PROPERTY = "duke.undoBudget";
+    /** Set this system property to how many minutes before a task is due or starts that it is reminded of. */
+    private static final String REMINDER_LEAD_PROPERTY = "duke.reminderLead";
+    private final StorageEngine database;
     private TaskList tasks;
     private Ui ui;
     private boolean isActive;
     private final Parser parser;
+    private final ReminderScheduler reminders;
 
 
     /**
@@ -28,13 +56,45 @@ public class Duke {
      * @param filePath path of the database file.
      */
     public Duke(String filePath) {
-        this.database = new Database(filePath);
+        this.database = createStorageEngine(filePath);
         this.isActive = true;
         this.parser = new Parser();
         try {
-            tasks = new TaskList(database.load());
+            if (Boolean.getBoolean(LAZY_LOAD_PROPERTY)) {
+                List<Task> loaded = database.loadLazily();
+                tasks = new TaskList(loaded, database.getLastId());
+            } else if (Boolean.getBoolean(COLUMNAR_PROPERTY)) {
+                ColumnarTaskList loaded = new ColumnarTaskList(database.load());
+                tasks = new TaskList(loaded, database.getLastId());
+            } else {
+                TreeList<Task> loaded = new TreeList<>(database.load());
+                tasks = new TaskList(loaded, database.getLastId());
+            }
         } catch (DukeException e) {
-            tasks = new TaskList();
+            tasks = Boolean.getBoolean(COLUMNAR_PROPERTY) ? new TaskList(new ColumnarTaskList()) : new TaskList();
+        }
+        Long undoBudget = Long.getLong(UNDO_BUDGET_PROPERTY);
+        if (undoBudget != null) {
+            this.tasks.setHistoryBudget(undoBudget);
+        }
+        Long reminderLead = Long.getLong(REMINDER_LEAD_PROPERTY);
+        this.reminders = new ReminderScheduler(Clock.systemDefaultZone(),
+                reminderLead == null ? ReminderScheduler.DEFAULT_LEAD_TIME : Duration.ofMinutes(reminderLead),
+                this::remind);
+        this.tasks.setReminderScheduler(this.reminders);
+        this.reminders.start();
+        this.database.startPersistence(this.tasks,
+                Long.getLong(SAVE_QUIET_PERIOD_PROPERTY, DEFAULT_SAVE_QUIET_PERIOD),
+                Long.getLong(SAVE_MAX_DELAY_PROPERTY, DEFAULT_SAVE_MAX_DELAY));
+    }
+
+
+    private static StorageEngine createStorageEngine(String filePath) {
+        try {
+            return StorageEngines.create(System.getProperty(STORAGE_ENGINE_PROPERTY, StorageEngines.DEFAULT_ENGINE),
+                    filePath);
+        } catch (StorageEngineNotFoundException e) {
+            return new BinaryDatabase(filePath);
         }
     }
 
@@ -45,7 +105,12 @@ public class Duke {
     public void runCommand(String command) {
         try {
             Command nextCommand = this.parser.parse(command, this.tasks.length());
-            nextCommand.execute(this.tasks, this.ui, this.database);
+            if (nextCommand.isChangingTasks()) {
+                this.runChange(nextCommand);
+            } else {
+                // Queries read the tasks as they were after the last change when a save holds the lock.
+                nextCommand.execute(this.tasks, this.ui, this.database);
+            }
             this.isActive = nextCommand.isActive();
         } catch (DukeException e) {
             ui.response(e.getLocalizedMessage());
@@ -57,6 +122,64 @@ public class Duke {
         }
     }
 
+    /**
+     * Executes a command that can change the tasks while holding the lock of the taskList. While the tasks are saved
+     * in the background, the database only hands its writes over to the background thread, so no disk I/O is done
+     * while holding the lock.
+     */
+    private void runChange(Command command) throws DukeException {
+        this.tasks.getLock().lock();
+        try {
+            command.execute(this.tasks, this.ui, this.database);
+            this.database.compactIfDue(this.tasks.getTasks());
+        } finally {
+            this.tasks.commitVersion();
+            this.tasks.getLock().unlock();
+        }
+    }
+
+
+    /**
+     * Shows a reminder of a task that is nearly due or about to start, or prints it out when there is no Ui.
+     */
+    private void remind(Task task) {
+        String reminder = "Heads up! This is coming up soon:\n" + task.getStatus();
+        Ui ui = this.ui;
+        if (ui == null) {
+            System.out.println(reminder);
+        } else {
+            ui.showReminder(reminder);
+        }
+    }
+
+
+    /**
+     * Saves any changes that are not saved yet, for when Duke is closed without a bye command, then closes any file
+     * the tasks are still read from.
+     */
+    public void close() {
+        try {
+            this.reminders.stop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (this.isActive) {
+            this.tasks.getLock().lock();
+            try {
+                this.database.stopPersistence(this.tasks);
+            } catch (DukeException e) {
+                // Duke is already closing, so there is nowhere left to show the error.
+            } finally {
+                this.tasks.getLock().unlock();
+            }
+        }
+        try {
+            this.tasks.close();
+        } catch (IOException e) {
+            // Duke is already closing, so there is nowhere left to show the error.
+        }
+    }
+
 
     public void setUi(Ui ui) {
         this.ui = ui;
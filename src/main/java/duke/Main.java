@@ -39,4 +39,12 @@ public class Main extends Application {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Saves any changes Duke has not saved yet when the window is closed.
+     */
+    @Override
+    public void stop() {
+        this.duke.close();
+    }
 }
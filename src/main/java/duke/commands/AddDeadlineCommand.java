@@ -3,11 +3,13 @@ package duke.commands;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
 
-import duke.database.Database;
+import duke.database.StorageEngine;
 import duke.exception.InvalidDateException;
 import duke.exception.blankfieldexceptions.BlankFieldDeadlineException;
+import duke.exception.databaseexceptions.DatabaseNotUpdatingException;
 import duke.exception.includeexceptions.IncludeByException;
 import duke.task.Deadline;
+import duke.task.Task;
 import duke.tasklist.TaskList;
 import duke.ui.Ui;
 
@@ -39,10 +41,11 @@ public class AddDeadlineCommand extends Command {
      * @throws IncludeByException /by was not included in the command.
      * @throws BlankFieldDeadlineException No task and/or date was included in the command.
      * @throws InvalidDateException Date given in the command is invalid.
+     * @throws DatabaseNotUpdatingException The new task could not be recorded in the database.
      */
     @Override
-    public void execute(TaskList taskList, Ui ui, Database database) throws IncludeByException,
-            BlankFieldDeadlineException, InvalidDateException {
+    public void execute(TaskList taskList, Ui ui, StorageEngine database) throws IncludeByException,
+            BlankFieldDeadlineException, InvalidDateException, DatabaseNotUpdatingException {
         assert this.isActive();
         // Extract deadline date and duke.task item.
         String[] lines = this.commandBody.split(" ");
@@ -69,10 +72,12 @@ public class AddDeadlineCommand extends Command {
         try {
             System.out.println(deadline.toString().stripLeading());
             Deadline newDeadline = new Deadline(task.toString(), deadline.toString().stripLeading());
-            taskList.addTask(newDeadline);
+            Task added = taskList.addTask(newDeadline);
+            taskList.markDirty();
+            database.recordAdd(added);
             ui.response(FRAME + "\n"
                     + "Got it. I've added this task:" + "\n"
-                    + newDeadline.getStatus() + "\n"
+                    + getStatusWithId(added) + "\n"
                     + "Now you have " + taskList.length() + " tasks in the list" + "\n"
                     + FRAME);
         } catch (DateTimeParseException e) {
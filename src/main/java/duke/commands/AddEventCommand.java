@@ -1,14 +1,17 @@
 package duke.commands;
 
 import java.time.format.DateTimeParseException;
+import java.util.List;
 import java.util.Objects;
 
 import duke.commands.enums.AddEventParserLogic;
-import duke.database.Database;
+import duke.database.StorageEngine;
 import duke.exception.InvalidDateException;
 import duke.exception.blankfieldexceptions.BlankFieldEventException;
+import duke.exception.databaseexceptions.DatabaseNotUpdatingException;
 import duke.exception.includeexceptions.IncludeToAndFromException;
 import duke.task.Event;
+import duke.task.Task;
 import duke.tasklist.TaskList;
 import duke.ui.Ui;
 
@@ -29,7 +32,7 @@ public class AddEventCommand extends Command {
 
     /**
      * Executes the generated AddEventCommand by adding a new Event task into the TaskList and gives a response
-     * to the Ui.
+     * to the Ui, which also lists the events already in the TaskList that overlap the new one.
      *
      * @param taskList taskList of Duke.
      * @param ui user interface object of Duke.
@@ -37,10 +40,11 @@ public class AddEventCommand extends Command {
      * @throws IncludeToAndFromException /to and/or /from was not included in the command.
      * @throws BlankFieldEventException No task, from date and/or to date was included in the command.
      * @throws InvalidDateException Date given in the command is invalid.
+     * @throws DatabaseNotUpdatingException The new task could not be recorded in the database.
      */
     @Override
-    public void execute(TaskList taskList, Ui ui, Database database) throws IncludeToAndFromException,
-            BlankFieldEventException, InvalidDateException {
+    public void execute(TaskList taskList, Ui ui, StorageEngine database) throws IncludeToAndFromException,
+            BlankFieldEventException, InvalidDateException, DatabaseNotUpdatingException {
         assert this.isActive();
         // Extract event's start date and end date
         String[] lines = this.commandBody.split(" ");
@@ -89,10 +93,22 @@ public class AddEventCommand extends Command {
         try {
             Event newEvent = new Event(task.toString(), startDate.toString().stripLeading(),
                     endDate.toString().stripLeading());
-            taskList.addTask(newEvent);
+            List<Event> conflicts = taskList.findEventsOverlapping(newEvent.getStartDateTime(),
+                    newEvent.getEndDateTime());
+            Task added = taskList.addTask(newEvent);
+            taskList.markDirty();
+            database.recordAdd(added);
+            StringBuilder conflictWarning = new StringBuilder();
+            if (!conflicts.isEmpty()) {
+                conflictWarning.append("     Heads up, it clashes with:").append("\n");
+                for (Event conflict : conflicts) {
+                    conflictWarning.append("     ").append(getStatusWithId(conflict)).append("\n");
+                }
+            }
             ui.response(FRAME + "\n"
                     + "     Got it. I've added this task:" + "\n"
-                    + "     " + newEvent.getStatus() + "\n"
+                    + "     " + getStatusWithId(added) + "\n"
+                    + conflictWarning
                     + "     Now you have " + taskList.length() + " tasks in the list" + "\n"
                     + FRAME);
         } catch (DateTimeParseException e) {
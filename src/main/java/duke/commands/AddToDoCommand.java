@@ -1,6 +1,8 @@
 package duke.commands;
 
-import duke.database.Database;
+import duke.database.StorageEngine;
+import duke.exception.databaseexceptions.DatabaseNotUpdatingException;
+import duke.task.Task;
 import duke.task.ToDo;
 import duke.tasklist.TaskList;
 import duke.ui.Ui;
@@ -29,15 +31,18 @@ public class AddToDoCommand extends Command {
      * @param taskList taskList of Duke.
      * @param ui user interface object of Duke.
      * @param database database of Duke.
+     * @throws DatabaseNotUpdatingException thrown when the new task could not be recorded in the database.
      */
     @Override
-    public void execute(TaskList taskList, Ui ui, Database database) {
+    public void execute(TaskList taskList, Ui ui, StorageEngine database) throws DatabaseNotUpdatingException {
         assert this.isActive();
         ToDo newToDo = new ToDo(this.task);
-        taskList.addTask(newToDo);
+        Task added = taskList.addTask(newToDo);
+        taskList.markDirty();
+        database.recordAdd(added);
         ui.response(FRAME + "\n"
                 + "Got it. I've added this task:" + "\n"
-                + newToDo.getStatus() + "\n"
+                + getStatusWithId(added) + "\n"
                 + "Now you have " + taskList.length() + " tasks in the list" + "\n"
                 + FRAME);
     }
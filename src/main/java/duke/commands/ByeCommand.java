@@ -1,6 +1,6 @@
 package duke.commands;
 
-import duke.database.Database;
+import duke.database.StorageEngine;
 import duke.exception.databaseexceptions.DatabaseNotUpdatingException;
 import duke.tasklist.TaskList;
 import duke.ui.Ui;
@@ -16,8 +16,8 @@ public class ByeCommand extends Command {
     }
 
     /**
-     * Executes the generated ByeCommand by updating isActive to false, updating the database, and gives a response
-     * to the Ui.
+     * Executes the generated ByeCommand by updating isActive to false, stopping the background saves of the database
+     * once every change is saved, and gives a response to the Ui.
      *
      * @param taskList taskList of Duke.
      * @param ui user interface object of Duke.
@@ -25,9 +25,9 @@ public class ByeCommand extends Command {
      * @throws DatabaseNotUpdatingException thrown when the database was not updated due to some file update error.
      */
     @Override
-    public void execute(TaskList taskList, Ui ui, Database database) throws DatabaseNotUpdatingException {
+    public void execute(TaskList taskList, Ui ui, StorageEngine database) throws DatabaseNotUpdatingException {
         this.setIsActive(false);
-        database.update(taskList.getTasks());
+        database.stopPersistence(taskList);
         assert !this.isActive();
         ui.response(FRAME
                 + "Bye. Hope to see you again soon!\n"
@@ -1,6 +1,12 @@
 package duke.commands;
-import duke.database.Database;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import duke.database.StorageEngine;
 import duke.exception.DukeException;
+import duke.exception.InvalidDateException;
+import duke.task.Task;
 import duke.tasklist.TaskList;
 import duke.ui.Ui;
 
@@ -28,7 +34,42 @@ public abstract class Command {
      * @param database database of Duke.
      * @throws DukeException throws a Duke related exception depending on the command generated.
      */
-    public abstract void execute(TaskList taskList, Ui ui, Database database) throws DukeException;
+    public abstract void execute(TaskList taskList, Ui ui, StorageEngine database) throws DukeException;
+
+    /**
+     * Returns the status of the task followed by its id, which can be given to commands in place of its position.
+     *
+     * @param task the task to be shown.
+     * @return the status and id of the task.
+     */
+    protected static String getStatusWithId(Task task) {
+        return task.getStatus() + " #" + task.getId();
+    }
+
+    /**
+     * Parses a datetime given in a command, in the same DD-MM-YYYY HH:MM format as the deadline and event commands.
+     *
+     * @param dateTime the datetime given in the command.
+     * @return the datetime parsed.
+     * @throws InvalidDateException thrown when the datetime is not in the right format.
+     */
+    protected static LocalDateTime parseDateTime(String dateTime) throws InvalidDateException {
+        try {
+            return LocalDateTime.parse(dateTime.strip(), DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm"));
+        } catch (DateTimeParseException e) {
+            throw new InvalidDateException();
+        }
+    }
+
+    /**
+     * Returns whether the command can change the tasks, in which case it is executed while holding the lock of the
+     * TaskList. Commands that only read the tasks return false so that they are run without waiting for the lock.
+     *
+     * @return true if the command can change the tasks.
+     */
+    public boolean isChangingTasks() {
+        return true;
+    }
 
     public boolean isActive() {
         return isActive;
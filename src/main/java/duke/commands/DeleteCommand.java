@@ -1,14 +1,22 @@
 package duke.commands;
 
-import duke.database.Database;
+import java.util.List;
+
+import duke.database.StorageEngine;
+import duke.exception.databaseexceptions.DatabaseNotUpdatingException;
+import duke.exception.tasklistexceptions.TaskListTaskIdNotFoundException;
 import duke.exception.tasklistexceptions.TaskListTaskNumberInvalidException;
+import duke.task.Task;
 import duke.tasklist.TaskList;
+import duke.tasklist.TaskSelection;
+import duke.tasklist.TaskTarget;
 import duke.ui.Ui;
 
 /** Represents a command to delete a task stored in from Duke. */
 public class DeleteCommand extends Command {
 
-    private final int taskNumber;
+    private final TaskTarget target;
+    private final TaskSelection selection;
 
     /**
      * Represents a command to delete a task stored in from Duke.
@@ -16,23 +24,60 @@ public class DeleteCommand extends Command {
      * @param taskNumber The identifier of the task to be deleted.
      */
     public DeleteCommand(int taskNumber) {
+        this(TaskTarget.ofTaskNumber(taskNumber));
+    }
+
+    /**
+     * Represents a command to delete a task stored in from Duke.
+     *
+     * @param target The position or id of the task to be deleted.
+     */
+    public DeleteCommand(TaskTarget target) {
+        super();
+        this.target = target;
+        this.selection = null;
+    }
+
+    /**
+     * Represents a command to delete many tasks stored in Duke at once.
+     *
+     * @param selection The tasks to be deleted, such as a range of positions.
+     */
+    public DeleteCommand(TaskSelection selection) {
         super();
-        this.taskNumber = taskNumber;
+        this.target = null;
+        this.selection = selection;
     }
 
     /**
-     * Executes the generated DeleteCommand by deleting the task related to the taskNumber
-     * and gives a response to the Ui.
+     * Executes the generated DeleteCommand by deleting the tasks related to the target
+     * and gives a response to the Ui. Many tasks are deleted as one change and recorded together.
      *
      * @param taskList taskList of Duke.
      * @param ui user interface object of Duke.
      * @param database database of Duke.
+     * @throws DatabaseNotUpdatingException thrown when the deletion could not be recorded in the database.
      */
     @Override
-    public void execute(TaskList taskList, Ui ui, Database database) throws TaskListTaskNumberInvalidException {
+    public void execute(TaskList taskList, Ui ui, StorageEngine database) throws TaskListTaskNumberInvalidException,
+            TaskListTaskIdNotFoundException, DatabaseNotUpdatingException {
         assert this.isActive();
+        if (this.selection != null) {
+            int[] taskNumbers = this.selection.resolve(taskList);
+            List<Task> tasks = taskList.deleteTasks(taskNumbers);
+            taskList.markDirty();
+            database.recordDeleteAll(taskNumbers);
+            ui.response(FRAME
+                    + " Noted. I've removed " + tasks.size() + " tasks."
+                    + "\nNow you have " + taskList.length() + " tasks in the list." + "\n"
+                    + FRAME);
+            return;
+        }
+        int taskNumber = this.target.resolve(taskList);
         String taskDescription = taskList.getTask(taskNumber).getStatus();
         taskList.deleteTask(taskNumber);
+        taskList.markDirty();
+        database.recordDelete(taskNumber);
         ui.response(FRAME
                 + " Noted. I've removed this task:\n"
                 + taskDescription
@@ -0,0 +1,77 @@
+package duke.commands;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import duke.database.StorageEngine;
+import duke.exception.InvalidDateException;
+import duke.exception.includeexceptions.IncludeBeforeException;
+import duke.task.Deadline;
+import duke.tasklist.TaskList;
+import duke.ui.Ui;
+
+/**
+ * Represents a command to list the deadline tasks due before a datetime, or between two datetimes.
+ */
+public class DueCommand extends Command {
+
+    private static final String BEFORE_KEYWORD = "/before ";
+    private static final String FROM_KEYWORD = "/from ";
+    private static final String TO_KEYWORD = " /to ";
+
+    private final String commandBody;
+
+    /**
+     * Represents a command to list the deadline tasks due before a datetime, or between two datetimes.
+     *
+     * @param commandBody Parameters of the command, pre-parsed.
+     */
+    public DueCommand(String commandBody) {
+        super();
+        this.commandBody = commandBody;
+    }
+
+    /**
+     * Executes the generated DueCommand by finding the Deadline tasks due within the range in the TaskList, sorted
+     * by their deadline, and giving them as a response to the Ui. Both ends of the range are included.
+     *
+     * @param taskList taskList of Duke.
+     * @param ui user interface object of Duke.
+     * @param database database of Duke.
+     * @throws IncludeBeforeException neither /before nor both /from and /to were included in the command.
+     * @throws InvalidDateException Date given in the command is invalid.
+     */
+    @Override
+    public void execute(TaskList taskList, Ui ui, StorageEngine database) throws IncludeBeforeException,
+            InvalidDateException {
+        assert this.isActive();
+        String body = this.commandBody.strip();
+        LocalDateTime from = null;
+        LocalDateTime to;
+        if (body.startsWith(BEFORE_KEYWORD)) {
+            to = parseDateTime(body.substring(BEFORE_KEYWORD.length()));
+        } else if (body.startsWith(FROM_KEYWORD) && body.contains(TO_KEYWORD)) {
+            int toIndex = body.indexOf(TO_KEYWORD);
+            from = parseDateTime(body.substring(FROM_KEYWORD.length(), toIndex));
+            to = parseDateTime(body.substring(toIndex + TO_KEYWORD.length()));
+        } else {
+            throw new IncludeBeforeException();
+        }
+
+        List<Deadline> deadlines = taskList.findTasksDue(from, to);
+        if (deadlines.isEmpty()) {
+            ui.response("Nothing is due then!");
+            return;
+        }
+        StringBuilder dueTasks = new StringBuilder(FRAME);
+        for (int i = 0; i < deadlines.size(); i++) {
+            dueTasks.append("     ").append(i + 1).append(". ").append(getStatusWithId(deadlines.get(i))).append("\n");
+        }
+        ui.response(dueTasks.append(FRAME).toString());
+    }
+
+    @Override
+    public boolean isChangingTasks() {
+        return false;
+    }
+}
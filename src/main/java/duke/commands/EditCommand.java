@@ -1,16 +1,18 @@
 package duke.commands;
 
-import duke.database.Database;
+import duke.database.StorageEngine;
+import duke.exception.databaseexceptions.DatabaseNotUpdatingException;
 import duke.exception.marktaskexceptions.MarkTaskNumberInvalidException;
+import duke.exception.tasklistexceptions.TaskListTaskIdNotFoundException;
 import duke.exception.tasklistexceptions.TaskListTaskNumberInvalidException;
-import duke.task.Task;
 import duke.tasklist.TaskList;
+import duke.tasklist.TaskTarget;
 import duke.ui.Ui;
 
 /** Represents an Edit command to change the details of an existing task in the taskList of Duke. */
 public class EditCommand extends Command {
 
-    private final int taskNumber;
+    private final TaskTarget target;
     private final String newDetails;
 
     /**
@@ -19,7 +21,16 @@ public class EditCommand extends Command {
      * @param newDetails new details of the task.
      */
     public EditCommand(int taskNumber, String newDetails) {
-        this.taskNumber = taskNumber;
+        this(TaskTarget.ofTaskNumber(taskNumber), newDetails);
+    }
+
+    /**
+     * Represents an Edit command to change the details of an existing task in the taskList of Duke.
+     * @param target the position or id of the task to be edited.
+     * @param newDetails new details of the task.
+     */
+    public EditCommand(TaskTarget target, String newDetails) {
+        this.target = target;
         this.newDetails = newDetails;
     }
 
@@ -30,17 +41,20 @@ public class EditCommand extends Command {
      * @param taskList taskList of Duke.
      * @param ui user interface object of Duke.
      * @param database database of Duke.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be recorded in the database.
      */
     @Override
-    public void execute(TaskList taskList, Ui ui, Database database) throws MarkTaskNumberInvalidException,
-            TaskListTaskNumberInvalidException {
+    public void execute(TaskList taskList, Ui ui, StorageEngine database) throws MarkTaskNumberInvalidException,
+            TaskListTaskNumberInvalidException, TaskListTaskIdNotFoundException, DatabaseNotUpdatingException {
         assert this.isActive();
-        Task task = taskList.getTask(this.taskNumber);
-        String oldDetails = task.getDetails();
-        task.setDetails(this.newDetails);
+        int taskNumber = this.target.resolve(taskList);
+        String oldDetails = taskList.getTask(taskNumber).getDetails();
+        taskList.editTask(taskNumber, this.newDetails);
+        taskList.markDirty();
+        database.recordEdit(taskNumber, this.newDetails);
 
         ui.response(FRAME
-                + "Ok I have changed Task " + this.taskNumber + " from\n"
+                + "Ok I have changed Task " + taskNumber + " from\n"
                 + "\"" + oldDetails + "\" to\n"
                 + "\"" + this.newDetails + "\"\n"
                 + FRAME);
@@ -1,8 +1,8 @@
 package duke.commands;
 
-import java.util.ArrayList;
+import java.util.List;
 
-import duke.database.Database;
+import duke.database.StorageEngine;
 import duke.exception.DukeException;
 import duke.task.Task;
 import duke.tasklist.TaskList;
@@ -14,6 +14,7 @@ import duke.ui.Ui;
 public class FindCommand extends Command {
 
     private final String query;
+    private final boolean isMatchingWords;
 
     /**
      * Represents a find command to find a task with the relevant query string.
@@ -21,12 +22,25 @@ public class FindCommand extends Command {
      * @param query query string.
      */
     public FindCommand(String query) {
+        this(query, false);
+    }
+
+    /**
+     * Represents a find command to find a task with the relevant query string.
+     *
+     * @param query query string.
+     * @param isMatchingWords whether to find the tasks with every word of the query, instead of the tasks that
+     *     contain the query string anywhere.
+     */
+    public FindCommand(String query, boolean isMatchingWords) {
         this.query = query;
+        this.isMatchingWords = isMatchingWords;
     }
 
     /**
      * Executes the generated FindCommand by finding a list of tasks in Duke that contain the query string in its
-     * details and giving it as a response to the Ui.
+     * details and giving it as a response to the Ui. The tasks are looked up in the indexes of the TaskList instead of
+     * checking every task.
      *
      * @param taskList taskList of Duke.
      * @param ui user interface object of Duke.
@@ -34,18 +48,22 @@ public class FindCommand extends Command {
      * @throws DukeException
      */
     @Override
-    public void execute(TaskList taskList, Ui ui, Database database) throws DukeException {
+    public void execute(TaskList taskList, Ui ui, StorageEngine database) throws DukeException {
         assert this.isActive();
-        ArrayList<Task> tasks = taskList.getTasks();
+        List<Task> tasks = this.isMatchingWords ? taskList.findTasksWithWords(this.query)
+                : taskList.findTasksContaining(this.query);
         StringBuilder queriedTasks = new StringBuilder(FRAME);
         int numOfQueriedTasks = 0;
         for (Task task : tasks) {
-            if (task.isContains(this.query)) {
-                queriedTasks.append("     ").append(numOfQueriedTasks + 1).append(". ")
-                        .append(task.getStatus()).append("\n");
-                numOfQueriedTasks++;
-            }
+            queriedTasks.append("     ").append(numOfQueriedTasks + 1).append(". ")
+                    .append(getStatusWithId(task)).append("\n");
+            numOfQueriedTasks++;
         }
         ui.response(queriedTasks.append(FRAME).toString());
     }
+
+    @Override
+    public boolean isChangingTasks() {
+        return false;
+    }
 }
@@ -1,24 +1,79 @@
 package duke.commands;
 
-import duke.database.Database;
+import java.io.IOException;
+import java.util.List;
+
+import duke.database.StorageEngine;
 import duke.exception.DukeException;
 import duke.task.Task;
+import duke.tasklist.SortOrder;
 import duke.tasklist.TaskList;
 import duke.ui.Ui;
 
-/** Represents a command to view the list of all items in the taskList of Duke. */
+/** Represents a command to view a page of the list of items in the taskList of Duke. */
 public class ListCommand extends Command {
 
+    /** The number of tasks listed at once, unless a range is given. */
+    public static final int PAGE_SIZE = 100;
+
+    private final int fromTaskNumber;
+    private final int toTaskNumber;
+    private final SortOrder sortOrder;
+
     /**
-     * Represents a command to view the list of all items in the taskList of Duke.
+     * Represents a command to view the first page of the list of items in the taskList of Duke.
      */
     public ListCommand() {
+        this(1, PAGE_SIZE);
+    }
+
+    /**
+     * Represents a command to view the items in the taskList of Duke with task numbers within the range, including
+     * both ends.
+     *
+     * @param fromTaskNumber the task number of the first task to list, starting from 1.
+     * @param toTaskNumber the task number of the last task to list.
+     */
+    public ListCommand(int fromTaskNumber, int toTaskNumber) {
+        this(fromTaskNumber, toTaskNumber, null);
+    }
+
+    /**
+     * Represents a command to view the items in the taskList of Duke sorted in the order, listing those within the
+     * range of the sorted list, including both ends.
+     *
+     * @param fromTaskNumber the number of the first task to list in the sorted list, starting from 1.
+     * @param toTaskNumber the number of the last task to list in the sorted list.
+     * @param sortOrder the order to list the tasks in, or null to list them in the order they were added.
+     */
+    public ListCommand(int fromTaskNumber, int toTaskNumber, SortOrder sortOrder) {
         super();
+        assert fromTaskNumber >= 1 && fromTaskNumber <= toTaskNumber;
+        this.fromTaskNumber = fromTaskNumber;
+        this.toTaskNumber = toTaskNumber;
+        this.sortOrder = sortOrder;
     }
 
     /**
-     * Executes the generated ListCommand by generating the list of tasks in Duke as a String and
-     * giving it as a response to the Ui.
+     * @return the task number after the last task this command lists, which is where the next page starts, or the
+     *     largest task number once it is listed, as no list holds a task after it.
+     */
+    public int getNextTaskNumber() {
+        return this.toTaskNumber == Integer.MAX_VALUE ? Integer.MAX_VALUE : this.toTaskNumber + 1;
+    }
+
+    /**
+     * @return the order this command lists the tasks in, or null if they are listed in the order they were added.
+     */
+    public SortOrder getSortOrder() {
+        return this.sortOrder;
+    }
+
+    /**
+     * Executes the generated ListCommand by generating the page of tasks in Duke as a String and
+     * giving it as a response to the Ui. The tasks are read from a snapshot, so listing never holds up a change, unless
+     * the taskList keeps none, in which case only the page is read while holding its lock. Sorted tasks are read from
+     * a snapshot of a view that is kept sorted, so they are never sorted when listed.
      *
      * @param taskList taskList of Duke.
      * @param ui user interface object of Duke.
@@ -26,18 +81,59 @@ public class ListCommand extends Command {
      * @throws DukeException
      */
     @Override
-    public void execute(TaskList taskList, Ui ui, Database database) throws DukeException {
+    public void execute(TaskList taskList, Ui ui, StorageEngine database) throws DukeException {
         assert this.isActive();
-        if (taskList.length() == 0) {
-            ui.response("I ain't got anything to list yet! Add a task in first");
-            return;
+        ui.response(this.sortOrder == null
+                ? taskList.readTasks(this::respond)
+                : this.respond(taskList.getSortedSnapshot(this.sortOrder)));
+    }
+
+    private String respond(List<Task> tasks) {
+        if (tasks.isEmpty() && this.sortOrder != null) {
+            return "I ain't got any tasks to list by " + this.sortOrder.getIdentifier() + " yet!";
+        } else if (tasks.isEmpty()) {
+            return "I ain't got anything to list yet! Add a task in first";
+        } else if (this.fromTaskNumber > tasks.size()) {
+            return "That's all of them! There are only " + tasks.size() + " tasks in the list";
         }
         StringBuilder res = new StringBuilder(FRAME);
-        for (int i = 0; i < taskList.length(); i++) {
-            Task task = taskList.getTask(i + 1);
-            res.append(i + 1).append(". ").append(task.getStatus()).append("\n");
+        try {
+            this.writeTo(tasks, res);
+        } catch (IOException e) {
+            throw new AssertionError(e);
         }
-        ui.response(res.append(FRAME).toString());
+        return res.append(FRAME).toString();
     }
 
+    /**
+     * Writes the tasks within the range to the sink one line at a time, followed by how many tasks are left and a hint
+     * to use the more command when there are tasks after the range. Nothing is written for a range past the last task.
+     * Only the tasks within the range are read, so a page of a long list can be written straight to an output, such
+     * as System.out, without building the whole response first.
+     *
+     * @param tasks the tasks of the TaskList, such as its snapshot.
+     * @param out the sink the lines are written to.
+     * @throws IOException thrown when the sink could not be written to.
+     */
+    public void writeTo(List<Task> tasks, Appendable out) throws IOException {
+        int lastTaskNumber = Math.min(this.toTaskNumber, tasks.size());
+        if (this.fromTaskNumber > lastTaskNumber) {
+            return;
+        }
+        int taskNumber = this.fromTaskNumber;
+        for (Task task : tasks.subList(this.fromTaskNumber - 1, lastTaskNumber)) {
+            out.append(Integer.toString(taskNumber++)).append(". ").append(getStatusWithId(task)).append("\n");
+        }
+        if (lastTaskNumber < tasks.size()) {
+            out.append("Showing ").append(Integer.toString(this.fromTaskNumber)).append("-")
+                    .append(Integer.toString(lastTaskNumber)).append(" of ").append(Integer.toString(tasks.size()))
+                    .append(" tasks. ").append(Integer.toString(tasks.size() - lastTaskNumber))
+                    .append(" more, type more to see the next ones").append("\n");
+        }
+    }
+
+    @Override
+    public boolean isChangingTasks() {
+        return false;
+    }
 }
@@ -1,15 +1,22 @@
 package duke.commands;
 
-import duke.database.Database;
+import java.util.List;
+
+import duke.database.StorageEngine;
+import duke.exception.databaseexceptions.DatabaseNotUpdatingException;
+import duke.exception.tasklistexceptions.TaskListTaskIdNotFoundException;
 import duke.exception.tasklistexceptions.TaskListTaskNumberInvalidException;
 import duke.task.Task;
 import duke.tasklist.TaskList;
+import duke.tasklist.TaskSelection;
+import duke.tasklist.TaskTarget;
 import duke.ui.Ui;
 
 /** Represents a command for marking an existing task in the taskList of Duke. */
 public class MarkCommand extends Command {
 
-    private final int taskNumber;
+    private final TaskTarget target;
+    private final TaskSelection selection;
 
     /**
      * Represents a command for marking an existing task in the taskList of Duke.
@@ -17,23 +24,58 @@ public class MarkCommand extends Command {
      * @param taskNumber The identifier of the task to be marked.
      */
     public MarkCommand(int taskNumber) {
+        this(TaskTarget.ofTaskNumber(taskNumber));
+    }
+
+    /**
+     * Represents a command for marking an existing task in the taskList of Duke.
+     *
+     * @param target The position or id of the task to be marked.
+     */
+    public MarkCommand(TaskTarget target) {
+        super();
+        this.target = target;
+        this.selection = null;
+    }
+
+    /**
+     * Represents a command for marking many existing tasks in the taskList of Duke at once.
+     *
+     * @param selection The tasks to be marked, such as a range of positions.
+     */
+    public MarkCommand(TaskSelection selection) {
         super();
-        this.taskNumber = taskNumber;
+        this.target = null;
+        this.selection = selection;
     }
 
     /**
-     * Executes the generated MarkCommand by marking the relevant task in Duke as complete and
-     * giving it as a response to the Ui.
+     * Executes the generated MarkCommand by marking the relevant tasks in Duke as complete and
+     * giving it as a response to the Ui. Many tasks are marked as one change and recorded together.
      *
      * @param taskList taskList of Duke.
      * @param ui user interface object of Duke.
      * @param database database of Duke.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be recorded in the database.
      */
     @Override
-    public void execute(TaskList taskList, Ui ui, Database database) throws TaskListTaskNumberInvalidException {
+    public void execute(TaskList taskList, Ui ui, StorageEngine database) throws TaskListTaskNumberInvalidException,
+            TaskListTaskIdNotFoundException, DatabaseNotUpdatingException {
         assert this.isActive();
-        Task task = taskList.getTask(this.taskNumber);
-        task.setComplete();
+        if (this.selection != null) {
+            int[] taskNumbers = this.selection.resolve(taskList);
+            List<Task> tasks = taskList.markTasks(taskNumbers, true);
+            taskList.markDirty();
+            database.recordMarkAll(taskNumbers, true);
+            ui.response(FRAME
+                    + "Nice! I've marked " + tasks.size() + " tasks as done." + "\n"
+                    + FRAME);
+            return;
+        }
+        int taskNumber = this.target.resolve(taskList);
+        Task task = taskList.markTask(taskNumber, true);
+        taskList.markDirty();
+        database.recordMark(taskNumber);
         ui.response(FRAME
                 + "Nice! I've marked this task as done:\n"
                 + "[X] " + task.getDetails() + "\n"
@@ -0,0 +1,73 @@
+package duke.commands;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import duke.database.StorageEngine;
+import duke.exception.InvalidDateException;
+import duke.exception.includeexceptions.IncludeToAndFromException;
+import duke.task.Event;
+import duke.tasklist.TaskList;
+import duke.ui.Ui;
+
+/**
+ * Represents a command to list the event tasks that overlap a window of time.
+ */
+public class OverlapsCommand extends Command {
+
+    private static final String FROM_KEYWORD = "/from ";
+    private static final String TO_KEYWORD = " /to ";
+
+    private final String commandBody;
+
+    /**
+     * Represents a command to list the event tasks that overlap a window of time.
+     *
+     * @param commandBody Parameters of the command, pre-parsed.
+     */
+    public OverlapsCommand(String commandBody) {
+        super();
+        this.commandBody = commandBody;
+    }
+
+    /**
+     * Executes the generated OverlapsCommand by finding the Event tasks that overlap the window in the TaskList,
+     * sorted by their start, and giving them as a response to the Ui. Events that only touch the window at its start
+     * or end do not overlap it.
+     *
+     * @param taskList taskList of Duke.
+     * @param ui user interface object of Duke.
+     * @param database database of Duke.
+     * @throws IncludeToAndFromException /from and/or /to was not included in the command.
+     * @throws InvalidDateException Date given in the command is invalid.
+     */
+    @Override
+    public void execute(TaskList taskList, Ui ui, StorageEngine database) throws IncludeToAndFromException,
+            InvalidDateException {
+        assert this.isActive();
+        String body = this.commandBody.strip();
+        if (!body.startsWith(FROM_KEYWORD) || !body.contains(TO_KEYWORD)) {
+            throw new IncludeToAndFromException();
+        }
+        int toIndex = body.indexOf(TO_KEYWORD);
+        LocalDateTime from = parseDateTime(body.substring(FROM_KEYWORD.length(), toIndex));
+        LocalDateTime to = parseDateTime(body.substring(toIndex + TO_KEYWORD.length()));
+
+        List<Event> events = taskList.findEventsOverlapping(from, to);
+        if (events.isEmpty()) {
+            ui.response("You're free then!");
+            return;
+        }
+        StringBuilder overlappingEvents = new StringBuilder(FRAME);
+        for (int i = 0; i < events.size(); i++) {
+            overlappingEvents.append("     ").append(i + 1).append(". ").append(getStatusWithId(events.get(i)))
+                    .append("\n");
+        }
+        ui.response(overlappingEvents.append(FRAME).toString());
+    }
+
+    @Override
+    public boolean isChangingTasks() {
+        return false;
+    }
+}
@@ -0,0 +1,40 @@
+package duke.commands;
+
+import duke.database.StorageEngine;
+import duke.exception.databaseexceptions.DatabaseNotUpdatingException;
+import duke.exception.tasklistexceptions.TaskListNothingToRedoException;
+import duke.tasklist.TaskList;
+import duke.ui.Ui;
+
+/** Represents a command for redoing the last command undone in Duke. */
+public class RedoCommand extends Command {
+
+    /**
+     * Represents a command for redoing the last command undone in Duke.
+     */
+    public RedoCommand() {
+        super();
+    }
+
+    /**
+     * Executes the generated RedoCommand by making the last command undone again and saving the tasks in full,
+     * and gives a response to the Ui.
+     *
+     * @param taskList taskList of Duke.
+     * @param ui user interface object of Duke.
+     * @param database database of Duke.
+     * @throws TaskListNothingToRedoException thrown when there is no command to redo.
+     * @throws DatabaseNotUpdatingException thrown when the tasks could not be saved.
+     */
+    @Override
+    public void execute(TaskList taskList, Ui ui, StorageEngine database) throws TaskListNothingToRedoException,
+            DatabaseNotUpdatingException {
+        assert this.isActive();
+        taskList.redo();
+        taskList.markDirty();
+        database.recordRewrite(taskList.getTasks());
+        ui.response(FRAME
+                + "Redone! Now you have " + taskList.length() + " tasks in the list." + "\n"
+                + FRAME);
+    }
+}
@@ -0,0 +1,40 @@
+package duke.commands;
+
+import duke.database.StorageEngine;
+import duke.exception.databaseexceptions.DatabaseNotUpdatingException;
+import duke.exception.tasklistexceptions.TaskListNothingToUndoException;
+import duke.tasklist.TaskList;
+import duke.ui.Ui;
+
+/** Represents a command for undoing the last command that changed the tasks of Duke. */
+public class UndoCommand extends Command {
+
+    /**
+     * Represents a command for undoing the last command that changed the tasks of Duke.
+     */
+    public UndoCommand() {
+        super();
+    }
+
+    /**
+     * Executes the generated UndoCommand by setting the tasks back to how they were before the last command that
+     * changed them and saving them in full, and gives a response to the Ui.
+     *
+     * @param taskList taskList of Duke.
+     * @param ui user interface object of Duke.
+     * @param database database of Duke.
+     * @throws TaskListNothingToUndoException thrown when there is no command to undo.
+     * @throws DatabaseNotUpdatingException thrown when the tasks could not be saved.
+     */
+    @Override
+    public void execute(TaskList taskList, Ui ui, StorageEngine database) throws TaskListNothingToUndoException,
+            DatabaseNotUpdatingException {
+        assert this.isActive();
+        taskList.undo();
+        taskList.markDirty();
+        database.recordRewrite(taskList.getTasks());
+        ui.response(FRAME
+                + "Undone! Now you have " + taskList.length() + " tasks in the list." + "\n"
+                + FRAME);
+    }
+}
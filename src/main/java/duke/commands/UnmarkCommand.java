@@ -1,15 +1,22 @@
 package duke.commands;
 
-import duke.database.Database;
+import java.util.List;
+
+import duke.database.StorageEngine;
+import duke.exception.databaseexceptions.DatabaseNotUpdatingException;
+import duke.exception.tasklistexceptions.TaskListTaskIdNotFoundException;
 import duke.exception.tasklistexceptions.TaskListTaskNumberInvalidException;
 import duke.task.Task;
 import duke.tasklist.TaskList;
+import duke.tasklist.TaskSelection;
+import duke.tasklist.TaskTarget;
 import duke.ui.Ui;
 
 /** Represents a command for unmarking an existing task in the taskList of Duke. */
 public class UnmarkCommand extends Command {
 
-    private final int taskNumber;
+    private final TaskTarget target;
+    private final TaskSelection selection;
 
     /**
      * Represents a command for unmarking an existing task in the taskList of Duke.
@@ -17,23 +24,58 @@ public class UnmarkCommand extends Command {
      * @param taskNumber The identifier of the task to be unmarked.
      */
     public UnmarkCommand(int taskNumber) {
+        this(TaskTarget.ofTaskNumber(taskNumber));
+    }
+
+    /**
+     * Represents a command for unmarking an existing task in the taskList of Duke.
+     *
+     * @param target The position or id of the task to be unmarked.
+     */
+    public UnmarkCommand(TaskTarget target) {
+        super();
+        this.target = target;
+        this.selection = null;
+    }
+
+    /**
+     * Represents a command for unmarking many existing tasks in the taskList of Duke at once.
+     *
+     * @param selection The tasks to be unmarked, such as a range of positions.
+     */
+    public UnmarkCommand(TaskSelection selection) {
         super();
-        this.taskNumber = taskNumber;
+        this.target = null;
+        this.selection = selection;
     }
 
     /**
-     * Executes the generated MarkCommand by marking the relevant task in Duke as incomplete and
-     * giving it as a response to the Ui.
+     * Executes the generated UnmarkCommand by marking the relevant tasks in Duke as incomplete and
+     * giving it as a response to the Ui. Many tasks are marked as one change and recorded together.
      *
      * @param taskList taskList of Duke.
      * @param ui user interface object of Duke.
      * @param database database of Duke.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be recorded in the database.
      */
     @Override
-    public void execute(TaskList taskList, Ui ui, Database database) throws TaskListTaskNumberInvalidException {
+    public void execute(TaskList taskList, Ui ui, StorageEngine database) throws TaskListTaskNumberInvalidException,
+            TaskListTaskIdNotFoundException, DatabaseNotUpdatingException {
         assert this.isActive();
-        Task task = taskList.getTask(this.taskNumber);
-        task.setIncomplete();
+        if (this.selection != null) {
+            int[] taskNumbers = this.selection.resolve(taskList);
+            List<Task> tasks = taskList.markTasks(taskNumbers, false);
+            taskList.markDirty();
+            database.recordMarkAll(taskNumbers, false);
+            ui.response(FRAME
+                    + "OK, I've marked " + tasks.size() + " tasks as not done yet." + "\n"
+                    + FRAME);
+            return;
+        }
+        int taskNumber = this.target.resolve(taskList);
+        Task task = taskList.markTask(taskNumber, false);
+        taskList.markDirty();
+        database.recordUnmark(taskNumber);
         ui.response(FRAME
                 + "OK, I've marked this task as not done yet:\n"
                 + "[ ] " + task.getDetails() + "\n"
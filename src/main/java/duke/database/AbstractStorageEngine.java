@@ -0,0 +1,126 @@
+package duke.database;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.exception.databaseexceptions.DatabaseNotUpdatingException;
+import duke.task.Task;
+
+/**
+ * Represents a storage engine that saves the tasks of Duke in the background through a {@link PersistenceService}.
+ *
+ * While the tasks are saved in the background, writes made for each change are handed to the background thread as
+ * well, which runs them in the order they were made along with its own saves.
+ */
+public abstract class AbstractStorageEngine implements StorageEngine {
+
+    private volatile PersistenceService persistence;
+    /** Writes handed to the background thread that it has not run yet, in the order they were made. */
+    private final List<StorageWrite> pendingWrites = new ArrayList<>();
+    private long lastId;
+
+    @Override
+    public synchronized void startPersistence(TaskSource tasks, long quietPeriodMillis, long maxDelayMillis) {
+        assert this.persistence == null;
+        this.persistence = new PersistenceService(this, tasks, quietPeriodMillis, maxDelayMillis);
+        this.persistence.start();
+    }
+
+    @Override
+    public synchronized void stopPersistence(TaskSource tasks) throws DatabaseNotUpdatingException {
+        if (this.persistence != null) {
+            try {
+                this.persistence.stop();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (this.pendingWrites) {
+                this.persistence = null;
+            }
+            try {
+                this.runPendingWrites();
+            } catch (IOException e) {
+                tasks.markDirty();
+            }
+            if (!tasks.isDirty()) {
+                return;
+            }
+        }
+        this.update(tasks.getTasks());
+        tasks.clearDirty();
+    }
+
+    @Override
+    public synchronized long getLastId() {
+        return this.lastId;
+    }
+
+    /**
+     * Keeps the given id as the largest id given to a task if it is larger than the one kept so far.
+     *
+     * @param id id of a task that was saved or read.
+     * @return the largest id given to a task so far.
+     */
+    protected synchronized long keepLastId(long id) {
+        this.lastId = Math.max(this.lastId, id);
+        return this.lastId;
+    }
+
+    /**
+     * Keeps the id of the last of the tasks, which holds the largest of their ids, as the largest id given to a task
+     * if it is larger than the one kept so far.
+     *
+     * @param tasks the tasks that were saved or read, in the order of their ids.
+     * @return the largest id given to a task so far.
+     */
+    protected long keepLastId(List<Task> tasks) {
+        return this.keepLastId(tasks.isEmpty() ? 0 : tasks.get(tasks.size() - 1).getId());
+    }
+
+    /**
+     * Runs a write straight away, or hands it to the background thread while the tasks are saved in the background,
+     * so that commands do no disk writes. Either way, writes run in the order they were made.
+     *
+     * @param write the write to be run.
+     * @throws DatabaseNotUpdatingException thrown when the write was run straight away and failed.
+     */
+    protected void writeInOrder(StorageWrite write) throws DatabaseNotUpdatingException {
+        synchronized (this.pendingWrites) {
+            PersistenceService service = this.persistence;
+            if (service != null) {
+                this.pendingWrites.add(write);
+                service.onWrite();
+                return;
+            }
+        }
+        try {
+            write.run();
+        } catch (IOException e) {
+            throw new DatabaseNotUpdatingException();
+        }
+    }
+
+    /**
+     * Runs the writes handed to the background thread, in the order they were made.
+     *
+     * @throws IOException thrown when one of the writes failed, in which case the writes after it are dropped.
+     */
+    void runPendingWrites() throws IOException {
+        List<StorageWrite> writes;
+        synchronized (this.pendingWrites) {
+            writes = new ArrayList<>(this.pendingWrites);
+            this.pendingWrites.clear();
+        }
+        for (StorageWrite write : writes) {
+            write.run();
+        }
+    }
+
+    /**
+     * @return true while the tasks are being saved in the background.
+     */
+    protected boolean isPersisting() {
+        return this.persistence != null;
+    }
+}
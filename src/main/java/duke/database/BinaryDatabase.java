@@ -0,0 +1,60 @@
+package duke.database;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.exception.databaseexceptions.DatabaseNotLoadingException;
+import duke.exception.databaseexceptions.DatabaseTypeNotFoundException;
+import duke.task.Task;
+
+/**
+ * Represents the database storage for Duke that saves the tasks as versioned binary records, see
+ * {@link BinaryTaskCodec}. This is the database Duke uses unless configured otherwise.
+ */
+public class BinaryDatabase extends Database {
+
+    /** Name of the storage engine of this database. */
+    public static final String NAME = "binary";
+
+    private final SnapshotWriter snapshotWriter;
+
+    /**
+     * Represents the database storage for Duke, saving tasks in the binary format.
+     *
+     * @param filePath the path for which the database file is stored in
+     */
+    public BinaryDatabase(String filePath) {
+        super(filePath);
+        this.snapshotWriter = new SnapshotWriter(this.getPath(), this.getJournal()::reset);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    protected ArrayList<Task> read() throws IOException, DatabaseNotLoadingException, DatabaseTypeNotFoundException {
+        BinaryTaskCodec codec = new BinaryTaskCodec();
+        ArrayList<Task> tasks = codec.load(this.getPath());
+        this.keepLastId(codec.getLastId());
+        this.getJournal().replay(tasks, codec.getChecksum());
+        return tasks;
+    }
+
+    @Override
+    public List<Task> loadLazily() throws DatabaseNotLoadingException, DatabaseTypeNotFoundException {
+        return this.openLazily(StorageFormat.BINARY);
+    }
+
+    /**
+     * Encodes the tasks into binary records, which are then written as a snapshot that replaces the database file
+     * atomically. Saves made at the same time from other threads are written together in a single commit.
+     */
+    @Override
+    public StorageWrite prepareSave(List<Task> tasks) throws IOException {
+        byte[] bytes = new BinaryTaskCodec().encode(tasks, this.keepLastId(tasks));
+        return () -> this.snapshotWriter.commit(bytes);
+    }
+}
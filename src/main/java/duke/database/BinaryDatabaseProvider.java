@@ -0,0 +1,21 @@
+package duke.database;
+
+import java.util.List;
+
+/**
+ * Provides a {@link BinaryDatabase} under the name "binary", and the binary format compressed with gzip under the
+ * name "binary.gz".
+ */
+public class BinaryDatabaseProvider implements StorageEngineProvider {
+
+    @Override
+    public List<String> getNames() {
+        return List.of(BinaryDatabase.NAME, BinaryDatabase.NAME + CompressedDatabase.SUFFIX);
+    }
+
+    @Override
+    public StorageEngine create(String name, String filePath) {
+        return name.endsWith(CompressedDatabase.SUFFIX) ? new CompressedDatabase(filePath, StorageFormat.BINARY)
+                : new BinaryDatabase(filePath);
+    }
+}
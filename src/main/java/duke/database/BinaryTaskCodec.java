@@ -0,0 +1,397 @@
+package duke.database;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import duke.exception.databaseexceptions.DatabaseNotLoadingException;
+import duke.exception.databaseexceptions.DatabaseTypeNotFoundException;
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Task;
+import duke.task.ToDo;
+
+/**
+ * Reads and writes the binary format of the database file.
+ *
+ * The file starts with a header holding the magic number, the format version, the number of tasks and the largest id
+ * given to a task so far, which can belong to a task that has since been deleted. Each task is then stored as a
+ * record prefixed with its length in bytes, holding a flag byte that packs the task type together with its
+ * completion, the id of the task when it has one, the dates of the task in epoch seconds and finally its details in
+ * UTF-8. Version 1 never stored ids, so its tasks are given the id of their position in the file, and versions before
+ * 3 do not hold the largest id in their header.
+ */
+public class BinaryTaskCodec {
+
+    /** "DUKE" in ASCII, which can never start a text database as it is not a task type. */
+    public static final int MAGIC = 0x44554B45;
+    public static final short VERSION = 3;
+    /** The first version whose header holds the largest id given to a task. */
+    public static final short LAST_ID_VERSION = 3;
+
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int TYPE_MASK = 0x03;
+    private static final int COMPLETED_FLAG = 0x80;
+    private static final int ID_FLAG = 0x40;
+    private static final int TODO = 0;
+    private static final int DEADLINE = 1;
+    private static final int EVENT = 2;
+
+    private static final long MIN_EPOCH_SECOND = LocalDateTime.MIN.toEpochSecond(ZoneOffset.UTC);
+    private static final long MAX_EPOCH_SECOND = LocalDateTime.MAX.toEpochSecond(ZoneOffset.UTC);
+
+    private long checksum;
+    private long lastId;
+
+    /**
+     * Checks whether the file is written in the binary format.
+     *
+     * @param path path of the database file.
+     * @return true if the file starts with the magic number.
+     * @throws IOException thrown when the file could not be read.
+     */
+    public static boolean isBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // Keep reading until the magic number is filled or the file ends.
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Encodes the tasks into the binary format.
+     *
+     * @param tasks the tasks to be encoded.
+     * @param lastId the largest id given to a task so far.
+     * @return the contents of the database file.
+     * @throws IOException never thrown in practice, as the tasks are written into memory.
+     */
+    public byte[] encode(List<Task> tasks, long lastId) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + tasks.size() * 64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        encode(tasks, lastId, out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodes the tasks into the binary format, streaming them into the given stream.
+     *
+     * @param tasks the tasks to be encoded.
+     * @param lastId the largest id given to a task so far.
+     * @param out the stream the contents of the database file are written into.
+     * @throws IOException thrown when the stream could not be written.
+     */
+    static void encode(List<Task> tasks, long lastId, DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(tasks.size());
+        out.writeLong(lastId);
+        for (Task task : tasks) {
+            encodeRecord(out, task);
+        }
+    }
+
+    /**
+     * Encodes a single task as a record prefixed with its length.
+     *
+     * @param out the stream the record is written into.
+     * @param task the task to be encoded.
+     * @throws IOException thrown when the stream could not be written.
+     */
+    static void encodeRecord(DataOutputStream out, Task task) throws IOException {
+        byte[] details = task.getDetailsUtf8();
+        boolean hasId = task.getId() != 0;
+        int flags = (task.isCompleted() ? COMPLETED_FLAG : 0) | (hasId ? ID_FLAG : 0);
+        int idLength = hasId ? Long.BYTES : 0;
+        switch (task.getType()) {
+        case DEADLINE:
+            out.writeInt(1 + idLength + Long.BYTES + details.length);
+            out.writeByte(DEADLINE | flags);
+            writeId(out, task);
+            out.writeLong(toEpochSecond(((Deadline) task).getDeadline()));
+            break;
+        case EVENT:
+            out.writeInt(1 + idLength + 2 * Long.BYTES + details.length);
+            out.writeByte(EVENT | flags);
+            writeId(out, task);
+            out.writeLong(toEpochSecond(((Event) task).getStartDateTime()));
+            out.writeLong(toEpochSecond(((Event) task).getEndDateTime()));
+            break;
+        default:
+            out.writeInt(1 + idLength + details.length);
+            out.writeByte(TODO | flags);
+            writeId(out, task);
+        }
+        out.write(details);
+    }
+
+    private static void writeId(DataOutputStream out, Task task) throws IOException {
+        if (task.getId() != 0) {
+            out.writeLong(task.getId());
+        }
+    }
+
+    /**
+     * Loads every task stored in a binary database file.
+     *
+     * @param path path of the database file.
+     * @return an ArrayList of the tasks in the order they are stored in.
+     * @throws IOException thrown when the file could not be read.
+     * @throws DatabaseNotLoadingException thrown when the file is truncated or written by a newer version of Duke.
+     * @throws DatabaseTypeNotFoundException thrown when one of the tasks stored has the wrong type.
+     */
+    public ArrayList<Task> load(Path path) throws IOException, DatabaseNotLoadingException,
+            DatabaseTypeNotFoundException {
+        ByteBuffer data = readFully(path);
+        CRC32 crc = new CRC32();
+        crc.update(data.array(), 0, data.limit());
+        this.checksum = crc.getValue();
+        return this.decode(data);
+    }
+
+    /**
+     * Reads a whole file into a buffer on the heap. Files are read rather than mapped, as a mapping stays open until
+     * its buffer is garbage collected, and some platforms cannot replace a file while it is mapped.
+     *
+     * @param path path of the file.
+     * @return a buffer holding the contents of the file, from position 0 up to its limit.
+     * @throws IOException thrown when the file could not be read.
+     */
+    static ByteBuffer readFully(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Database file is too large to be read");
+            }
+            ByteBuffer data = ByteBuffer.allocate((int) channel.size());
+            while (data.hasRemaining() && channel.read(data) >= 0) {
+                // Keep reading until the buffer is filled or the file ends.
+            }
+            data.flip();
+            return data;
+        }
+    }
+
+    /**
+     * @return the CRC32 checksum of the file that was last loaded.
+     */
+    public long getChecksum() {
+        return this.checksum;
+    }
+
+    /**
+     * @return the largest id given to a task, as held in the header that was last decoded, or 0 when it was written
+     *     by a version that did not hold it.
+     */
+    public long getLastId() {
+        return this.lastId;
+    }
+
+    /**
+     * Decodes the contents of a binary database file.
+     *
+     * @param data the contents of the file, positioned at its header.
+     * @return an ArrayList of the tasks in the order they are stored in.
+     * @throws DatabaseNotLoadingException thrown when the data is truncated or written by a newer version of Duke.
+     * @throws DatabaseTypeNotFoundException thrown when one of the tasks stored has the wrong type.
+     */
+    ArrayList<Task> decode(ByteBuffer data) throws DatabaseNotLoadingException,
+            DatabaseTypeNotFoundException {
+        try {
+            if (data.getInt() != MAGIC) {
+                throw new DatabaseNotLoadingException();
+            }
+            short version = data.getShort();
+            if (version > VERSION) {
+                throw new DatabaseNotLoadingException();
+            }
+            int numOfTasks = data.getInt();
+            // Every record takes at least its length and its flag byte, so a damaged count is never allocated for.
+            if (numOfTasks > data.remaining() / (Integer.BYTES + 1)) {
+                throw new DatabaseNotLoadingException();
+            }
+            this.lastId = version >= LAST_ID_VERSION ? data.getLong() : 0;
+            ArrayList<Task> tasks = new ArrayList<>(numOfTasks);
+            byte[] details = new byte[256];
+            for (int i = 0; i < numOfTasks; i++) {
+                int end = data.getInt() + data.position();
+                tasks.add(Database.withDefaultId(decodeRecord(data, end, details), i));
+                data.position(end);
+            }
+            return tasks;
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException
+                | DateTimeException e) {
+            throw new DatabaseNotLoadingException();
+        }
+    }
+
+    /**
+     * Decodes a binary database file read from a stream, one record at a time.
+     *
+     * @param in the contents of the file, starting at its header.
+     * @return an ArrayList of the tasks in the order they are stored in.
+     * @throws IOException thrown when the stream could not be read.
+     * @throws DatabaseNotLoadingException thrown when the file is truncated or written by a newer version of Duke.
+     * @throws DatabaseTypeNotFoundException thrown when one of the tasks stored has the wrong type.
+     */
+    ArrayList<Task> decode(DataInputStream in) throws IOException, DatabaseNotLoadingException,
+            DatabaseTypeNotFoundException {
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new DatabaseNotLoadingException();
+            }
+            short version = in.readShort();
+            if (version > VERSION) {
+                throw new DatabaseNotLoadingException();
+            }
+            int numOfTasks = in.readInt();
+            if (numOfTasks < 0) {
+                throw new DatabaseNotLoadingException();
+            }
+            this.lastId = version >= LAST_ID_VERSION ? in.readLong() : 0;
+            ArrayList<Task> tasks = new ArrayList<>();
+            byte[] record = new byte[256];
+            byte[] details = new byte[256];
+            for (int i = 0; i < numOfTasks; i++) {
+                int length = in.readInt();
+                if (length < 1) {
+                    throw new DatabaseNotLoadingException();
+                } else if (record.length < length) {
+                    // Grown only as the bytes arrive, so a damaged length ends the stream rather than the memory.
+                    record = in.readNBytes(length);
+                    if (record.length < length) {
+                        throw new EOFException();
+                    }
+                } else {
+                    in.readFully(record, 0, length);
+                }
+                Task task = decodeRecord(ByteBuffer.wrap(record, 0, length), length, details);
+                tasks.add(Database.withDefaultId(task, i));
+            }
+            return tasks;
+        } catch (EOFException | BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException
+                | DateTimeException e) {
+            throw new DatabaseNotLoadingException();
+        }
+    }
+
+    /**
+     * Decodes a single record, starting from its flag byte.
+     *
+     * @param data the record, positioned at its flag byte.
+     * @param end position just after the end of the record.
+     * @param buffer scratch space for the details, replaced when too small.
+     * @return the task stored in the record, with an id of 0 if the record does not hold one.
+     * @throws DatabaseTypeNotFoundException thrown when the task stored has the wrong type.
+     */
+    static Task decodeRecord(ByteBuffer data, int end, byte[] buffer) throws DatabaseTypeNotFoundException {
+        int flags = data.get();
+        boolean isCompleted = (flags & COMPLETED_FLAG) != 0;
+        long id = (flags & ID_FLAG) != 0 ? data.getLong() : 0;
+        Task task;
+        switch (flags & TYPE_MASK) {
+        case TODO:
+            task = new ToDo(readDetails(data, end, buffer), isCompleted);
+            break;
+        case DEADLINE:
+            LocalDateTime deadline = toDateTime(data.getLong());
+            task = new Deadline(readDetails(data, end, buffer), deadline, isCompleted);
+            break;
+        case EVENT:
+            LocalDateTime start = toDateTime(data.getLong());
+            LocalDateTime finish = toDateTime(data.getLong());
+            task = new Event(readDetails(data, end, buffer), start, finish, isCompleted);
+            break;
+        default:
+            throw new DatabaseTypeNotFoundException();
+        }
+        if (id > 0) {
+            task = task.withId(id);
+        }
+        return task;
+    }
+
+    /**
+     * Checks the type stored in the flag byte of a record without decoding the rest of it.
+     *
+     * @param flags the flag byte of a record.
+     * @return true if the flag byte holds a known task type.
+     */
+    static boolean isKnownType(int flags) {
+        return (flags & TYPE_MASK) != TYPE_MASK;
+    }
+
+    /**
+     * Works out the length of the fixed fields of a record, which every record must hold before its details.
+     *
+     * @param flags the flag byte of a record holding a known task type.
+     * @return the length in bytes of the flag byte, the id and the dates of the record.
+     */
+    static int fixedLength(int flags) {
+        int length = 1 + ((flags & ID_FLAG) != 0 ? Long.BYTES : 0);
+        switch (flags & TYPE_MASK) {
+        case DEADLINE:
+            return length + Long.BYTES;
+        case EVENT:
+            return length + 2 * Long.BYTES;
+        default:
+            return length;
+        }
+    }
+
+    /**
+     * Checks that the dates of a record can be held by a LocalDateTime, without decoding the rest of it.
+     *
+     * @param fields the fixed fields of a record after its flag byte, positioned at its id or its first date.
+     * @param flags the flag byte of the record, holding a known task type.
+     * @return true if every date of the record is within the range of a LocalDateTime.
+     */
+    static boolean hasValidDates(ByteBuffer fields, int flags) {
+        if ((flags & ID_FLAG) != 0) {
+            fields.getLong();
+        }
+        int numOfDates = (flags & TYPE_MASK) == EVENT ? 2 : (flags & TYPE_MASK) == DEADLINE ? 1 : 0;
+        for (int i = 0; i < numOfDates; i++) {
+            long epochSecond = fields.getLong();
+            if (epochSecond < MIN_EPOCH_SECOND || epochSecond > MAX_EPOCH_SECOND) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String readDetails(ByteBuffer data, int end, byte[] buffer) {
+        int length = end - data.position();
+        if (length < 0) {
+            // The record ends before its fixed fields do, so its length was damaged.
+            throw new BufferUnderflowException();
+        }
+        byte[] details = buffer.length >= length ? buffer : new byte[length];
+        data.get(details, 0, length);
+        return new String(details, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
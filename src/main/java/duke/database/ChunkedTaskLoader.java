@@ -0,0 +1,250 @@
+package duke.database;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.zip.CRC32;
+
+import duke.exception.databaseexceptions.DatabaseTypeNotFoundException;
+import duke.task.Task;
+
+/**
+ * Loads the tasks stored in the database text file by reading it into memory, splitting it into chunks on line
+ * boundaries and parsing the chunks in parallel.
+ *
+ * Lines are split by scanning for the ASCII 31 unit separator directly instead of going through the regex-backed
+ * {@code String.split}, but otherwise follow the same rules as the line-by-line loader, so the tasks come back in the
+ * same order and a task with an unknown type still fails the whole load. The first line holds the largest id given to
+ * a task when it starts with {@code #}, and files written before it was kept start with their first task instead.
+ */
+public class ChunkedTaskLoader {
+
+    /** Files smaller than this are parsed in a single chunk, as forking would cost more than it saves. */
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+    private static final byte DELIMITER = 31;
+    private static final byte NEWLINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte LAST_ID_PREFIX = '#';
+
+    private final Charset charset = Charset.defaultCharset();
+    private final ForkJoinPool pool;
+    private long checksum;
+    private long lastId;
+
+    /**
+     * Loads the tasks stored in the database text file in parallel on the common fork-join pool.
+     */
+    public ChunkedTaskLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Loads the tasks stored in the database text file in parallel.
+     *
+     * @param pool the fork-join pool that the chunks are parsed on.
+     */
+    public ChunkedTaskLoader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Loads every task stored in the database text file.
+     *
+     * @param path path of the database text file.
+     * @return an ArrayList of the tasks in the order they are stored in.
+     * @throws IOException thrown when the file could not be read.
+     * @throws DatabaseTypeNotFoundException thrown when one of the tasks stored has the wrong type.
+     */
+    public ArrayList<Task> load(Path path) throws IOException, DatabaseTypeNotFoundException {
+        ByteBuffer data = BinaryTaskCodec.readFully(path);
+        CRC32 crc = new CRC32();
+        crc.update(data.array(), 0, data.limit());
+        this.checksum = crc.getValue();
+
+        int start = 0;
+        this.lastId = 0;
+        if (data.limit() > 0 && data.get(0) == LAST_ID_PREFIX) {
+            while (start < data.limit() && data.get(start) != NEWLINE) {
+                start++;
+            }
+            int length = data.get(start - 1) == CARRIAGE_RETURN ? start - 1 : start;
+            this.lastId = parseLastId(data.array(), length);
+            start++;
+        }
+        int[] boundaries = this.split(data, Math.min(start, data.limit()));
+        List<List<Task>> chunks = new ArrayList<>(Collections.nCopies(boundaries.length - 1, null));
+        try {
+            this.pool.invoke(new ChunkParser(data, boundaries, chunks, 0, chunks.size()));
+        } catch (TypeNotFoundSignal e) {
+            throw new DatabaseTypeNotFoundException();
+        }
+
+        int numOfTasks = 0;
+        for (List<Task> chunk : chunks) {
+            numOfTasks += chunk.size();
+        }
+        ArrayList<Task> tasks = new ArrayList<>(numOfTasks);
+        for (List<Task> chunk : chunks) {
+            for (Task task : chunk) {
+                tasks.add(Database.withDefaultId(task, tasks.size()));
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * @return the CRC32 checksum of the file that was last loaded.
+     */
+    public long getChecksum() {
+        return this.checksum;
+    }
+
+    /**
+     * @return the largest id given to a task, as held in the file that was last loaded, or 0 when it was written by a
+     *     version that did not hold it.
+     */
+    public long getLastId() {
+        return this.lastId;
+    }
+
+    /**
+     * Parses the first line of a text database file, which holds the largest id given to a task after a {@code #}.
+     *
+     * @param line the bytes of the line, without its line terminator.
+     * @param length the number of bytes in the line.
+     * @return the largest id given to a task.
+     * @throws IOException thrown when the line does not hold an id.
+     */
+    static long parseLastId(byte[] line, int length) throws IOException {
+        if (length < 2 || length > 20) {
+            throw new IOException("Malformed header in database file");
+        }
+        long id = 0;
+        for (int i = 1; i < length; i++) {
+            if (line[i] < '0' || line[i] > '9') {
+                throw new IOException("Malformed header in database file");
+            }
+            id = id * 10 + line[i] - '0';
+        }
+        return id;
+    }
+
+    /**
+     * Splits the data after the given start into roughly equal chunks, moving each boundary forward to just after the
+     * next newline.
+     */
+    private int[] split(ByteBuffer data, int start) {
+        int size = data.limit();
+        int numOfChunks = Math.max(1, Math.min(this.pool.getParallelism(), (size - start) / MIN_CHUNK_SIZE));
+        int[] boundaries = new int[numOfChunks + 1];
+        boundaries[0] = start;
+        boundaries[numOfChunks] = size;
+        for (int i = 1; i < numOfChunks; i++) {
+            int boundary = Math.max(boundaries[i - 1], start + (int) ((long) (size - start) * i / numOfChunks));
+            while (boundary < size && data.get(boundary - 1) != NEWLINE) {
+                boundary++;
+            }
+            boundaries[i] = boundary;
+        }
+        return boundaries;
+    }
+
+    /** Parses a range of chunks, forking until each task handles a single chunk. */
+    private class ChunkParser extends RecursiveAction {
+        private final ByteBuffer data;
+        private final int[] boundaries;
+        private final List<List<Task>> chunks;
+        private final int from;
+        private final int to;
+
+        ChunkParser(ByteBuffer data, int[] boundaries, List<List<Task>> chunks, int from, int to) {
+            this.data = data;
+            this.boundaries = boundaries;
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from > 1) {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(new ChunkParser(this.data, this.boundaries, this.chunks, this.from, middle),
+                        new ChunkParser(this.data, this.boundaries, this.chunks, middle, this.to));
+                return;
+            }
+            try {
+                this.chunks.set(this.from, parse(this.data.duplicate(), this.boundaries[this.from],
+                        this.boundaries[this.from + 1]));
+            } catch (DatabaseTypeNotFoundException e) {
+                throw new TypeNotFoundSignal();
+            }
+        }
+    }
+
+    private ArrayList<Task> parse(ByteBuffer data, int start, int end) throws DatabaseTypeNotFoundException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        ArrayList<String> fields = new ArrayList<>();
+        byte[] line = new byte[256];
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (lineEnd < end && data.get(lineEnd) != NEWLINE) {
+                lineEnd++;
+            }
+            int length = lineEnd - lineStart;
+            if (length > 0 && data.get(lineEnd - 1) == CARRIAGE_RETURN) {
+                length--;
+            }
+            if (line.length < length) {
+                line = new byte[Math.max(length, line.length * 2)];
+            }
+            data.position(lineStart);
+            data.get(line, 0, length);
+            tasks.add(Database.toTask(this.splitFields(line, length, fields)));
+            lineStart = lineEnd + 1;
+        }
+        return tasks;
+    }
+
+    /**
+     * Parses a single line of the database text file.
+     *
+     * @param line the bytes of the line, without its line terminator.
+     * @param length the number of bytes in the line.
+     * @return the task stored in the line.
+     * @throws DatabaseTypeNotFoundException thrown when the task stored has the wrong type.
+     */
+    Task parseLine(byte[] line, int length) throws DatabaseTypeNotFoundException {
+        return Database.toTask(this.splitFields(line, length, new ArrayList<>()));
+    }
+
+    /**
+     * Splits a line on the unit separator, dropping trailing empty fields the same way {@code String.split} does.
+     */
+    private String[] splitFields(byte[] line, int length, ArrayList<String> fields) {
+        fields.clear();
+        int fieldStart = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i == length || line[i] == DELIMITER) {
+                fields.add(new String(line, fieldStart, i - fieldStart, this.charset));
+                fieldStart = i + 1;
+            }
+        }
+        int numOfFields = fields.size();
+        while (numOfFields > 1 && fields.get(numOfFields - 1).isEmpty()) {
+            numOfFields--;
+        }
+        return fields.subList(0, numOfFields).toArray(new String[0]);
+    }
+
+    /** Carries a DatabaseTypeNotFoundException out of the fork-join pool, which only rethrows unchecked exceptions. */
+    private static class TypeNotFoundSignal extends RuntimeException {
+    }
+}
@@ -0,0 +1,59 @@
+package duke.database;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import duke.exception.databaseexceptions.DatabaseNotLoadingException;
+import duke.exception.databaseexceptions.DatabaseTypeNotFoundException;
+import duke.task.Task;
+
+/**
+ * Represents the database storage for Duke that saves the tasks in the text or binary format compressed with gzip,
+ * see {@link CompressedTaskCodec}. It is named after the format inside followed by ".gz", such as "binary.gz".
+ */
+public class CompressedDatabase extends Database {
+
+    /** Suffix of the names of compressed databases after the name of the format inside. */
+    public static final String SUFFIX = ".gz";
+
+    private final StorageFormat format;
+    private final SnapshotWriter snapshotWriter;
+
+    /**
+     * Represents the database storage for Duke, saving tasks compressed with gzip.
+     *
+     * @param filePath the path for which the database file is stored in
+     * @param format the format of the tasks inside the compressed file, either text or binary.
+     */
+    public CompressedDatabase(String filePath, StorageFormat format) {
+        super(filePath);
+        this.format = format;
+        this.snapshotWriter = new SnapshotWriter(this.getPath(), this.getJournal()::reset);
+    }
+
+    @Override
+    public String getName() {
+        return this.format.name().toLowerCase(Locale.ROOT) + SUFFIX;
+    }
+
+    @Override
+    protected ArrayList<Task> read() throws IOException, DatabaseNotLoadingException, DatabaseTypeNotFoundException {
+        CompressedTaskCodec codec = new CompressedTaskCodec();
+        ArrayList<Task> tasks = codec.load(this.getPath());
+        this.keepLastId(codec.getLastId());
+        this.getJournal().replay(tasks, codec.getChecksum());
+        return tasks;
+    }
+
+    /**
+     * Compresses the tasks, which are then written as a snapshot that replaces the database file atomically. Saves
+     * made at the same time from other threads are written together in a single commit.
+     */
+    @Override
+    public StorageWrite prepareSave(List<Task> tasks) throws IOException {
+        byte[] bytes = new CompressedTaskCodec().encode(tasks, this.keepLastId(tasks), this.format);
+        return () -> this.snapshotWriter.commit(bytes);
+    }
+}
@@ -0,0 +1,203 @@
+package duke.database;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import duke.exception.databaseexceptions.DatabaseNotLoadingException;
+import duke.exception.databaseexceptions.DatabaseTypeNotFoundException;
+import duke.task.Task;
+
+/**
+ * Reads and writes database files in the text or binary format compressed with gzip.
+ *
+ * Both directions stream: tasks are encoded straight into the compressor on save, and parsed as they come out of the
+ * decompressor on load, so the uncompressed file is never held in memory as a whole. A compressed file is recognised
+ * by the gzip header, and the format inside it by the magic number of the binary format.
+ */
+public class CompressedTaskCodec {
+
+    /** The first two bytes of every gzip stream. */
+    private static final int GZIP_MAGIC = 0x1F8B;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final byte NEWLINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte LAST_ID_PREFIX = '#';
+
+    private long checksum;
+    private StorageFormat format;
+    private long lastId;
+
+    /**
+     * Checks whether the file is compressed with gzip.
+     *
+     * @param path path of the database file.
+     * @return true if the file starts with the gzip header.
+     * @throws IOException thrown when the file could not be read.
+     */
+    public static boolean isCompressed(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Short.BYTES);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // Keep reading until the magic number is filled or the file ends.
+            }
+            return !magic.hasRemaining() && Short.toUnsignedInt(magic.getShort(0)) == GZIP_MAGIC;
+        }
+    }
+
+    /**
+     * Detects the format of the tasks inside a compressed file, only decompressing as much of it as the magic number
+     * of the binary format takes.
+     *
+     * @param path path of the database file.
+     * @return the format of the tasks inside the compressed file.
+     * @throws IOException thrown when the file could not be read or is not a valid gzip stream.
+     */
+    public static StorageFormat detectFormat(Path path) throws IOException {
+        try (BufferedInputStream in = new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path)))) {
+            return startsWithBinaryMagic(in) ? StorageFormat.BINARY : StorageFormat.TEXT;
+        }
+    }
+
+    /**
+     * Compresses the tasks encoded in the given format.
+     *
+     * @param tasks the tasks to be encoded.
+     * @param lastId the largest id given to a task so far.
+     * @param format the format of the tasks inside the compressed file, either text or binary.
+     * @return the contents of the database file.
+     * @throws IOException never thrown in practice, as the tasks are written into memory.
+     */
+    public byte[] encode(List<Task> tasks, long lastId, StorageFormat format) throws IOException {
+        assert format == StorageFormat.TEXT || format == StorageFormat.BINARY;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes, BUFFER_SIZE))) {
+            if (format == StorageFormat.BINARY) {
+                BinaryTaskCodec.encode(tasks, lastId, out);
+            } else {
+                Database.encodeText(tasks, lastId, out);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Loads every task stored in a compressed database file.
+     *
+     * @param path path of the database file.
+     * @return an ArrayList of the tasks in the order they are stored in.
+     * @throws IOException thrown when the file could not be read or is not a valid gzip stream.
+     * @throws DatabaseNotLoadingException thrown when the binary format inside is truncated or written by a newer
+     *     version of Duke.
+     * @throws DatabaseTypeNotFoundException thrown when one of the tasks stored has the wrong type.
+     */
+    public ArrayList<Task> load(Path path) throws IOException, DatabaseNotLoadingException,
+            DatabaseTypeNotFoundException {
+        try (CheckedInputStream file = new CheckedInputStream(Files.newInputStream(path), new CRC32())) {
+            BufferedInputStream in = new BufferedInputStream(new GZIPInputStream(file, BUFFER_SIZE), BUFFER_SIZE);
+            ArrayList<Task> tasks;
+            if (startsWithBinaryMagic(in)) {
+                this.format = StorageFormat.BINARY;
+                BinaryTaskCodec codec = new BinaryTaskCodec();
+                tasks = codec.decode(new DataInputStream(in));
+                this.lastId = codec.getLastId();
+            } else {
+                this.format = StorageFormat.TEXT;
+                tasks = this.parseLines(in);
+            }
+            byte[] rest = new byte[BUFFER_SIZE];
+            while (file.read(rest) >= 0) {
+                // Anything left over is still part of the checksum of the file.
+            }
+            this.checksum = file.getChecksum().getValue();
+            return tasks;
+        }
+    }
+
+    private static boolean startsWithBinaryMagic(BufferedInputStream in) throws IOException {
+        in.mark(Integer.BYTES);
+        int magic = 0;
+        int numOfBytes = 0;
+        int next;
+        while (numOfBytes < Integer.BYTES && (next = in.read()) >= 0) {
+            magic = magic << 8 | next;
+            numOfBytes++;
+        }
+        in.reset();
+        return numOfBytes == Integer.BYTES && magic == BinaryTaskCodec.MAGIC;
+    }
+
+    private ArrayList<Task> parseLines(InputStream in) throws IOException, DatabaseTypeNotFoundException {
+        ChunkedTaskLoader parser = new ChunkedTaskLoader();
+        ArrayList<Task> tasks = new ArrayList<>();
+        byte[] block = new byte[BUFFER_SIZE];
+        byte[] line = new byte[256];
+        int lineLength = 0;
+        boolean isFirstLine = true;
+        int read;
+        while ((read = in.read(block)) >= 0) {
+            for (int i = 0; i < read; i++) {
+                if (block[i] != NEWLINE) {
+                    if (lineLength == line.length) {
+                        line = Arrays.copyOf(line, line.length * 2);
+                    }
+                    line[lineLength++] = block[i];
+                    continue;
+                }
+                if (lineLength > 0 && line[lineLength - 1] == CARRIAGE_RETURN) {
+                    lineLength--;
+                }
+                if (isFirstLine && lineLength > 0 && line[0] == LAST_ID_PREFIX) {
+                    this.lastId = ChunkedTaskLoader.parseLastId(line, lineLength);
+                    isFirstLine = false;
+                    lineLength = 0;
+                    continue;
+                }
+                isFirstLine = false;
+                tasks.add(Database.withDefaultId(parser.parseLine(line, lineLength), tasks.size()));
+                lineLength = 0;
+            }
+        }
+        if (lineLength > 0) {
+            tasks.add(Database.withDefaultId(parser.parseLine(line, lineLength), tasks.size()));
+        }
+        return tasks;
+    }
+
+    /**
+     * @return the CRC32 checksum of the compressed file that was last loaded.
+     */
+    public long getChecksum() {
+        return this.checksum;
+    }
+
+    /**
+     * @return the largest id given to a task, as held in the compressed file that was last loaded, or 0 when it was
+     *     written by a version that did not hold it.
+     */
+    public long getLastId() {
+        return this.lastId;
+    }
+
+    /**
+     * @return the format of the tasks inside the compressed file that was last loaded.
+     */
+    public StorageFormat getFormat() {
+        return this.format;
+    }
+}
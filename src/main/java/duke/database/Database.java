@@ -1,10 +1,14 @@
 package duke.database;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.Collections;
+import java.util.List;
 
 import duke.exception.databaseexceptions.DatabaseNotLoadingException;
 import duke.exception.databaseexceptions.DatabaseNotUpdatingException;
@@ -14,85 +18,429 @@ import duke.task.Event;
 import duke.task.Task;
 import duke.task.ToDo;
 
-/** Represents the database storage for Duke using a basic text file. */
-public class Database {
+/**
+ * Represents the database storage for Duke, which keeps the tasks in a file in one of several formats. Each format is
+ * its own database, such as {@link BinaryDatabase} or {@link PagedDatabase}, and is registered as a storage engine
+ * through its provider.
+ *
+ * Every database reads the file in whichever format it was written in, and rewrites it in its own format once it has
+ * been loaded. Changes are recorded in a journal next to the file by default, which is replayed on top of the tasks
+ * loaded from the file, until the next save folds them back into the file.
+ */
+public abstract class Database extends AbstractStorageEngine {
+
+    /** Number of journal records after which the journal is folded back into the snapshot. */
+    private static final int COMPACTION_THRESHOLD = 500;
+    /** Number of unchanged tasks kept in memory when the database is loaded lazily. */
+    private static final int LAZY_CACHE_SIZE = 1024;
 
     //ASCII 31 is known as the "Unit Seperator"
     //Value taken from
     //https://stackoverflow.com/questions/492090/least-used-delimiter-character-in-normal-text-ascii-128
-    private final String delimiter = Character.toString((char) 31);
+    private static final String DELIMITER = Character.toString((char) 31);
+
+    /** Starts the first line of a text database file, which holds the largest id given to a task. */
+    static final String LAST_ID_PREFIX = "#";
+
     private final String filePath;
+    private final Journal journal;
 
     /**
-     * Represents the database storage for Duke using a basic text file.
+     * Represents the database storage for Duke.
      *
-     * @param filePath the path for which the database text file is stored in
+     * @param filePath the path for which the database file is stored in
      */
-    public Database(String filePath) {
+    protected Database(String filePath) {
         this.filePath = filePath;
+        this.journal = new Journal(filePath + ".journal");
     }
 
     /**
-     * Loads Duke's taskList with the relevant saved tasks stored in the database. Usually run on startup of Duke.
+     * @return the name of the storage engine of this database, such as "binary".
+     */
+    public abstract String getName();
+
+    protected String getFilePath() {
+        return this.filePath;
+    }
+
+    protected Path getPath() {
+        return Paths.get(this.filePath);
+    }
+
+    protected Journal getJournal() {
+        return this.journal;
+    }
+
+    /**
+     * Loads Duke's taskList with the relevant saved tasks stored in the database, replaying any changes recorded in
+     * the journal since the snapshot was last written. Usually run on startup of Duke.
+     *
+     * The format of the file is detected from its header. A file written by another database is read by that
+     * database, and then rewritten in the format of this one.
      *
      * @return an ArrayList of Task objects that was saved in the database
      * @throws DatabaseNotLoadingException thrown when there is an error with loading the database file.
      */
+    @Override
     public ArrayList<Task> load() throws DatabaseNotLoadingException, DatabaseTypeNotFoundException {
         try {
+            File taskFile = this.createTaskFile();
+            Database stored = detect(this.filePath);
+            if (stored.getName().equals(this.getName())) {
+                return this.readAll();
+            }
+            ArrayList<Task> tasks = stored.readAll();
+            // Some platforms cannot replace a file that is still open or mapped.
+            stored.close();
+            this.keepLastId(stored.getLastId());
+            // Changes replayed from the journal are only kept by a snapshot, as the journal is started again after it.
+            if (taskFile.length() > 0 || this.isCreatedOnLoad() || stored.journal.size() > 0) {
+                stored.journal.close();
+                this.update(tasks);
+            } else {
+                // The file is left as it is, so changes go on being journalled against the snapshot that was read.
+                this.journal.continueFrom(stored.journal);
+            }
+            stored.discard();
+            return tasks;
+        } catch (IOException | DatabaseNotUpdatingException e) {
+            throw new DatabaseNotLoadingException();
+        }
+    }
 
-            File dataFolder = new File("data");
-            File taskFile = new File(this.filePath);
-            dataFolder.mkdir();
-            taskFile.createNewFile();
-
-            Scanner dataScanner = new Scanner(taskFile);
-            ArrayList<Task> tasks = new ArrayList<>();
-            while (dataScanner.hasNextLine()) {
-                String[] taskData = dataScanner.nextLine().split(this.delimiter);
-                switch (taskData[0]) {
-                case "T":
-                    tasks.add(new ToDo(taskData));
-                    break;
-                case "E":
-                    tasks.add(new Event(taskData));
-                    break;
-                case "D":
-                    tasks.add(new Deadline(taskData));
-                    break;
-                default:
-                    throw new DatabaseTypeNotFoundException();
-                }
+    private ArrayList<Task> readAll() throws IOException, DatabaseNotLoadingException, DatabaseTypeNotFoundException {
+        ArrayList<Task> tasks = this.read();
+        this.keepLastId(this.journal.getLastId());
+        this.keepLastId(tasks);
+        return tasks;
+    }
+
+    /**
+     * Reads the tasks from the database file, which is written in the format of this database, replaying the
+     * journal on top of them. The largest id given to a task is kept from the file where its format holds it.
+     *
+     * @return an ArrayList of the tasks in the order they are stored in.
+     * @throws IOException thrown when the file could not be read.
+     * @throws DatabaseNotLoadingException thrown when the file is damaged or written by a newer version of Duke.
+     * @throws DatabaseTypeNotFoundException thrown when one of the tasks stored has the wrong type.
+     */
+    protected abstract ArrayList<Task> read() throws IOException, DatabaseNotLoadingException,
+            DatabaseTypeNotFoundException;
 
+    /**
+     * @return true when the database has to be saved on load even when the file is empty, because it keeps files
+     *     that have to exist before any change can be written into them.
+     */
+    protected boolean isCreatedOnLoad() {
+        return false;
+    }
+
+    /**
+     * Closes any file the database holds open, before another database replaces the database file.
+     *
+     * @throws IOException thrown when the files could not be closed.
+     */
+    protected void close() throws IOException {
+    }
+
+    /**
+     * Deletes any file the database keeps next to the database file, once its tasks have been saved by another
+     * database.
+     *
+     * @throws IOException thrown when the files could not be deleted.
+     */
+    protected void discard() throws IOException {
+    }
+
+    /**
+     * Loads the tasks without reading any of them yet, reading each task from the database file the first time it
+     * is accessed. The tasks are loaded in full instead when the file has to be migrated from another format.
+     *
+     * @param format the format the tasks are encoded in, either text or binary.
+     * @return a List of the tasks saved in the database
+     * @throws DatabaseNotLoadingException thrown when there is an error with loading the database file.
+     * @throws DatabaseTypeNotFoundException thrown when one of the tasks stored has the wrong type.
+     */
+    protected List<Task> openLazily(StorageFormat format) throws DatabaseNotLoadingException,
+            DatabaseTypeNotFoundException {
+        try {
+            this.createTaskFile();
+            if (!detect(this.filePath).getName().equals(this.getName())) {
+                return this.load();
+            }
+            LazyTaskList tasks = LazyTaskList.open(this.getPath(), format, LAZY_CACHE_SIZE);
+            try {
+                this.journal.replay(tasks, tasks.getChecksum());
+            } catch (DatabaseNotLoadingException | DatabaseTypeNotFoundException e) {
+                tasks.close();
+                throw e;
             }
+            this.keepLastId(tasks.getLastId());
+            this.keepLastId(this.journal.getLastId());
+            this.keepLastId(tasks);
             return tasks;
-
         } catch (IOException e) {
             throw new DatabaseNotLoadingException();
         }
     }
 
+    private File createTaskFile() throws IOException {
+        File dataFolder = new File("data");
+        File taskFile = new File(this.filePath);
+        dataFolder.mkdir();
+        taskFile.createNewFile();
+        return taskFile;
+    }
+
+    /**
+     * Picks the database that wrote the database file from its header. An empty file is read as the text format.
+     *
+     * @param filePath path of the database file.
+     * @return a database that reads the file.
+     * @throws IOException thrown when the file could not be read.
+     */
+    static Database detect(String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        if (CompressedTaskCodec.isCompressed(path)) {
+            return new CompressedDatabase(filePath, CompressedTaskCodec.detectFormat(path));
+        } else if (PagedTaskStore.isPaged(path)) {
+            return new PagedDatabase(filePath);
+        } else if (ShardedTaskStore.isSharded(path)) {
+            return new ShardedDatabase(filePath);
+        } else if (MappedTaskStore.isMapped(path)) {
+            return new MappedDatabase(filePath);
+        } else if (BinaryTaskCodec.isBinary(path)) {
+            return new BinaryDatabase(filePath);
+        } else {
+            return new TextDatabase(filePath);
+        }
+    }
+
+    /**
+     * Converts a line of the database into its relevant task. The id of the task follows the fields of its type, and
+     * is left out by lines written before tasks had ids.
+     *
+     * @param taskData the fields of the task, starting with its type identifier.
+     * @return the task represented by the fields, with an id of 0 if the line does not hold one.
+     * @throws DatabaseTypeNotFoundException thrown when the type identifier is not a known task type.
+     */
+    static Task toTask(String[] taskData) throws DatabaseTypeNotFoundException {
+        Task task;
+        int numOfFields;
+        switch (taskData[0]) {
+        case "T":
+            task = new ToDo(taskData);
+            numOfFields = 3;
+            break;
+        case "E":
+            task = new Event(taskData);
+            numOfFields = 5;
+            break;
+        case "D":
+            task = new Deadline(taskData);
+            numOfFields = 4;
+            break;
+        default:
+            throw new DatabaseTypeNotFoundException();
+        }
+        if (taskData.length > numOfFields) {
+            try {
+                long id = Long.parseLong(taskData[numOfFields]);
+                if (id > 0) {
+                    task = task.withId(id);
+                }
+            } catch (NumberFormatException e) {
+                // Left for withDefaultId, the same as a line without an id.
+            }
+        }
+        return task;
+    }
+
     /**
-     * Updates the database on shutting down of Duke with the new taskList
+     * Converts a task into the fields of its line in the database, followed by its id when it has one.
      *
-     * @param tasks the tasks originally stored in the taskList for Duke
+     * @param task the task to be converted.
+     * @return the fields of the task, starting with its type identifier.
+     */
+    static ArrayList<String> toFields(Task task) {
+        ArrayList<String> fields = task.getData();
+        if (task.getId() != 0) {
+            fields.add(Long.toString(task.getId()));
+        }
+        return fields;
+    }
+
+    /**
+     * Gives a task read from a database written before tasks had ids the id of its position, which is the id it
+     * would have been given when added to an empty taskList in that order.
+     *
+     * @param task the task that was read.
+     * @param index index of the task in the database.
+     * @return the task, or a copy of it with the id of its position if it had no id.
+     */
+    static Task withDefaultId(Task task, int index) {
+        return task.getId() == 0 ? task.withId(index + 1) : task;
+    }
+
+    /**
+     * Encodes the tasks into the text format one line at a time, streaming them into the given stream. The first
+     * line holds the largest id given to a task, after {@link #LAST_ID_PREFIX}.
+     *
+     * @param tasks the tasks to be encoded.
+     * @param lastId the largest id given to a task so far.
+     * @param out the stream the contents of the database file are written into.
+     * @throws IOException thrown when the stream could not be written.
+     */
+    static void encodeText(List<Task> tasks, long lastId, OutputStream out) throws IOException {
+        byte[] newline = "\n".getBytes(Charset.defaultCharset());
+        out.write((LAST_ID_PREFIX + lastId).getBytes(Charset.defaultCharset()));
+        out.write(newline);
+        for (Task task: tasks) {
+            ArrayList<String> taskData = toFields(task);
+            out.write(String.join(DELIMITER, taskData).getBytes(Charset.defaultCharset()));
+            out.write(newline);
+        }
+    }
+
+    /**
+     * Folds the journal back into the snapshot once enough records have accumulated in it.
+     *
+     * @param tasks the tasks currently stored in the taskList for Duke.
      * @throws DatabaseNotUpdatingException thrown when there is an error with updating the database file.
      */
-    public void update(ArrayList<Task> tasks) throws DatabaseNotUpdatingException {
-        try {
-            FileWriter writer = new FileWriter(this.filePath, false);
-            StringBuilder data = new StringBuilder("");
-            for (Task task: tasks) {
-                ArrayList<String> taskData = task.getData();
-                data.append(String.join(this.delimiter, taskData));
-                data.append("\n");
+    @Override
+    public void compactIfDue(List<Task> tasks) throws DatabaseNotUpdatingException {
+        // While the tasks are saved in the background, every save already folds the journal back in.
+        if (!this.isPersisting() && this.journal.size() >= COMPACTION_THRESHOLD) {
+            this.update(tasks);
+        }
+    }
+
+    /**
+     * Records a newly added task in the journal.
+     *
+     * @param task the task that was added to the end of the taskList.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    @Override
+    public void recordAdd(Task task) throws DatabaseNotUpdatingException {
+        this.keepLastId(task.getId());
+        ArrayList<String> record = toFields(task);
+        record.add(0, Journal.ADD);
+        this.record(record.toArray(new String[0]));
+    }
+
+    /**
+     * Records a task being marked as complete in the journal.
+     *
+     * @param taskNumber identifier of the task.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    @Override
+    public void recordMark(int taskNumber) throws DatabaseNotUpdatingException {
+        this.record(Journal.MARK, Integer.toString(taskNumber));
+    }
+
+    /**
+     * Records a task being marked as incomplete in the journal.
+     *
+     * @param taskNumber identifier of the task.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    @Override
+    public void recordUnmark(int taskNumber) throws DatabaseNotUpdatingException {
+        this.record(Journal.UNMARK, Integer.toString(taskNumber));
+    }
+
+    /**
+     * Records many tasks being marked as complete or incomplete in the journal, as a single record for each range of
+     * consecutive tasks, which are forced to disk together.
+     *
+     * @param taskNumbers the distinct identifiers of the tasks, in ascending order.
+     * @param isCompleted true if the tasks were marked as complete, false if marked as incomplete.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    @Override
+    public void recordMarkAll(int[] taskNumbers, boolean isCompleted) throws DatabaseNotUpdatingException {
+        this.recordRanges(isCompleted ? Journal.MARK : Journal.UNMARK, taskNumbers, false);
+    }
+
+    /**
+     * Records the new details of an edited task in the journal.
+     *
+     * @param taskNumber identifier of the task.
+     * @param details new details of the task.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    @Override
+    public void recordEdit(int taskNumber, String details) throws DatabaseNotUpdatingException {
+        this.record(Journal.EDIT, Integer.toString(taskNumber), details);
+    }
+
+    /**
+     * Records a task being deleted in the journal.
+     *
+     * @param taskNumber identifier of the task.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    @Override
+    public void recordDelete(int taskNumber) throws DatabaseNotUpdatingException {
+        this.record(Journal.DELETE, Integer.toString(taskNumber));
+    }
+
+    /**
+     * Records many tasks being deleted in the journal, as a single record for each range of consecutive tasks, which
+     * are forced to disk together. The ranges are recorded starting from the last one, so that the identifiers of
+     * the others stay the same.
+     *
+     * @param taskNumbers the distinct identifiers of the tasks before any of them were deleted, in ascending order.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    @Override
+    public void recordDeleteAll(int[] taskNumbers) throws DatabaseNotUpdatingException {
+        this.recordRanges(Journal.DELETE, taskNumbers, true);
+    }
+
+    private void recordRanges(String type, int[] taskNumbers, boolean isReversed) throws DatabaseNotUpdatingException {
+        List<String[]> records = new ArrayList<>();
+        int start = 0;
+        while (start < taskNumbers.length) {
+            int end = start;
+            while (end + 1 < taskNumbers.length && taskNumbers[end + 1] == taskNumbers[end] + 1) {
+                end++;
             }
-            writer.write(data.toString());
-            writer.close();
+            String first = Integer.toString(taskNumbers[start]);
+            records.add(start == end
+                    ? new String[] {type, first}
+                    : new String[] {type, first, Integer.toString(taskNumbers[end])});
+            start = end + 1;
+        }
+        if (isReversed) {
+            Collections.reverse(records);
+        }
+        this.writeInOrder(() -> this.journal.appendAll(records));
+    }
+
+    /**
+     * Records a change to many tasks at once by saving the tasks in full. While the tasks are saved in the background,
+     * the save is written by the background thread after the records made before it, and before those made after it.
+     *
+     * @param tasks the tasks of Duke after the change.
+     * @throws DatabaseNotUpdatingException thrown when the tasks could not be saved.
+     */
+    @Override
+    public void recordRewrite(List<Task> tasks) throws DatabaseNotUpdatingException {
+        try {
+            this.writeInOrder(this.prepareSave(tasks));
         } catch (IOException e) {
             throw new DatabaseNotUpdatingException();
         }
-
     }
 
+    private void record(String... fields) throws DatabaseNotUpdatingException {
+        // While the taskList is saved in the background, the record is appended by the background thread instead, in
+        // the same order as the saves, so that a save never discards a record made after its snapshot was taken.
+        this.writeInOrder(() -> this.journal.append(fields));
+    }
 }
@@ -0,0 +1,43 @@
+package duke.database;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.exception.databaseexceptions.DatabaseNotLoadingException;
+import duke.exception.databaseexceptions.DatabaseTypeNotFoundException;
+import duke.task.Task;
+
+/**
+ * Represents a storage engine that keeps the last saved snapshot in memory, encoded in the binary format, and never
+ * touches the disk. Everything saved is lost once Duke exits, so this is meant for benchmarks and tests, where it
+ * measures the cost of commands without any noise from the disk.
+ */
+public class InMemoryStorageEngine extends AbstractStorageEngine {
+
+    private volatile byte[] snapshot;
+
+    @Override
+    public List<Task> load() throws DatabaseNotLoadingException, DatabaseTypeNotFoundException {
+        byte[] saved = this.snapshot;
+        if (saved == null) {
+            return new ArrayList<>();
+        }
+        BinaryTaskCodec codec = new BinaryTaskCodec();
+        ArrayList<Task> tasks = codec.decode(ByteBuffer.wrap(saved));
+        this.keepLastId(codec.getLastId());
+        return tasks;
+    }
+
+    @Override
+    public StorageWrite prepareSave(List<Task> tasks) throws IOException {
+        byte[] bytes = new BinaryTaskCodec().encode(tasks, this.keepLastId(tasks));
+        return () -> this.snapshot = bytes;
+    }
+
+    @Override
+    public void recordAdd(Task task) {
+        this.keepLastId(task.getId());
+    }
+}
@@ -0,0 +1,19 @@
+package duke.database;
+
+import java.util.List;
+
+/**
+ * Provides an {@link InMemoryStorageEngine} under the name "memory".
+ */
+public class InMemoryStorageEngineProvider implements StorageEngineProvider {
+
+    @Override
+    public List<String> getNames() {
+        return List.of("memory");
+    }
+
+    @Override
+    public StorageEngine create(String name, String filePath) {
+        return new InMemoryStorageEngine();
+    }
+}
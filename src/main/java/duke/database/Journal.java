@@ -0,0 +1,242 @@
+package duke.database;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import duke.exception.databaseexceptions.DatabaseNotLoadingException;
+import duke.exception.databaseexceptions.DatabaseTypeNotFoundException;
+import duke.task.Task;
+
+/**
+ * Represents the append-only journal of changes made to the task list since the database snapshot was last written.
+ *
+ * The first line of the journal holds the checksum of the snapshot it was started against. Records are only replayed
+ * when that checksum matches the snapshot that was loaded, so a crash between writing a snapshot and resetting the
+ * journal never applies the same change twice.
+ *
+ * Records that mark, unmark or delete tasks hold either a single position, or the first and last position of a range
+ * of tasks that are all changed by the one record.
+ */
+public class Journal {
+
+    /** Record identifier for a task being added. */
+    public static final String ADD = "A";
+    /** Record identifier for a task being marked as complete. */
+    public static final String MARK = "M";
+    /** Record identifier for a task being marked as incomplete. */
+    public static final String UNMARK = "U";
+    /** Record identifier for the details of a task being edited. */
+    public static final String EDIT = "E";
+    /** Record identifier for a task being deleted. */
+    public static final String DELETE = "R";
+
+    /** Checksum of no snapshot at all, which no CRC32 checksum can be, as those never go past 32 bits. */
+    static final long NO_SNAPSHOT = -1;
+
+    private static final String HEADER_PREFIX = "#";
+    private final String delimiter = Character.toString((char) 31);
+    private final Path path;
+    private FileOutputStream writer;
+    private int numOfRecords;
+    private long lastId;
+    /** Checksum of the snapshot the records in the journal file were made against. */
+    private long snapshotChecksum = NO_SNAPSHOT;
+
+    /**
+     * Represents the append-only journal of changes made to the task list.
+     *
+     * @param filePath the path of the journal file.
+     */
+    public Journal(String filePath) {
+        this.path = Paths.get(filePath);
+    }
+
+    /**
+     * Replays the journal on top of the tasks loaded from the snapshot, then leaves the journal open for appending.
+     *
+     * @param tasks the tasks loaded from the snapshot, updated in place.
+     * @param snapshotChecksum checksum of the snapshot the tasks were loaded from.
+     * @throws DatabaseNotLoadingException thrown when the journal cannot be read or refers to a missing task.
+     * @throws DatabaseTypeNotFoundException thrown when an added task in the journal has the wrong type.
+     */
+    public synchronized void replay(List<Task> tasks, long snapshotChecksum) throws DatabaseNotLoadingException,
+            DatabaseTypeNotFoundException {
+        try {
+            if (!Files.exists(this.path)) {
+                this.reset(snapshotChecksum);
+                return;
+            }
+            String content = Files.readString(this.path, Charset.defaultCharset());
+            // Only lines terminated by a newline were fully written, anything after the last one is a torn record.
+            String[] lines = content.substring(0, content.lastIndexOf('\n') + 1).split("\n");
+            if (!Objects.equals(lines[0], HEADER_PREFIX + Long.toHexString(snapshotChecksum))) {
+                this.reset(snapshotChecksum);
+                return;
+            }
+            for (int i = 1; i < lines.length; i++) {
+                this.apply(tasks, lines[i].split(this.delimiter));
+            }
+            this.numOfRecords = lines.length - 1;
+            this.snapshotChecksum = snapshotChecksum;
+            this.open(true);
+        } catch (IOException | IndexOutOfBoundsException | NumberFormatException e) {
+            throw new DatabaseNotLoadingException();
+        }
+    }
+
+    private void apply(List<Task> tasks, String[] record) throws DatabaseTypeNotFoundException {
+        int index;
+        switch (record[0]) {
+        case ADD:
+            Task task = Database.toTask(Arrays.copyOfRange(record, 1, record.length));
+            if (task.getId() == 0) {
+                // Written before tasks had ids, so give it the id the taskList would have.
+                task = task.withId(tasks.isEmpty() ? 1 : tasks.get(tasks.size() - 1).getId() + 1);
+            }
+            this.lastId = Math.max(this.lastId, task.getId());
+            tasks.add(task);
+            break;
+        case MARK:
+        case UNMARK:
+            boolean isCompleted = record[0].equals(MARK);
+            for (index = firstIndex(record); index <= lastIndex(record); index++) {
+                tasks.set(index, tasks.get(index).withCompleted(isCompleted));
+            }
+            break;
+        case EDIT:
+            index = Integer.parseInt(record[1]) - 1;
+            tasks.set(index, tasks.get(index).withDetails(record[2]));
+            break;
+        case DELETE:
+            for (index = lastIndex(record); index >= firstIndex(record); index--) {
+                tasks.remove(index);
+            }
+            break;
+        default:
+            throw new DatabaseTypeNotFoundException();
+        }
+    }
+
+    private static int firstIndex(String[] record) {
+        return Integer.parseInt(record[1]) - 1;
+    }
+
+    /** The last position of a range follows the first one, and is left out when the record holds a single task. */
+    private static int lastIndex(String[] record) {
+        return record.length > 2 ? Integer.parseInt(record[2]) - 1 : firstIndex(record);
+    }
+
+    /**
+     * Appends a single record to the journal and forces it to disk before returning.
+     *
+     * @param fields the record identifier followed by the fields of the record.
+     * @throws IOException thrown when the record could not be written.
+     */
+    public synchronized void append(String... fields) throws IOException {
+        this.reopen();
+        this.writer.write((String.join(this.delimiter, fields) + "\n").getBytes(Charset.defaultCharset()));
+        this.writer.getChannel().force(false);
+        this.numOfRecords++;
+    }
+
+    /**
+     * Appends the records to the journal in one write, forcing them to disk together before returning.
+     *
+     * @param records the records to be appended, each being its record identifier followed by its fields.
+     * @throws IOException thrown when the records could not be written.
+     */
+    public synchronized void appendAll(List<String[]> records) throws IOException {
+        this.reopen();
+        StringBuilder lines = new StringBuilder();
+        for (String[] fields : records) {
+            lines.append(String.join(this.delimiter, fields)).append('\n');
+        }
+        this.writer.write(lines.toString().getBytes(Charset.defaultCharset()));
+        this.writer.getChannel().force(false);
+        this.numOfRecords += records.size();
+    }
+
+    /**
+     * Reopens a closed journal for appending. The journal file is only appended to when it was started against the
+     * snapshot that was loaded, and is otherwise started against no snapshot at all, so that its records are never
+     * replayed against a snapshot they were not made against.
+     */
+    private void reopen() throws IOException {
+        if (this.writer != null) {
+            return;
+        }
+        if (this.snapshotChecksum != NO_SNAPSHOT && Files.exists(this.path)) {
+            this.open(true);
+        } else {
+            this.reset(this.snapshotChecksum);
+        }
+    }
+
+    /**
+     * Starts appending to the journal file that another journal of the same file replayed, such as the journal of
+     * the database that read a file of another format, when the file is left as it is.
+     *
+     * @param loaded the journal that replayed the journal file against the snapshot that was loaded.
+     * @throws IOException thrown when the journal of the other database could not be closed.
+     */
+    synchronized void continueFrom(Journal loaded) throws IOException {
+        loaded.close();
+        this.close();
+        this.snapshotChecksum = loaded.snapshotChecksum;
+        this.numOfRecords = loaded.numOfRecords;
+        this.lastId = Math.max(this.lastId, loaded.lastId);
+    }
+
+    /**
+     * Discards every record in the journal and starts a new one against the given snapshot.
+     *
+     * @param snapshotChecksum checksum of the snapshot that now holds every change made so far.
+     * @throws IOException thrown when the journal could not be rewritten.
+     */
+    public synchronized void reset(long snapshotChecksum) throws IOException {
+        this.close();
+        this.open(false);
+        this.writer.write((HEADER_PREFIX + Long.toHexString(snapshotChecksum) + "\n")
+                .getBytes(Charset.defaultCharset()));
+        this.writer.getChannel().force(false);
+        this.numOfRecords = 0;
+        this.snapshotChecksum = snapshotChecksum;
+    }
+
+    private void open(boolean isAppending) throws IOException {
+        this.writer = new FileOutputStream(this.path.toFile(), isAppending);
+    }
+
+    /**
+     * Closes the journal file. The next append or reset reopens it.
+     *
+     * @throws IOException thrown when the journal file could not be closed.
+     */
+    public synchronized void close() throws IOException {
+        if (this.writer != null) {
+            this.writer.close();
+            this.writer = null;
+        }
+    }
+
+    /**
+     * @return the number of records written since the journal was last reset.
+     */
+    public synchronized int size() {
+        return this.numOfRecords;
+    }
+
+    /**
+     * @return the largest id of the tasks added by the records replayed, even those deleted by a later record.
+     */
+    public synchronized long getLastId() {
+        return this.lastId;
+    }
+}
@@ -0,0 +1,345 @@
+package duke.database;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+import duke.exception.databaseexceptions.DatabaseNotLoadingException;
+import duke.exception.databaseexceptions.DatabaseTypeNotFoundException;
+import duke.task.Task;
+
+/**
+ * Represents the tasks of a database file, where each task is only read from the file the first time it is accessed.
+ *
+ * Opening the list only scans the file for where each record starts, checking the type of every record on the way so
+ * that a task with an unknown type still fails the load. Tasks that are read are kept in a bounded cache of the most
+ * recently used ones. Tasks are never changed in place but replaced by a changed copy, so a task that was set or added
+ * after the list was opened is kept in memory instead, and no change is ever lost to the cache.
+ *
+ * Reading a task reorders the cache, so every access to the list is synchronized, including reads, as a list command
+ * may read the tasks without the lock of the TaskList while they are being saved in the background.
+ *
+ * The file stays open until the list is closed, after which a task that was never read can no longer be read.
+ */
+public class LazyTaskList extends AbstractList<Task> implements RandomAccess, Closeable {
+
+    private static final int SCAN_BUFFER_SIZE = 1 << 16;
+    private static final byte DELIMITER = 31;
+    private static final byte NEWLINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte LAST_ID_PREFIX = '#';
+    private static final int BINARY_HEADER_SIZE = Integer.BYTES + Short.BYTES + Integer.BYTES;
+
+    private final FileChannel channel;
+    private final StorageFormat format;
+    private final long checksum;
+    private final long lastId;
+    private final ChunkedTaskLoader lineParser = new ChunkedTaskLoader();
+
+    /** Offset of every record in the file, followed by the offset just after the last record. */
+    private final long[] recordOffsets;
+
+    /** Key of each task in order, either the index of its record in the file or a negative key for added tasks. */
+    private int[] keys;
+    private int size;
+    private int nextAddedKey = -1;
+
+    /** Tasks that are kept in memory regardless of the cache, as they were changed or added. */
+    private final HashMap<Integer, Task> keptTasks = new HashMap<>();
+    private final LinkedHashMap<Integer, Task> cache;
+    private byte[] buffer = new byte[256];
+
+    private LazyTaskList(FileChannel channel, StorageFormat format, long[] recordOffsets, int numOfRecords,
+            long checksum, long lastId, int cacheSize) {
+        this.channel = channel;
+        this.format = format;
+        this.recordOffsets = recordOffsets;
+        this.checksum = checksum;
+        this.lastId = lastId;
+        this.size = numOfRecords;
+        this.keys = new int[Math.max(numOfRecords, 16)];
+        for (int i = 0; i < numOfRecords; i++) {
+            this.keys[i] = i;
+        }
+        this.cache = new LinkedHashMap<>(cacheSize * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Task> eldest) {
+                return this.size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Opens a database file in the text or binary format, without reading any of its tasks yet.
+     *
+     * @param path path of the database file.
+     * @param format format of the database file.
+     * @param cacheSize the number of tasks that are kept in memory after being read.
+     * @return the tasks of the database file.
+     * @throws IOException thrown when the file could not be read.
+     * @throws DatabaseNotLoadingException thrown when a binary file is truncated or written by a newer version.
+     * @throws DatabaseTypeNotFoundException thrown when one of the tasks stored has the wrong type.
+     */
+    public static LazyTaskList open(Path path, StorageFormat format, int cacheSize) throws IOException,
+            DatabaseNotLoadingException, DatabaseTypeNotFoundException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return format == StorageFormat.BINARY
+                    ? indexBinary(channel, cacheSize)
+                    : indexText(channel, cacheSize);
+        } catch (IOException | DatabaseNotLoadingException | DatabaseTypeNotFoundException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static LazyTaskList indexText(FileChannel channel, int cacheSize) throws IOException,
+            DatabaseTypeNotFoundException {
+        CRC32 crc = new CRC32();
+        ByteBuffer block = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long[] offsets = new long[1024];
+        byte[] header = new byte[21];
+        int headerLength = 0;
+        boolean isInHeader = false;
+        int numOfRecords = 0;
+        long position = 0;
+        int column = 0;
+        int read;
+        while ((read = channel.read(block, position)) > 0) {
+            byte[] bytes = block.array();
+            crc.update(bytes, 0, read);
+            for (int i = 0; i < read; i++) {
+                byte current = bytes[i];
+                if (position + i == 0 && current == LAST_ID_PREFIX) {
+                    isInHeader = true;
+                }
+                if (isInHeader) {
+                    // The first line holds the largest id given to a task rather than a task.
+                    if (current == NEWLINE) {
+                        isInHeader = false;
+                    } else if (current != CARRIAGE_RETURN) {
+                        if (headerLength == header.length) {
+                            throw new IOException("Malformed header in database file");
+                        }
+                        header[headerLength++] = current;
+                    }
+                    continue;
+                }
+                if (column == 0) {
+                    if (current != 'T' && current != 'D' && current != 'E') {
+                        throw new DatabaseTypeNotFoundException();
+                    }
+                    if (numOfRecords + 1 >= offsets.length) {
+                        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                    }
+                    offsets[numOfRecords++] = position + i;
+                } else if (column == 1 && current != DELIMITER) {
+                    throw new DatabaseTypeNotFoundException();
+                }
+                column = current == NEWLINE ? 0 : column + 1;
+            }
+            position += read;
+            block.clear();
+        }
+        offsets[numOfRecords] = position;
+        long lastId = headerLength > 0 ? ChunkedTaskLoader.parseLastId(header, headerLength) : 0;
+        return new LazyTaskList(channel, StorageFormat.TEXT, offsets, numOfRecords, crc.getValue(), lastId,
+                cacheSize);
+    }
+
+    private static LazyTaskList indexBinary(FileChannel channel, int cacheSize) throws IOException,
+            DatabaseNotLoadingException, DatabaseTypeNotFoundException {
+        CheckedInputStream checked = new CheckedInputStream(
+                new BufferedInputStream(Channels.newInputStream(channel), SCAN_BUFFER_SIZE), new CRC32());
+        DataInputStream in = new DataInputStream(checked);
+        if (in.readInt() != BinaryTaskCodec.MAGIC) {
+            throw new DatabaseNotLoadingException();
+        }
+        short version = in.readShort();
+        if (version > BinaryTaskCodec.VERSION) {
+            throw new DatabaseNotLoadingException();
+        }
+        int numOfRecords = in.readInt();
+        if (numOfRecords < 0) {
+            throw new DatabaseNotLoadingException();
+        }
+        long position = BINARY_HEADER_SIZE;
+        long lastId = 0;
+        if (version >= BinaryTaskCodec.LAST_ID_VERSION) {
+            lastId = in.readLong();
+            position += Long.BYTES;
+        }
+        long[] offsets = new long[numOfRecords + 1];
+        byte[] fields = new byte[3 * Long.BYTES];
+        for (int i = 0; i < numOfRecords; i++) {
+            offsets[i] = position;
+            int length = in.readInt();
+            if (length < 1) {
+                throw new DatabaseNotLoadingException();
+            }
+            byte flags = in.readByte();
+            if (!BinaryTaskCodec.isKnownType(flags)) {
+                throw new DatabaseTypeNotFoundException();
+            }
+            int fixedLength = BinaryTaskCodec.fixedLength(flags);
+            if (length < fixedLength) {
+                throw new DatabaseNotLoadingException();
+            }
+            // The dates are checked now, so that a damaged date fails the load rather than a later read.
+            in.readFully(fields, 0, fixedLength - 1);
+            if (!BinaryTaskCodec.hasValidDates(ByteBuffer.wrap(fields, 0, fixedLength - 1), flags)) {
+                throw new DatabaseNotLoadingException();
+            }
+            skipFully(in, length - fixedLength);
+            position += Integer.BYTES + length;
+        }
+        offsets[numOfRecords] = position;
+        while (in.read() >= 0) {
+            // Anything after the last record is still part of the checksum of the file.
+        }
+        return new LazyTaskList(channel, StorageFormat.BINARY, offsets, numOfRecords,
+                checked.getChecksum().getValue(), lastId, cacheSize);
+    }
+
+    private static void skipFully(DataInputStream in, int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            int skipped = in.skipBytes(remaining);
+            if (skipped == 0) {
+                throw new EOFException();
+            }
+            remaining -= skipped;
+        }
+    }
+
+    /**
+     * @return the CRC32 checksum of the database file.
+     */
+    public long getChecksum() {
+        return this.checksum;
+    }
+
+    /**
+     * @return the largest id given to a task, as held in the header of the database file, or 0 when it was written by
+     *     a version that did not hold it.
+     */
+    public long getLastId() {
+        return this.lastId;
+    }
+
+    /**
+     * Closes the database file, such as when Duke exits. Tasks that are kept in memory can still be read.
+     *
+     * @throws IOException thrown when the file could not be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        this.channel.close();
+    }
+
+    @Override
+    public synchronized Task get(int index) {
+        this.checkIndex(index, this.size);
+        int key = this.keys[index];
+        Task kept = this.keptTasks.get(key);
+        if (kept != null) {
+            return kept;
+        }
+        Task task = this.cache.get(key);
+        if (task == null) {
+            task = this.read(key);
+            this.cache.put(key, task);
+        }
+        return task;
+    }
+
+    @Override
+    public synchronized Task set(int index, Task task) {
+        Task previous = this.get(index);
+        int key = this.keys[index];
+        this.cache.remove(key);
+        this.keptTasks.put(key, task);
+        return previous;
+    }
+
+    @Override
+    public synchronized void add(int index, Task task) {
+        this.checkIndex(index, this.size + 1);
+        if (this.size == this.keys.length) {
+            this.keys = Arrays.copyOf(this.keys, this.keys.length * 2);
+        }
+        System.arraycopy(this.keys, index, this.keys, index + 1, this.size - index);
+        int key = this.nextAddedKey--;
+        this.keys[index] = key;
+        this.keptTasks.put(key, task);
+        this.size++;
+        this.modCount++;
+    }
+
+    @Override
+    public synchronized Task remove(int index) {
+        Task removed = this.get(index);
+        int key = this.keys[index];
+        this.keptTasks.remove(key);
+        this.cache.remove(key);
+        System.arraycopy(this.keys, index + 1, this.keys, index, this.size - index - 1);
+        this.size--;
+        this.modCount++;
+        return removed;
+    }
+
+    @Override
+    public synchronized int size() {
+        return this.size;
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+    }
+
+    private Task read(int record) {
+        long start = this.recordOffsets[record];
+        int length = (int) (this.recordOffsets[record + 1] - start);
+        if (this.buffer.length < length) {
+            this.buffer = new byte[Math.max(length, this.buffer.length * 2)];
+        }
+        try {
+            ByteBuffer data = ByteBuffer.wrap(this.buffer, 0, length);
+            while (data.hasRemaining()) {
+                if (this.channel.read(data, start + data.position()) < 0) {
+                    throw new IOException("Database file was truncated");
+                }
+            }
+            if (this.format == StorageFormat.BINARY) {
+                data.position(Integer.BYTES);
+                return Database.withDefaultId(BinaryTaskCodec.decodeRecord(data, length, new byte[length]), record);
+            }
+            while (length > 0 && (this.buffer[length - 1] == NEWLINE || this.buffer[length - 1] == CARRIAGE_RETURN)) {
+                length--;
+            }
+            return Database.withDefaultId(this.lineParser.parseLine(this.buffer, length), record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (DatabaseTypeNotFoundException e) {
+            throw new IllegalStateException("Type of task was checked when the file was opened", e);
+        }
+    }
+}
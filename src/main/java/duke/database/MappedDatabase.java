@@ -0,0 +1,63 @@
+package duke.database;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.exception.databaseexceptions.DatabaseNotLoadingException;
+import duke.exception.databaseexceptions.DatabaseTypeNotFoundException;
+import duke.task.Task;
+
+/**
+ * Represents the database storage for Duke that writes binary snapshots straight into a memory-mapped file, see
+ * {@link MappedTaskStore}, instead of replacing the file on every save.
+ */
+public class MappedDatabase extends Database {
+
+    /** Name of the storage engine of this database. */
+    public static final String NAME = "mapped";
+
+    private final MappedTaskStore mappedStore;
+
+    /**
+     * Represents the database storage for Duke, saving tasks into a memory-mapped file.
+     *
+     * @param filePath the path for which the database file is stored in
+     */
+    public MappedDatabase(String filePath) {
+        super(filePath);
+        this.mappedStore = new MappedTaskStore(this.getPath(), this.getJournal()::reset);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    protected ArrayList<Task> read() throws IOException, DatabaseNotLoadingException, DatabaseTypeNotFoundException {
+        ArrayList<Task> tasks = this.mappedStore.load();
+        this.keepLastId(this.mappedStore.getLastId());
+        this.getJournal().replay(tasks, this.mappedStore.getChecksum());
+        return tasks;
+    }
+
+    @Override
+    protected boolean isCreatedOnLoad() {
+        return true;
+    }
+
+    @Override
+    protected void close() throws IOException {
+        this.mappedStore.close();
+    }
+
+    /**
+     * Encodes the tasks into binary records, which are then written into the mapping.
+     */
+    @Override
+    public StorageWrite prepareSave(List<Task> tasks) throws IOException {
+        byte[] bytes = new BinaryTaskCodec().encode(tasks, this.keepLastId(tasks));
+        return () -> this.mappedStore.write(bytes);
+    }
+}
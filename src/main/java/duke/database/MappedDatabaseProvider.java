@@ -0,0 +1,19 @@
+package duke.database;
+
+import java.util.List;
+
+/**
+ * Provides a {@link MappedDatabase} under the name "mapped".
+ */
+public class MappedDatabaseProvider implements StorageEngineProvider {
+
+    @Override
+    public List<String> getNames() {
+        return List.of(MappedDatabase.NAME);
+    }
+
+    @Override
+    public StorageEngine create(String name, String filePath) {
+        return new MappedDatabase(filePath);
+    }
+}
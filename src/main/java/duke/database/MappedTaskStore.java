@@ -0,0 +1,258 @@
+package duke.database;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+import duke.exception.databaseexceptions.DatabaseNotLoadingException;
+import duke.exception.databaseexceptions.DatabaseTypeNotFoundException;
+import duke.task.Task;
+
+/**
+ * Represents a store for the tasks of Duke that keeps the database file memory-mapped, writing each snapshot straight
+ * into the mapping instead of through a temporary file.
+ *
+ * The file starts with the magic number and the format version, followed by two header slots. Each slot holds a
+ * generation, along with the offset, length and CRC32 checksum of a snapshot in the binary format. A snapshot is always
+ * written into space that the current snapshot does not use, either before it or after it, and forced to disk before
+ * the slot that is not current is pointed at it. A crash therefore leaves the current snapshot untouched, and a torn
+ * slot fails its checksum so that the other slot is used instead.
+ */
+public class MappedTaskStore {
+
+    /** "DUKM" in ASCII. */
+    public static final int MAGIC = 0x44554B4D;
+    public static final short VERSION = 1;
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int SLOT_SIZE = 32;
+    private static final int FIRST_SLOT = 8;
+    /** Snapshots never start before the first page, which is left to the header. */
+    private static final int DATA_START = PAGE_SIZE;
+
+    private final Path path;
+    private final SnapshotWriter.CommitListener listener;
+    private FileChannel channel;
+    private MappedByteBuffer mapping;
+
+    private long generation;
+    private long snapshotOffset = DATA_START;
+    private int snapshotLength;
+    private long checksum;
+    private long lastId;
+
+    /**
+     * Represents a memory-mapped store for the tasks of Duke.
+     *
+     * @param path path of the database file.
+     * @param listener called after each snapshot has been written.
+     */
+    public MappedTaskStore(Path path, SnapshotWriter.CommitListener listener) {
+        this.path = path;
+        this.listener = listener;
+    }
+
+    /**
+     * Checks whether the file is a memory-mapped store.
+     *
+     * @param path path of the database file.
+     * @return true if the file starts with the magic number of a memory-mapped store.
+     * @throws IOException thrown when the file could not be read.
+     */
+    public static boolean isMapped(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // Keep reading until the magic number is filled or the file ends.
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Maps the store and loads every task in its current snapshot.
+     *
+     * @return an ArrayList of the tasks in the order they are stored in.
+     * @throws IOException thrown when the store could not be read.
+     * @throws DatabaseNotLoadingException thrown when neither slot holds a whole snapshot, or the store is written by
+     *     a newer version of Duke.
+     * @throws DatabaseTypeNotFoundException thrown when one of the tasks stored has the wrong type.
+     */
+    public synchronized ArrayList<Task> load() throws IOException, DatabaseNotLoadingException,
+            DatabaseTypeNotFoundException {
+        this.close();
+        try {
+            this.map(FileChannel.open(this.path, StandardOpenOption.READ, StandardOpenOption.WRITE));
+            if (this.mapping.limit() < DATA_START || this.mapping.getInt(0) != MAGIC
+                    || this.mapping.getShort(Integer.BYTES) > VERSION) {
+                throw new DatabaseNotLoadingException();
+            }
+            int slot = this.currentSlot();
+            if (slot < 0) {
+                throw new DatabaseNotLoadingException();
+            }
+            int position = slotPosition(slot);
+            this.generation = this.mapping.getLong(position);
+            this.snapshotOffset = this.mapping.getLong(position + Long.BYTES);
+            this.snapshotLength = this.mapping.getInt(position + 2 * Long.BYTES);
+            this.checksum = Integer.toUnsignedLong(this.mapping.getInt(position + 2 * Long.BYTES + Integer.BYTES));
+            ByteBuffer snapshot = this.snapshot(this.snapshotOffset, this.snapshotLength);
+            BinaryTaskCodec codec = new BinaryTaskCodec();
+            ArrayList<Task> tasks = codec.decode(snapshot);
+            this.lastId = codec.getLastId();
+            return tasks;
+        } catch (IOException | DatabaseNotLoadingException | DatabaseTypeNotFoundException e) {
+            this.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Picks the slot with the newest generation whose snapshot matches its checksum.
+     *
+     * @return the index of the slot, or -1 when neither slot holds a whole snapshot.
+     */
+    private int currentSlot() {
+        int current = -1;
+        long currentGeneration = -1;
+        for (int slot = 0; slot < 2; slot++) {
+            int position = slotPosition(slot);
+            long slotGeneration = this.mapping.getLong(position);
+            long offset = this.mapping.getLong(position + Long.BYTES);
+            int length = this.mapping.getInt(position + 2 * Long.BYTES);
+            if (slotGeneration <= currentGeneration || offset < DATA_START || length < 0
+                    || offset + length > this.mapping.limit()) {
+                continue;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(this.snapshot(offset, length));
+            if ((int) crc.getValue() == this.mapping.getInt(position + 2 * Long.BYTES + Integer.BYTES)) {
+                current = slot;
+                currentGeneration = slotGeneration;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @return the largest id given to a task, as held in the header of the current snapshot.
+     */
+    public synchronized long getLastId() {
+        return this.lastId;
+    }
+
+    /**
+     * @return the CRC32 checksum of the current snapshot.
+     */
+    public synchronized long getChecksum() {
+        return this.checksum;
+    }
+
+    /**
+     * Writes a snapshot in the binary format into space the current snapshot does not use, then points the other
+     * slot at it. A file that is not a memory-mapped store yet is replaced atomically by a new store holding the
+     * snapshot.
+     *
+     * @param snapshot the tasks encoded in the binary format.
+     * @throws IOException thrown when the snapshot could not be written.
+     */
+    public synchronized void write(byte[] snapshot) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(snapshot);
+        if (this.mapping == null) {
+            this.create(snapshot, crc.getValue());
+        } else {
+            long offset = snapshot.length <= this.snapshotOffset - DATA_START
+                    ? DATA_START
+                    : roundUp(this.snapshotOffset + this.snapshotLength);
+            if (offset + snapshot.length > this.mapping.limit()) {
+                this.map(this.channel, Math.max(offset + snapshot.length, this.mapping.limit() * 3L / 2));
+            }
+            ByteBuffer target = this.mapping.duplicate();
+            target.position((int) offset);
+            target.put(snapshot);
+            this.mapping.force();
+
+            this.writeSlot(this.mapping, this.generation + 1, offset, snapshot.length, crc.getValue());
+            this.mapping.force();
+            this.snapshotOffset = offset;
+        }
+        this.generation++;
+        this.snapshotLength = snapshot.length;
+        this.checksum = crc.getValue();
+        this.listener.onCommit(this.checksum);
+    }
+
+    /**
+     * Replaces the database file with a new store through a temporary file, so that a file in another format is
+     * never left half overwritten, and then maps it.
+     */
+    private void create(byte[] snapshot, long snapshotChecksum) throws IOException {
+        ByteBuffer image = ByteBuffer.allocate(DATA_START + snapshot.length);
+        image.putInt(MAGIC).putShort(VERSION);
+        this.writeSlot(image, this.generation + 1, DATA_START, snapshot.length, snapshotChecksum);
+        image.position(DATA_START);
+        image.put(snapshot);
+        new SnapshotWriter(this.path, checksum -> { }).commit(image.array());
+        this.map(FileChannel.open(this.path, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        this.snapshotOffset = DATA_START;
+    }
+
+    private void writeSlot(ByteBuffer header, long slotGeneration, long offset, int length, long snapshotChecksum) {
+        int position = slotPosition((int) (slotGeneration % 2));
+        header.putLong(position, slotGeneration);
+        header.putLong(position + Long.BYTES, offset);
+        header.putInt(position + 2 * Long.BYTES, length);
+        header.putInt(position + 2 * Long.BYTES + Integer.BYTES, (int) snapshotChecksum);
+    }
+
+    private void map(FileChannel fileChannel) throws IOException {
+        this.channel = fileChannel;
+        if (fileChannel.size() > Integer.MAX_VALUE) {
+            throw new IOException("Database file is too large to be mapped");
+        }
+        this.mapping = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, fileChannel.size());
+    }
+
+    /**
+     * Maps a larger part of the file, which grows the file to match.
+     */
+    private void map(FileChannel fileChannel, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Database file is too large to be mapped");
+        }
+        this.mapping = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, roundUp(size));
+    }
+
+    private ByteBuffer snapshot(long offset, int length) {
+        ByteBuffer snapshot = this.mapping.duplicate();
+        snapshot.position((int) offset).limit((int) offset + length);
+        return snapshot.slice();
+    }
+
+    /**
+     * Closes the store. The mapping itself is released once it is garbage collected.
+     *
+     * @throws IOException thrown when the file could not be closed.
+     */
+    public synchronized void close() throws IOException {
+        this.mapping = null;
+        if (this.channel != null) {
+            this.channel.close();
+            this.channel = null;
+        }
+    }
+
+    private static int slotPosition(int slot) {
+        return FIRST_SLOT + slot * SLOT_SIZE;
+    }
+
+    private static long roundUp(long size) {
+        return (size + PAGE_SIZE - 1) / PAGE_SIZE * PAGE_SIZE;
+    }
+}
@@ -0,0 +1,175 @@
+package duke.database;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.exception.databaseexceptions.DatabaseNotLoadingException;
+import duke.exception.databaseexceptions.DatabaseNotUpdatingException;
+import duke.exception.databaseexceptions.DatabaseTypeNotFoundException;
+import duke.task.Task;
+
+/**
+ * Represents the database storage for Duke that keeps the tasks in fixed-size slots, see {@link PagedTaskStore}. There
+ * is no snapshot or journal, as each change is written in place into the slot of its task instead. While the tasks are
+ * saved in the background, the changes are written in place by the background thread, in the order they were made.
+ */
+public class PagedDatabase extends Database {
+
+    /** Name of the storage engine of this database. */
+    public static final String NAME = "paged";
+
+    private final PagedTaskStore pagedStore;
+
+    /**
+     * Represents the database storage for Duke, saving tasks in the paged store.
+     *
+     * @param filePath the path for which the database file is stored in
+     */
+    public PagedDatabase(String filePath) {
+        super(filePath);
+        this.pagedStore = new PagedTaskStore(this.getPath());
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    protected ArrayList<Task> read() throws IOException, DatabaseNotLoadingException, DatabaseTypeNotFoundException {
+        ArrayList<Task> tasks = this.pagedStore.load();
+        this.keepLastId(this.pagedStore.getLastId());
+        return tasks;
+    }
+
+    @Override
+    protected boolean isCreatedOnLoad() {
+        return true;
+    }
+
+    @Override
+    protected void close() throws IOException {
+        this.pagedStore.close();
+    }
+
+    @Override
+    protected void discard() throws IOException {
+        this.pagedStore.discard();
+    }
+
+    /**
+     * Copies the tasks to be saved, as every change is already written in place. The store is only rewritten when it
+     * was not loaded from disk, no longer holds as many tasks as the taskList or too many of its slots belong to
+     * deleted tasks, which is only known once the changes made before the save have been written.
+     */
+    @Override
+    public StorageWrite prepareSave(List<Task> tasks) {
+        List<Task> savedTasks = new ArrayList<>(tasks);
+        long lastId = this.keepLastId(savedTasks);
+        return () -> {
+            if (this.pagedStore.isOpen() && this.pagedStore.size() == savedTasks.size()) {
+                this.pagedStore.compactIfFragmented(savedTasks);
+            } else {
+                this.pagedStore.rewrite(savedTasks, lastId);
+            }
+        };
+    }
+
+    /**
+     * Writes a newly added task in place into the paged store.
+     *
+     * @param task the task that was added to the end of the taskList.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    @Override
+    public void recordAdd(Task task) throws DatabaseNotUpdatingException {
+        this.keepLastId(task.getId());
+        this.writeInOrder(() -> this.pagedStore.add(task));
+    }
+
+    /**
+     * Writes a task being marked as complete in place into the paged store.
+     *
+     * @param taskNumber identifier of the task.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    @Override
+    public void recordMark(int taskNumber) throws DatabaseNotUpdatingException {
+        this.writeInOrder(() -> this.pagedStore.setCompleted(taskNumber, true));
+    }
+
+    /**
+     * Writes a task being marked as incomplete in place into the paged store.
+     *
+     * @param taskNumber identifier of the task.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    @Override
+    public void recordUnmark(int taskNumber) throws DatabaseNotUpdatingException {
+        this.writeInOrder(() -> this.pagedStore.setCompleted(taskNumber, false));
+    }
+
+    /**
+     * Writes many tasks being marked as complete or incomplete in place into the paged store, forcing them to disk
+     * together.
+     *
+     * @param taskNumbers the distinct identifiers of the tasks, in ascending order.
+     * @param isCompleted true if the tasks were marked as complete, false if marked as incomplete.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    @Override
+    public void recordMarkAll(int[] taskNumbers, boolean isCompleted) throws DatabaseNotUpdatingException {
+        int[] marked = taskNumbers.clone();
+        this.writeInOrder(() -> this.pagedStore.setCompletedAll(marked, isCompleted));
+    }
+
+    /**
+     * Writes the new details of an edited task in place into the paged store.
+     *
+     * @param taskNumber identifier of the task.
+     * @param details new details of the task.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    @Override
+    public void recordEdit(int taskNumber, String details) throws DatabaseNotUpdatingException {
+        this.writeInOrder(() -> this.pagedStore.setDetails(taskNumber, details));
+    }
+
+    /**
+     * Frees the slot of a deleted task in the paged store.
+     *
+     * @param taskNumber identifier of the task.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    @Override
+    public void recordDelete(int taskNumber) throws DatabaseNotUpdatingException {
+        this.writeInOrder(() -> this.pagedStore.delete(taskNumber));
+    }
+
+    /**
+     * Frees the slots of many deleted tasks in the paged store, starting from the last one, forcing them to disk
+     * together.
+     *
+     * @param taskNumbers the distinct identifiers of the tasks before any of them were deleted, in ascending order.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    @Override
+    public void recordDeleteAll(int[] taskNumbers) throws DatabaseNotUpdatingException {
+        int[] deleted = taskNumbers.clone();
+        this.writeInOrder(() -> this.pagedStore.deleteAll(deleted));
+    }
+
+    /**
+     * Records a change to many tasks at once by rewriting the paged store.
+     *
+     * @param tasks the tasks currently stored in the taskList for Duke.
+     * @throws DatabaseNotUpdatingException thrown when there is an error with updating the database file.
+     */
+    @Override
+    public void recordRewrite(List<Task> tasks) throws DatabaseNotUpdatingException {
+        List<Task> savedTasks = new ArrayList<>(tasks);
+        long lastId = this.keepLastId(savedTasks);
+        this.writeInOrder(() -> this.pagedStore.rewrite(savedTasks, lastId));
+    }
+}
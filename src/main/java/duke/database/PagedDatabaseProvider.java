@@ -0,0 +1,19 @@
+package duke.database;
+
+import java.util.List;
+
+/**
+ * Provides a {@link PagedDatabase} under the name "paged".
+ */
+public class PagedDatabaseProvider implements StorageEngineProvider {
+
+    @Override
+    public List<String> getNames() {
+        return List.of(PagedDatabase.NAME);
+    }
+
+    @Override
+    public StorageEngine create(String name, String filePath) {
+        return new PagedDatabase(filePath);
+    }
+}
@@ -0,0 +1,629 @@
+package duke.database;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import duke.exception.databaseexceptions.DatabaseNotLoadingException;
+import duke.exception.databaseexceptions.DatabaseTypeNotFoundException;
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Task;
+import duke.task.ToDo;
+
+/**
+ * Represents a page-oriented store for the tasks of Duke, where a single task can be changed without rewriting the
+ * others.
+ *
+ * The slot file starts with a header slot holding the magic number, the format version, the generation of the
+ * details file and the largest id given to a task so far, followed by one fixed-size slot per task. The largest id is
+ * kept even once its task is deleted, and reads as 0 in stores written before it was kept. A slot holds the flags of
+ * the task (whether it is in use, its completion and its type), its dates in epoch seconds, the offset and length of
+ * its details in the details file, and its id. Slots of version 1 are shorter as they have no id, and such a store is
+ * rewritten as soon as it is loaded. Slots are only ever appended, so their order is the order of the tasks, and a
+ * deleted task leaves a cleared slot behind until the store is rewritten.
+ *
+ * Marking a task is a single positioned write of its flag byte. Editing the details writes them into free space in the
+ * details file before pointing the slot at them, so a crash leaves either the old or the new details in place. Free
+ * space in the details file is tracked in memory, rebuilt from the slots whenever the store is loaded.
+ */
+public class PagedTaskStore {
+
+    /** "DUKP" in ASCII. */
+    public static final int MAGIC = 0x44554B50;
+    public static final short VERSION = 2;
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int SLOT_SIZE = 40;
+    private static final int LEGACY_SLOT_SIZE = 32;
+    private static final int GRANULE = 8;
+    private static final int IN_USE_FLAG = 0x40;
+    private static final int COMPLETED_FLAG = 0x80;
+    private static final int TYPE_MASK = 0x03;
+    private static final int TODO = 0;
+    private static final int DEADLINE = 1;
+    private static final int EVENT = 2;
+    private static final int DETAILS_FIELD = 4;
+    private static final int DATES_FIELD = 16;
+    private static final int ID_FIELD = 32;
+    private static final int LAST_ID_FIELD = 16;
+
+    private final Path path;
+    private FileChannel slotChannel;
+    private FileChannel detailsChannel;
+    private long generation;
+    private long lastId;
+    /** true when the store was loaded from slots without ids, which are never written to. */
+    private boolean hasLegacySlots;
+
+    /** Slot of each task, in the order of the tasks. */
+    private int[] slotOfTask = new int[0];
+    private int numOfTasks;
+    private int numOfSlots;
+    private byte[] flags = new byte[0];
+    private long[] detailsOffsets = new long[0];
+    private int[] detailsLengths = new int[0];
+
+    /** Free extents of the details file, from their offset to their length. */
+    private final TreeMap<Long, Long> freeSpace = new TreeMap<>();
+    private long detailsEnd;
+
+    /**
+     * Represents a page-oriented store for the tasks of Duke.
+     *
+     * @param path path of the slot file. The details file is kept next to it.
+     */
+    public PagedTaskStore(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Checks whether the file is a paged store.
+     *
+     * @param path path of the database file.
+     * @return true if the file starts with the magic number of a paged store.
+     * @throws IOException thrown when the file could not be read.
+     */
+    public static boolean isPaged(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // Keep reading until the magic number is filled or the file ends.
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * @return true once the store has been loaded or rewritten, after which tasks can be changed in place.
+     */
+    public boolean isOpen() {
+        return this.slotChannel != null;
+    }
+
+    /**
+     * @return the largest id given to a task in the store, which can belong to a task that has since been deleted.
+     */
+    public long getLastId() {
+        return this.lastId;
+    }
+
+    /**
+     * @return the number of tasks in the store.
+     */
+    public int size() {
+        return this.numOfTasks;
+    }
+
+    /**
+     * Opens the store and loads every task in it.
+     *
+     * @return an ArrayList of the tasks in the order they are stored in.
+     * @throws IOException thrown when the store could not be read.
+     * @throws DatabaseNotLoadingException thrown when the store is damaged or written by a newer version of Duke.
+     * @throws DatabaseTypeNotFoundException thrown when one of the tasks stored has the wrong type.
+     */
+    public ArrayList<Task> load() throws IOException, DatabaseNotLoadingException, DatabaseTypeNotFoundException {
+        this.close();
+        try {
+            ArrayList<Task> tasks = this.read();
+            if (this.hasLegacySlots) {
+                this.rewrite(tasks, this.lastId);
+            }
+            return tasks;
+        } catch (IOException | DatabaseNotLoadingException | DatabaseTypeNotFoundException e) {
+            this.close();
+            throw e;
+        }
+    }
+
+    private ArrayList<Task> read() throws IOException, DatabaseNotLoadingException, DatabaseTypeNotFoundException {
+        // Read rather than mapped, as a mapping keeps the file open past close() on some platforms.
+        ByteBuffer data = BinaryTaskCodec.readFully(this.path);
+        if (data.limit() < LEGACY_SLOT_SIZE || data.getInt(0) != MAGIC || data.getShort(4) > VERSION) {
+            throw new DatabaseNotLoadingException();
+        }
+        this.hasLegacySlots = data.getShort(4) < VERSION;
+        int slotSize = this.hasLegacySlots ? LEGACY_SLOT_SIZE : SLOT_SIZE;
+        this.generation = data.getLong(8);
+        this.lastId = data.getLong(LAST_ID_FIELD);
+        ByteBuffer details = BinaryTaskCodec.readFully(this.detailsPath(this.generation));
+        this.open(this.detailsPath(this.generation));
+
+        int capacity = data.limit() / slotSize - 1;
+        this.reset(capacity);
+        ArrayList<Task> tasks = new ArrayList<>();
+        byte[] buffer = new byte[256];
+        for (int slot = 0; slot < capacity; slot++) {
+            int position = slotSize * (slot + 1);
+            byte flags = data.get(position);
+            if ((flags & IN_USE_FLAG) == 0) {
+                continue;
+            }
+            int length = data.getInt(position + DETAILS_FIELD);
+            long offset = data.getLong(position + DETAILS_FIELD + Integer.BYTES);
+            if (offset < 0 || length < 0 || offset + length > details.limit()) {
+                throw new DatabaseNotLoadingException();
+            }
+            if (buffer.length < length) {
+                buffer = new byte[length];
+            }
+            details.position((int) offset);
+            details.get(buffer, 0, length);
+            String taskDetails = new String(buffer, 0, length, StandardCharsets.UTF_8);
+            Task task;
+            try {
+                task = toTask(flags, taskDetails, data.getLong(position + DATES_FIELD),
+                        data.getLong(position + DATES_FIELD + Long.BYTES));
+            } catch (DateTimeException e) {
+                throw new DatabaseNotLoadingException();
+            }
+            long id = slotSize == SLOT_SIZE ? data.getLong(position + ID_FIELD) : 0;
+            if (id > 0) {
+                task = task.withId(id);
+            }
+            task = Database.withDefaultId(task, this.numOfTasks);
+            this.lastId = Math.max(this.lastId, task.getId());
+            tasks.add(task);
+
+            this.slotOfTask[this.numOfTasks++] = slot;
+            this.flags[slot] = flags;
+            this.detailsOffsets[slot] = offset;
+            this.detailsLengths[slot] = length;
+            this.numOfSlots = slot + 1;
+        }
+        this.rebuildFreeSpace();
+        return tasks;
+    }
+
+    /**
+     * Replaces the whole store with the given tasks, leaving no cleared slots or free space behind.
+     *
+     * The new details file is written under a new generation before the slot file pointing at it is renamed into
+     * place, so a crash during the rewrite leaves the old store untouched. The files of the store are closed while
+     * the slot file is replaced, as some platforms cannot replace a file that is still open.
+     *
+     * @param tasks the tasks to be stored.
+     * @param lastId the largest id given to a task so far, kept in the header along with any larger id in the store.
+     * @throws IOException thrown when the store could not be written.
+     */
+    public void rewrite(List<Task> tasks, long lastId) throws IOException {
+        long newGeneration = this.generation + 1;
+        long newLastId = Math.max(this.lastId, lastId);
+        if (!tasks.isEmpty()) {
+            newLastId = Math.max(newLastId, tasks.get(tasks.size() - 1).getId());
+        }
+        ByteBuffer slots = ByteBuffer.allocate(slotPosition(tasks.size()));
+        ByteBuffer details = ByteBuffer.allocate(PAGE_SIZE);
+        int[] lengths = new int[tasks.size()];
+        slots.putInt(MAGIC).putShort(VERSION).putShort((short) 0).putLong(newGeneration).putLong(newLastId);
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            byte[] taskDetails = task.getDetailsUtf8();
+            int size = (int) roundUp(taskDetails.length);
+            if (details.remaining() < size) {
+                details = grow(details, size);
+            }
+            slots.position(slotPosition(i));
+            this.writeSlot(slots, task, details.position(), taskDetails.length);
+            details.put(taskDetails).position(details.position() + size - taskDetails.length);
+            lengths[i] = taskDetails.length;
+        }
+
+        Path newDetailsPath = this.detailsPath(newGeneration);
+        try (FileChannel channel = FileChannel.open(newDetailsPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            details.flip();
+            while (details.hasRemaining()) {
+                channel.write(details);
+            }
+            channel.force(true);
+        }
+        Path oldDetailsPath = this.detailsPath(this.generation);
+        boolean wasOpen = this.isOpen();
+        this.close();
+        try {
+            new SnapshotWriter(this.path, checksum -> { }).commit(slots.array());
+        } catch (IOException e) {
+            Files.deleteIfExists(newDetailsPath);
+            if (wasOpen) {
+                this.open(oldDetailsPath);
+            }
+            throw e;
+        }
+
+        Files.deleteIfExists(oldDetailsPath);
+        this.generation = newGeneration;
+        this.lastId = newLastId;
+        this.hasLegacySlots = false;
+        this.open(newDetailsPath);
+
+        this.reset(tasks.size());
+        long offset = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            this.slotOfTask[i] = i;
+            this.flags[i] = flagsOf(tasks.get(i));
+            this.detailsOffsets[i] = offset;
+            this.detailsLengths[i] = lengths[i];
+            offset += roundUp(lengths[i]);
+        }
+        this.numOfTasks = tasks.size();
+        this.numOfSlots = tasks.size();
+        this.rebuildFreeSpace();
+    }
+
+    /**
+     * Rewrites the store if more than half of its slots belong to deleted tasks, otherwise only forces it to disk.
+     *
+     * @param tasks the tasks currently in the store.
+     * @throws IOException thrown when the store could not be written.
+     */
+    public void compactIfFragmented(List<Task> tasks) throws IOException {
+        if (this.numOfSlots - this.numOfTasks > this.numOfTasks) {
+            this.rewrite(tasks, this.lastId);
+            return;
+        }
+        this.slotChannel.force(false);
+        this.detailsChannel.force(false);
+    }
+
+    /**
+     * Appends a task to the end of the store, along with its id as the largest id given out so far.
+     *
+     * @param task the task that was added.
+     * @throws IOException thrown when the task could not be written.
+     */
+    public void add(Task task) throws IOException {
+        byte[] details = task.getDetailsUtf8();
+        long offset = this.writeDetails(details);
+        this.ensureCapacity(this.numOfSlots + 1);
+        int slot = this.numOfSlots;
+
+        ByteBuffer data = ByteBuffer.allocate(SLOT_SIZE);
+        this.writeSlot(data, task, offset, details.length);
+        this.writeFully(this.slotChannel, data.flip(), slotPosition(slot));
+        if (task.getId() > this.lastId) {
+            ByteBuffer lastIdField = ByteBuffer.allocate(Long.BYTES).putLong(0, task.getId());
+            this.writeFully(this.slotChannel, lastIdField, LAST_ID_FIELD);
+            this.lastId = task.getId();
+        }
+        this.slotChannel.force(false);
+
+        this.slotOfTask[this.numOfTasks++] = slot;
+        this.flags[slot] = flagsOf(task);
+        this.detailsOffsets[slot] = offset;
+        this.detailsLengths[slot] = details.length;
+        this.numOfSlots++;
+    }
+
+    /**
+     * Changes the completion of a task with a single write of its flag byte.
+     *
+     * @param taskNumber identifier of the task.
+     * @param isCompleted true when the task is completed, false if not.
+     * @throws IOException thrown when the task could not be written.
+     */
+    public void setCompleted(int taskNumber, boolean isCompleted) throws IOException {
+        this.writeCompleted(taskNumber, isCompleted);
+        this.slotChannel.force(false);
+    }
+
+    /**
+     * Changes the completion of many tasks with a write of each of their flag bytes, which are forced to disk
+     * together.
+     *
+     * @param taskNumbers identifiers of the tasks.
+     * @param isCompleted true when the tasks are completed, false if not.
+     * @throws IOException thrown when the tasks could not be written.
+     */
+    public void setCompletedAll(int[] taskNumbers, boolean isCompleted) throws IOException {
+        for (int taskNumber : taskNumbers) {
+            this.writeCompleted(taskNumber, isCompleted);
+        }
+        this.slotChannel.force(false);
+    }
+
+    private void writeCompleted(int taskNumber, boolean isCompleted) throws IOException {
+        int slot = this.slotOf(taskNumber);
+        byte newFlags = (byte) (isCompleted ? this.flags[slot] | COMPLETED_FLAG : this.flags[slot] & ~COMPLETED_FLAG);
+        this.writeFully(this.slotChannel, ByteBuffer.allocate(1).put(0, newFlags), slotPosition(slot));
+        this.flags[slot] = newFlags;
+    }
+
+    /**
+     * Changes the details of a task, reusing free space in the details file where possible.
+     *
+     * @param taskNumber identifier of the task.
+     * @param details new details of the task.
+     * @throws IOException thrown when the task could not be written.
+     */
+    public void setDetails(int taskNumber, String details) throws IOException {
+        int slot = this.slotOf(taskNumber);
+        byte[] data = details.getBytes(StandardCharsets.UTF_8);
+        long offset = this.writeDetails(data);
+
+        ByteBuffer field = ByteBuffer.allocate(Integer.BYTES + Long.BYTES).putInt(data.length).putLong(offset);
+        this.writeFully(this.slotChannel, field.flip(), slotPosition(slot) + DETAILS_FIELD);
+        this.slotChannel.force(false);
+
+        this.free(this.detailsOffsets[slot], this.detailsLengths[slot]);
+        this.detailsOffsets[slot] = offset;
+        this.detailsLengths[slot] = data.length;
+    }
+
+    /**
+     * Deletes a task by clearing its slot.
+     *
+     * @param taskNumber identifier of the task.
+     * @throws IOException thrown when the slot could not be cleared.
+     */
+    public void delete(int taskNumber) throws IOException {
+        this.clearSlot(taskNumber);
+        this.slotChannel.force(false);
+    }
+
+    /**
+     * Deletes many tasks by clearing each of their slots, which are forced to disk together. The tasks are deleted
+     * starting from the last one, so that the identifiers of the others stay the same.
+     *
+     * @param taskNumbers the distinct identifiers of the tasks before any of them were deleted, in ascending order.
+     * @throws IOException thrown when the slots could not be cleared.
+     */
+    public void deleteAll(int[] taskNumbers) throws IOException {
+        for (int i = taskNumbers.length - 1; i >= 0; i--) {
+            this.clearSlot(taskNumbers[i]);
+        }
+        this.slotChannel.force(false);
+    }
+
+    private void clearSlot(int taskNumber) throws IOException {
+        int slot = this.slotOf(taskNumber);
+        this.writeFully(this.slotChannel, ByteBuffer.allocate(1), slotPosition(slot));
+
+        this.free(this.detailsOffsets[slot], this.detailsLengths[slot]);
+        System.arraycopy(this.slotOfTask, taskNumber, this.slotOfTask, taskNumber - 1, this.numOfTasks - taskNumber);
+        this.numOfTasks--;
+    }
+
+    private void open(Path detailsPath) throws IOException {
+        this.slotChannel = FileChannel.open(this.path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.detailsChannel = FileChannel.open(detailsPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Closes the files of the store.
+     *
+     * @throws IOException thrown when the files could not be closed.
+     */
+    public void close() throws IOException {
+        if (this.slotChannel != null) {
+            this.slotChannel.close();
+            this.slotChannel = null;
+        }
+        if (this.detailsChannel != null) {
+            this.detailsChannel.close();
+            this.detailsChannel = null;
+        }
+    }
+
+    /**
+     * Closes the store and deletes its details file, once the tasks have been saved in another format.
+     *
+     * @throws IOException thrown when the details file could not be deleted.
+     */
+    public void discard() throws IOException {
+        this.close();
+        Files.deleteIfExists(this.detailsPath(this.generation));
+    }
+
+    private int slotOf(int taskNumber) throws IOException {
+        if (this.slotChannel == null) {
+            throw new IOException("Paged store is not open");
+        }
+        return this.slotOfTask[taskNumber - 1];
+    }
+
+    private long writeDetails(byte[] details) throws IOException {
+        if (this.detailsChannel == null) {
+            throw new IOException("Paged store is not open");
+        }
+        long offset = this.allocate(details.length);
+        this.writeFully(this.detailsChannel, ByteBuffer.wrap(details), offset);
+        this.detailsChannel.force(false);
+        return offset;
+    }
+
+    private void writeSlot(ByteBuffer slots, Task task, long detailsOffset, int detailsLength) {
+        slots.put(flagsOf(task)).put(new byte[3]).putInt(detailsLength).putLong(detailsOffset);
+        switch (task.getType()) {
+        case DEADLINE:
+            slots.putLong(toEpochSecond(((Deadline) task).getDeadline())).putLong(0);
+            break;
+        case EVENT:
+            slots.putLong(toEpochSecond(((Event) task).getStartDateTime()))
+                    .putLong(toEpochSecond(((Event) task).getEndDateTime()));
+            break;
+        default:
+            slots.putLong(0).putLong(0);
+        }
+        slots.putLong(task.getId());
+    }
+
+    private void writeFully(FileChannel channel, ByteBuffer data, long position) throws IOException {
+        while (data.hasRemaining()) {
+            position += channel.write(data, position);
+        }
+    }
+
+    /** Finds the first free extent that fits, growing the details file by whole pages when none does. */
+    private long allocate(int length) {
+        long size = roundUp(length);
+        for (Map.Entry<Long, Long> extent : this.freeSpace.entrySet()) {
+            if (extent.getValue() >= size) {
+                this.freeSpace.remove(extent.getKey());
+                if (extent.getValue() > size) {
+                    this.freeSpace.put(extent.getKey() + size, extent.getValue() - size);
+                }
+                return extent.getKey();
+            }
+        }
+        long offset = this.detailsEnd;
+        long pageEnd = (offset + size + PAGE_SIZE - 1) / PAGE_SIZE * PAGE_SIZE;
+        this.detailsEnd = pageEnd;
+        if (pageEnd > offset + size) {
+            this.free(offset + size, pageEnd - offset - size);
+        }
+        return offset;
+    }
+
+    /** Returns an extent to the free space, merging it with the free extents on either side. */
+    private void free(long offset, long length) {
+        long size = roundUp(length);
+        if (size == 0) {
+            return;
+        }
+        Map.Entry<Long, Long> before = this.freeSpace.floorEntry(offset);
+        if (before != null && before.getKey() + before.getValue() == offset) {
+            offset = before.getKey();
+            size += before.getValue();
+            this.freeSpace.remove(before.getKey());
+        }
+        Long after = this.freeSpace.get(offset + size);
+        if (after != null) {
+            this.freeSpace.remove(offset + size);
+            size += after;
+        }
+        this.freeSpace.put(offset, size);
+    }
+
+    /** Treats every gap between the details of the tasks in use as free space. */
+    private void rebuildFreeSpace() {
+        this.freeSpace.clear();
+        ArrayList<long[]> extents = new ArrayList<>(this.numOfTasks);
+        for (int i = 0; i < this.numOfTasks; i++) {
+            int slot = this.slotOfTask[i];
+            extents.add(new long[] {this.detailsOffsets[slot], roundUp(this.detailsLengths[slot])});
+        }
+        extents.sort((first, second) -> Long.compare(first[0], second[0]));
+        long end = 0;
+        for (long[] extent : extents) {
+            if (extent[0] > end) {
+                this.freeSpace.put(end, extent[0] - end);
+            }
+            end = Math.max(end, extent[0] + extent[1]);
+        }
+        long pageEnd = (end + PAGE_SIZE - 1) / PAGE_SIZE * PAGE_SIZE;
+        if (pageEnd > end) {
+            this.freeSpace.put(end, pageEnd - end);
+        }
+        this.detailsEnd = pageEnd;
+    }
+
+    private void reset(int capacity) {
+        this.slotOfTask = new int[capacity];
+        this.flags = new byte[capacity];
+        this.detailsOffsets = new long[capacity];
+        this.detailsLengths = new int[capacity];
+        this.numOfTasks = 0;
+        this.numOfSlots = 0;
+        this.detailsEnd = 0;
+        this.freeSpace.clear();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (this.detailsOffsets.length < capacity) {
+            int newCapacity = Math.max(capacity, this.detailsOffsets.length * 2);
+            this.slotOfTask = Arrays.copyOf(this.slotOfTask, newCapacity);
+            this.flags = Arrays.copyOf(this.flags, newCapacity);
+            this.detailsOffsets = Arrays.copyOf(this.detailsOffsets, newCapacity);
+            this.detailsLengths = Arrays.copyOf(this.detailsLengths, newCapacity);
+        }
+    }
+
+    private Path detailsPath(long generation) {
+        return this.path.resolveSibling(this.path.getFileName() + "." + generation + ".details");
+    }
+
+    private static Task toTask(int flags, String details, long firstDate, long secondDate)
+            throws DatabaseTypeNotFoundException {
+        boolean isCompleted = (flags & COMPLETED_FLAG) != 0;
+        switch (flags & TYPE_MASK) {
+        case TODO:
+            return new ToDo(details, isCompleted);
+        case DEADLINE:
+            return new Deadline(details, toDateTime(firstDate), isCompleted);
+        case EVENT:
+            return new Event(details, toDateTime(firstDate), toDateTime(secondDate), isCompleted);
+        default:
+            throw new DatabaseTypeNotFoundException();
+        }
+    }
+
+    private static byte flagsOf(Task task) {
+        int type;
+        switch (task.getType()) {
+        case DEADLINE:
+            type = DEADLINE;
+            break;
+        case EVENT:
+            type = EVENT;
+            break;
+        default:
+            type = TODO;
+        }
+        return (byte) (IN_USE_FLAG | type | (task.isCompleted() ? COMPLETED_FLAG : 0));
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int length) {
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + length));
+        return grown.put(buffer.flip());
+    }
+
+    private static int slotPosition(int slot) {
+        return SLOT_SIZE * (slot + 1);
+    }
+
+    private static long roundUp(long length) {
+        return (length + GRANULE - 1) / GRANULE * GRANULE;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
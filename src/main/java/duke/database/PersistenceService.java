@@ -0,0 +1,191 @@
+package duke.database;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import duke.exception.databaseexceptions.DatabaseNotUpdatingException;
+
+/**
+ * Represents a background thread that saves the taskList of Duke some time after it was last changed, so that
+ * commands never wait on the disk.
+ *
+ * A save happens once no change has been made for the quiet period, or once the maximum delay has passed since the
+ * first unsaved change, whichever comes first, so a burst of changes is written as a single snapshot. The snapshot is
+ * taken while holding the lock of the taskList, and written to disk after the lock has been released.
+ *
+ * Writes that the engine hands over for each change, such as the records of its journal, are run as soon as they are
+ * handed over. They are run in the same order as the snapshots, so a snapshot never discards a record of a change
+ * made after it was taken, and a record is never replayed on top of a snapshot that already holds its change.
+ */
+class PersistenceService implements Runnable {
+
+    /** How long the thread waits for a running command to finish before checking whether it should stop. */
+    private static final long LOCK_RETRY_MILLIS = 50;
+
+    private final AbstractStorageEngine engine;
+    private final TaskSource tasks;
+    private final long quietPeriodNanos;
+    private final long maxDelayNanos;
+    private final Thread thread;
+    private final Object signal = new Object();
+
+    private boolean hasUnsavedChanges;
+    private boolean hasPendingWrites;
+    private boolean isSaveDue;
+    private long firstChangeTime;
+    private long lastChangeTime;
+    private boolean isStopping;
+
+    /**
+     * Represents a background thread that saves the taskList of Duke, which is started with {@link #start()}.
+     *
+     * @param engine the storage engine that the tasks are saved into.
+     * @param tasks the taskList that is saved.
+     * @param quietPeriodMillis how long the taskList has to go unchanged before it is saved.
+     * @param maxDelayMillis the longest a change can go unsaved while changes keep being made.
+     */
+    PersistenceService(AbstractStorageEngine engine, TaskSource tasks, long quietPeriodMillis, long maxDelayMillis) {
+        this.engine = engine;
+        this.tasks = tasks;
+        this.quietPeriodNanos = TimeUnit.MILLISECONDS.toNanos(quietPeriodMillis);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(quietPeriodMillis, maxDelayMillis));
+        this.thread = new Thread(this, "duke-persistence");
+        // Closing the window without saying bye should not keep Duke running.
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts saving the taskList in the background whenever it is marked as dirty.
+     */
+    void start() {
+        this.tasks.setDirtyListener(this::onDirty);
+        this.thread.start();
+    }
+
+    /**
+     * Stops the background thread and waits for any save it is in the middle of. Changes that were not saved yet are
+     * left marked as dirty in the taskList.
+     *
+     * @throws InterruptedException thrown when interrupted while waiting for the thread to finish.
+     */
+    void stop() throws InterruptedException {
+        this.tasks.setDirtyListener(null);
+        synchronized (this.signal) {
+            this.isStopping = true;
+            this.signal.notifyAll();
+        }
+        this.thread.join();
+    }
+
+    /**
+     * Wakes the background thread up to run the writes the engine has handed over.
+     */
+    void onWrite() {
+        synchronized (this.signal) {
+            this.hasPendingWrites = true;
+            this.signal.notifyAll();
+        }
+    }
+
+    private void onDirty() {
+        synchronized (this.signal) {
+            long now = System.nanoTime();
+            if (!this.hasUnsavedChanges) {
+                this.hasUnsavedChanges = true;
+                this.firstChangeTime = now;
+            }
+            this.lastChangeTime = now;
+            this.signal.notifyAll();
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (this.awaitWork()) {
+                if (this.isSaveDue) {
+                    this.isSaveDue = false;
+                    this.save();
+                } else {
+                    this.runPendingWrites();
+                }
+            }
+            this.runPendingWrites();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until a save is due or writes have been handed over, returning false instead once the service is stopping.
+     */
+    private boolean awaitWork() throws InterruptedException {
+        synchronized (this.signal) {
+            while (!this.isStopping) {
+                if (this.hasPendingWrites) {
+                    return true;
+                }
+                if (!this.hasUnsavedChanges) {
+                    this.signal.wait();
+                    continue;
+                }
+                long dueTime = Math.min(this.lastChangeTime + this.quietPeriodNanos,
+                        this.firstChangeTime + this.maxDelayNanos);
+                long remaining = dueTime - System.nanoTime();
+                if (remaining <= 0) {
+                    this.hasUnsavedChanges = false;
+                    this.isSaveDue = true;
+                    return true;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this.signal, remaining);
+            }
+            return false;
+        }
+    }
+
+    private boolean isStopping() {
+        synchronized (this.signal) {
+            return this.isStopping;
+        }
+    }
+
+    private void save() throws InterruptedException {
+        Lock lock = this.tasks.getLock();
+        while (!lock.tryLock(LOCK_RETRY_MILLIS, TimeUnit.MILLISECONDS)) {
+            // The command holding the lock may be the one stopping this thread, so never wait on it for good.
+            if (this.isStopping()) {
+                return;
+            }
+            // The command holding the lock may be waiting on a save that it handed over.
+            this.runPendingWrites();
+        }
+
+        try {
+            if (!this.tasks.isDirty()) {
+                return;
+            }
+            this.tasks.clearDirty();
+            // Handed over rather than run, so that it is written after the writes of the changes it holds.
+            this.engine.writeInOrder(this.engine.prepareSave(this.tasks.getTasks()));
+        } catch (IOException | DatabaseNotUpdatingException e) {
+            this.tasks.markDirty();
+            return;
+        } finally {
+            lock.unlock();
+        }
+        this.runPendingWrites();
+    }
+
+    private void runPendingWrites() {
+        synchronized (this.signal) {
+            this.hasPendingWrites = false;
+        }
+        try {
+            this.engine.runPendingWrites();
+        } catch (IOException e) {
+            // Saved in full after the next quiet period instead, and on shutdown at the latest.
+            this.tasks.markDirty();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package duke.database;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.exception.databaseexceptions.DatabaseNotLoadingException;
+import duke.exception.databaseexceptions.DatabaseTypeNotFoundException;
+import duke.task.Task;
+
+/**
+ * Represents the database storage for Duke that splits its snapshot across shard files, see {@link ShardedTaskStore},
+ * and only writes the shards holding changed tasks again on each save.
+ */
+public class ShardedDatabase extends Database {
+
+    /** Name of the storage engine of this database. */
+    public static final String NAME = "sharded";
+
+    /** Number of shard files that a new sharded database is split into. */
+    private static final int NUM_OF_SHARDS = 8;
+
+    private final SnapshotWriter snapshotWriter;
+    private final ShardedTaskStore shardedStore;
+
+    /**
+     * Represents the database storage for Duke, saving tasks in shard files.
+     *
+     * @param filePath the path for which the database file is stored in
+     */
+    public ShardedDatabase(String filePath) {
+        super(filePath);
+        this.snapshotWriter = new SnapshotWriter(this.getPath(), this.getJournal()::reset);
+        this.shardedStore = new ShardedTaskStore(this.getPath(), NUM_OF_SHARDS);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    protected ArrayList<Task> read() throws IOException, DatabaseNotLoadingException, DatabaseTypeNotFoundException {
+        ArrayList<Task> tasks = this.shardedStore.load();
+        this.keepLastId(this.shardedStore.getLastId());
+        this.getJournal().replay(tasks, this.shardedStore.getChecksum());
+        return tasks;
+    }
+
+    @Override
+    protected boolean isCreatedOnLoad() {
+        return true;
+    }
+
+    @Override
+    protected void discard() throws IOException {
+        this.shardedStore.discard();
+    }
+
+    /**
+     * Captures the shards holding tasks changed since the last save, which are then written along with a manifest
+     * that replaces the database file atomically. The store finds the changed shards itself, so changes are only
+     * recorded in the journal.
+     */
+    @Override
+    public StorageWrite prepareSave(List<Task> tasks) throws IOException {
+        return this.shardedStore.prepareSave(tasks, this.keepLastId(tasks), this.snapshotWriter);
+    }
+}
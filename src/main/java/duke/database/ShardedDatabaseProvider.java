@@ -0,0 +1,19 @@
+package duke.database;
+
+import java.util.List;
+
+/**
+ * Provides a {@link ShardedDatabase} under the name "sharded".
+ */
+public class ShardedDatabaseProvider implements StorageEngineProvider {
+
+    @Override
+    public List<String> getNames() {
+        return List.of(ShardedDatabase.NAME);
+    }
+
+    @Override
+    public StorageEngine create(String name, String filePath) {
+        return new ShardedDatabase(filePath);
+    }
+}
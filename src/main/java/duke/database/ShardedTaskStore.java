@@ -0,0 +1,486 @@
+package duke.database;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+import duke.exception.databaseexceptions.DatabaseNotLoadingException;
+import duke.exception.databaseexceptions.DatabaseTypeNotFoundException;
+import duke.task.Task;
+
+/**
+ * Represents a store for the tasks of Duke that is split across several shard files, so that they are loaded and
+ * saved in parallel and a save only rewrites the shards holding changed tasks.
+ *
+ * Every task goes into the shard picked by the id the taskList gave it. Ids only ever grow, and tasks are only ever
+ * added to the end of the list, so the order of the tasks is the order of their ids and is restored on load by merging
+ * the shards. The store keeps the tasks it last wrote into each shard, and as tasks are never changed in place, a
+ * shard only has to be written again when it no longer holds the very same tasks.
+ *
+ * The database file itself is a small manifest holding the magic number, the format version, the number of shards,
+ * the largest task id saved so far and the generation and size of every shard. Changed shards are written into new
+ * files named after the generation of the save, and the manifest is then replaced atomically, so a crash leaves either
+ * the old or the new set of shards in place. A shard file holds the same record as the binary format for each of its
+ * tasks, which always holds the id of the task. Before version 3, each record was instead prefixed by an id the store
+ * gave the task itself, and every shard is written again the first time such a store is saved.
+ */
+public class ShardedTaskStore {
+
+    /** "DUKS" in ASCII. */
+    public static final int MAGIC = 0x44554B53;
+    public static final short VERSION = 3;
+    /** The last version whose shards were split by ids the store gave the tasks itself. */
+    private static final short STORE_ID_VERSION = 2;
+
+    private static final String SHARD_INFIX = ".shard";
+
+    private final Path path;
+    private final int defaultNumOfShards;
+    private final ForkJoinPool pool;
+    private long checksum;
+
+    private int numOfShards;
+    private short version;
+    private long generation;
+    private long lastId;
+    private long[] shardGenerations = new long[0];
+    private int[] shardSizes = new int[0];
+
+    /** Tasks last written into each shard, in the order of their ids, or null when the shard has to be written. */
+    private Task[][] savedShards = new Task[0][];
+    /** Set from when a save is prepared until its manifest is committed, as the next save builds on that manifest. */
+    private boolean isSaving;
+
+    /**
+     * Represents a sharded store for the tasks of Duke, loaded and saved on the common fork-join pool.
+     *
+     * @param path path of the manifest. The shard files are kept next to it.
+     * @param defaultNumOfShards the number of shards a new store is split into.
+     */
+    public ShardedTaskStore(Path path, int defaultNumOfShards) {
+        this(path, defaultNumOfShards, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Represents a sharded store for the tasks of Duke.
+     *
+     * @param path path of the manifest. The shard files are kept next to it.
+     * @param defaultNumOfShards the number of shards a new store is split into.
+     * @param pool the pool that shards are loaded and saved on.
+     */
+    public ShardedTaskStore(Path path, int defaultNumOfShards, ForkJoinPool pool) {
+        this.path = path;
+        this.defaultNumOfShards = defaultNumOfShards;
+        this.pool = pool;
+    }
+
+    /**
+     * Checks whether the file is the manifest of a sharded store.
+     *
+     * @param path path of the database file.
+     * @return true if the file starts with the magic number of a sharded store.
+     * @throws IOException thrown when the file could not be read.
+     */
+    public static boolean isSharded(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // Keep reading until the magic number is filled or the file ends.
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Loads every task in the store, reading the shards in parallel. Shard files left behind by an interrupted save
+     * are deleted.
+     *
+     * @return an ArrayList of the tasks in the order they were added in.
+     * @throws IOException thrown when the store could not be read.
+     * @throws DatabaseNotLoadingException thrown when the store is damaged or written by a newer version of Duke.
+     * @throws DatabaseTypeNotFoundException thrown when one of the tasks stored has the wrong type.
+     */
+    public synchronized ArrayList<Task> load() throws IOException, DatabaseNotLoadingException,
+            DatabaseTypeNotFoundException {
+        byte[] manifest = Files.readAllBytes(this.path);
+        CRC32 crc = new CRC32();
+        crc.update(manifest);
+        this.checksum = crc.getValue();
+        this.readManifest(ByteBuffer.wrap(manifest));
+
+        List<Callable<Shard>> readers = new ArrayList<>();
+        for (int i = 0; i < this.numOfShards; i++) {
+            int shard = i;
+            readers.add(() -> this.readShard(shard));
+        }
+        Shard[] shards = this.runAll(readers).toArray(new Shard[0]);
+        this.deleteUnusedShardFiles();
+
+        ArrayList<Task> tasks = this.merge(shards);
+        this.savedShards = new Task[this.numOfShards][];
+        if (this.version > STORE_ID_VERSION) {
+            for (int i = 0; i < this.numOfShards; i++) {
+                this.savedShards[i] = shards[i].tasks;
+            }
+        }
+        return tasks;
+    }
+
+    private void readManifest(ByteBuffer manifest) throws DatabaseNotLoadingException {
+        try {
+            if (manifest.getInt() != MAGIC) {
+                throw new DatabaseNotLoadingException();
+            }
+            this.version = manifest.getShort();
+            if (this.version > VERSION) {
+                throw new DatabaseNotLoadingException();
+            }
+            int storedNumOfShards = manifest.getInt();
+            if (storedNumOfShards < 1) {
+                throw new DatabaseNotLoadingException();
+            }
+            this.numOfShards = storedNumOfShards;
+            this.generation = manifest.getLong();
+            long storedLastId = manifest.getLong();
+            // Older stores kept the next id of their own ids here, which says nothing about the ids of the tasks.
+            this.lastId = this.version > STORE_ID_VERSION ? storedLastId : 0;
+            this.shardGenerations = new long[storedNumOfShards];
+            this.shardSizes = new int[storedNumOfShards];
+            for (int i = 0; i < storedNumOfShards; i++) {
+                this.shardGenerations[i] = manifest.getLong();
+                this.shardSizes[i] = manifest.getInt();
+            }
+        } catch (BufferUnderflowException e) {
+            throw new DatabaseNotLoadingException();
+        }
+    }
+
+    private Shard readShard(int shard) throws IOException, DatabaseNotLoadingException,
+            DatabaseTypeNotFoundException {
+        int size = this.shardSizes[shard];
+        Shard contents = new Shard(size);
+        if (size == 0) {
+            return contents;
+        }
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(this.shardPath(shard, this.shardGenerations[shard])));
+        byte[] details = new byte[256];
+        boolean hasStoreIds = this.version <= STORE_ID_VERSION;
+        try {
+            long previousId = -1;
+            for (int i = 0; i < size; i++) {
+                long storeId = hasStoreIds ? data.getLong() : 0;
+                int end = data.getInt() + data.position();
+                Task task = BinaryTaskCodec.decodeRecord(data, end, details);
+                long id = hasStoreIds ? storeId : task.getId();
+                if (id <= previousId || (!hasStoreIds && id == 0) || this.shardOf(id) != shard) {
+                    throw new DatabaseNotLoadingException();
+                }
+                contents.ids[i] = id;
+                contents.tasks[i] = task;
+                data.position(end);
+                previousId = id;
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException
+                | DateTimeException e) {
+            throw new DatabaseNotLoadingException();
+        }
+        return contents;
+    }
+
+    /**
+     * Merges the shards back into a single list ordered by id.
+     */
+    private ArrayList<Task> merge(Shard[] shards) {
+        int total = 0;
+        for (Shard shard : shards) {
+            total += shard.ids.length;
+        }
+        ArrayList<Task> tasks = new ArrayList<>(total);
+        int[] positions = new int[shards.length];
+        for (int i = 0; i < total; i++) {
+            int next = -1;
+            for (int shard = 0; shard < shards.length; shard++) {
+                if (positions[shard] < shards[shard].ids.length && (next < 0
+                        || shards[shard].ids[positions[shard]] < shards[next].ids[positions[next]])) {
+                    next = shard;
+                }
+            }
+            Task task = Database.withDefaultId(shards[next].tasks[positions[next]], i);
+            this.lastId = Math.max(this.lastId, task.getId());
+            tasks.add(task);
+            positions[next]++;
+        }
+        return tasks;
+    }
+
+    private void deleteUnusedShardFiles() {
+        Set<Path> inUse = new HashSet<>();
+        for (int i = 0; i < this.numOfShards; i++) {
+            inUse.add(this.shardPath(i, this.shardGenerations[i]).getFileName());
+        }
+        Path directory = this.path.toAbsolutePath().getParent();
+        String prefix = this.path.getFileName() + SHARD_INFIX;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*")) {
+            for (Path file : files) {
+                if (!inUse.contains(file.getFileName())) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            // Unused shard files only take up space, and are tried again on the next load.
+        }
+    }
+
+    /**
+     * @return the CRC32 checksum of the manifest that was last loaded.
+     */
+    public synchronized long getChecksum() {
+        return this.checksum;
+    }
+
+    /**
+     * @return the largest id given to a task in the store, which can belong to a task that has since been deleted.
+     */
+    public synchronized long getLastId() {
+        return this.lastId;
+    }
+
+    /**
+     * Encodes the shards that no longer hold the same tasks as when they were last written, returning the rest of the
+     * save, which writes the shards in parallel and then commits the new manifest through the snapshot writer. Every
+     * shard is encoded on the first save of a new store. Waits for the previous save to finish first.
+     *
+     * @param tasks the tasks of Duke, each of which has an id.
+     * @param lastId the largest id given to a task so far, kept in the manifest along with any larger id in the store.
+     * @param manifestWriter writes the manifest over the database file.
+     * @return the rest of the save, which no longer reads the tasks.
+     * @throws IOException thrown when the shards could not be encoded.
+     */
+    public synchronized StorageEngine.StorageWrite prepareSave(List<Task> tasks, long lastId,
+            SnapshotWriter manifestWriter) throws IOException {
+        while (this.isSaving) {
+            try {
+                this.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the previous save", e);
+            }
+        }
+        if (this.numOfShards == 0) {
+            this.numOfShards = this.defaultNumOfShards;
+            this.shardGenerations = new long[this.numOfShards];
+            this.shardSizes = new int[this.numOfShards];
+            this.savedShards = new Task[this.numOfShards][];
+        }
+        long saveGeneration = ++this.generation;
+        this.lastId = Math.max(this.lastId, lastId);
+
+        List<List<Task>> shardTasks = new ArrayList<>(this.numOfShards);
+        for (int shard = 0; shard < this.numOfShards; shard++) {
+            shardTasks.add(new ArrayList<>(tasks.size() / this.numOfShards + 1));
+        }
+        for (Task task : tasks) {
+            assert task.getId() > 0;
+            this.lastId = Math.max(this.lastId, task.getId());
+            shardTasks.get(this.shardOf(task.getId())).add(task);
+        }
+
+        List<Integer> changed = new ArrayList<>();
+        for (int shard = 0; shard < this.numOfShards; shard++) {
+            if (!isSame(this.savedShards[shard], shardTasks.get(shard))) {
+                changed.add(shard);
+            }
+        }
+        int[] changedShards = new int[changed.size()];
+        byte[][] encodedShards = new byte[changed.size()][];
+        long[] replacedGenerations = new long[changed.size()];
+        for (int i = 0; i < changedShards.length; i++) {
+            int shard = changed.get(i);
+            List<Task> current = shardTasks.get(shard);
+            changedShards[i] = shard;
+            encodedShards[i] = encodeShard(current);
+            replacedGenerations[i] = this.shardGenerations[shard];
+            this.shardGenerations[shard] = saveGeneration;
+            this.shardSizes[shard] = current.size();
+            this.savedShards[shard] = current.toArray(new Task[0]);
+        }
+        byte[] manifest = this.encodeManifest();
+        this.isSaving = true;
+
+        return () -> {
+            boolean isCommitted = false;
+            try {
+                this.writeShards(changedShards, encodedShards, saveGeneration);
+                manifestWriter.commit(manifest);
+                isCommitted = true;
+            } finally {
+                if (isCommitted) {
+                    this.deleteShardFiles(changedShards, replacedGenerations);
+                }
+                this.finishSave(changedShards, isCommitted);
+            }
+        };
+    }
+
+    /**
+     * Checks whether a shard still holds the very same tasks, which as tasks are never changed in place means that
+     * none of them changed.
+     */
+    private static boolean isSame(Task[] saved, List<Task> current) {
+        if (saved == null || saved.length != current.size()) {
+            return false;
+        }
+        for (int i = 0; i < saved.length; i++) {
+            if (saved[i] != current.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] encodeShard(List<Task> tasks) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(tasks.size() * 64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Task task : tasks) {
+            BinaryTaskCodec.encodeRecord(out, task);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private byte[] encodeManifest() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(this.numOfShards);
+        out.writeLong(this.generation);
+        out.writeLong(this.lastId);
+        for (int i = 0; i < this.numOfShards; i++) {
+            out.writeLong(this.shardGenerations[i]);
+            out.writeInt(this.shardSizes[i]);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private void writeShards(int[] shards, byte[][] encodedShards, long saveGeneration) throws IOException {
+        List<Callable<Void>> writers = new ArrayList<>();
+        for (int i = 0; i < shards.length; i++) {
+            Path shardPath = this.shardPath(shards[i], saveGeneration);
+            byte[] data = encodedShards[i];
+            writers.add(() -> {
+                try (FileChannel channel = FileChannel.open(shardPath, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(data);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    channel.force(true);
+                }
+                return null;
+            });
+        }
+        try {
+            this.runAll(writers);
+        } catch (DatabaseNotLoadingException | DatabaseTypeNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private void deleteShardFiles(int[] shards, long[] generations) {
+        for (int i = 0; i < shards.length; i++) {
+            try {
+                Files.deleteIfExists(this.shardPath(shards[i], generations[i]));
+            } catch (IOException e) {
+                // Deleted on the next load instead.
+            }
+        }
+    }
+
+    private synchronized void finishSave(int[] shards, boolean isCommitted) {
+        if (!isCommitted && this.savedShards.length == this.numOfShards) {
+            for (int shard : shards) {
+                this.savedShards[shard] = null;
+            }
+        }
+        this.isSaving = false;
+        this.notifyAll();
+    }
+
+    /**
+     * Deletes every shard file, once the tasks have been saved in another format.
+     *
+     * @throws IOException thrown when a shard file could not be deleted.
+     */
+    public synchronized void discard() throws IOException {
+        for (int i = 0; i < this.numOfShards; i++) {
+            Files.deleteIfExists(this.shardPath(i, this.shardGenerations[i]));
+        }
+        this.numOfShards = 0;
+        this.savedShards = new Task[0][];
+    }
+
+    private int shardOf(long id) {
+        return (int) Math.floorMod(id, (long) this.numOfShards);
+    }
+
+    private Path shardPath(int shard, long shardGeneration) {
+        return this.path.resolveSibling(this.path.getFileName() + SHARD_INFIX + shard + "." + shardGeneration);
+    }
+
+    /**
+     * Runs every task on the pool, rethrowing the first exception thrown by any of them.
+     */
+    private <T> List<T> runAll(List<Callable<T>> tasks) throws IOException, DatabaseNotLoadingException,
+            DatabaseTypeNotFoundException {
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future : this.pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading or writing shards", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof DatabaseNotLoadingException) {
+                throw (DatabaseNotLoadingException) cause;
+            } else if (cause instanceof DatabaseTypeNotFoundException) {
+                throw (DatabaseTypeNotFoundException) cause;
+            }
+            throw new IOException(cause);
+        }
+        return results;
+    }
+
+    /** The tasks of a single shard and the ids they are ordered by. */
+    private static class Shard {
+        private final long[] ids;
+        private final Task[] tasks;
+
+        Shard(int size) {
+            this.ids = new long[size];
+            this.tasks = new Task[size];
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package duke.database;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Writes snapshots of the database file atomically, coalescing concurrent saves into a single group commit.
+ *
+ * A snapshot is written into a temporary file next to the database file, forced to disk and then renamed over the
+ * database file, so a crash leaves either the old or the new snapshot in place but never a torn one. Every snapshot
+ * holds the whole task list, so when several saves are waiting only the newest one is written, and all of them return
+ * once it is on disk.
+ */
+public class SnapshotWriter {
+
+    /** Called by the thread that wrote a snapshot, before any other snapshot can be written. */
+    public interface CommitListener {
+        /**
+         * Runs after a snapshot has been renamed into place.
+         *
+         * @param checksum CRC32 checksum of the snapshot that was written.
+         * @throws IOException thrown when the follow-up work fails, which fails the commit.
+         */
+        void onCommit(long checksum) throws IOException;
+    }
+
+    private final Path path;
+    private final Path temporaryPath;
+    private final CommitListener listener;
+    private final Object lock = new Object();
+
+    private byte[] pendingSnapshot;
+    private long numOfRequested;
+    private long numOfCommitted;
+    private boolean isWriting;
+
+    /**
+     * Writes snapshots of the database file atomically.
+     *
+     * @param path path of the database file.
+     * @param listener called after each snapshot has been written.
+     */
+    public SnapshotWriter(Path path, CommitListener listener) {
+        this.path = path;
+        this.temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        this.listener = listener;
+    }
+
+    /**
+     * Saves the snapshot, returning once it or a newer snapshot requested in the meantime is on disk.
+     *
+     * @param snapshot the full contents of the database file.
+     * @throws IOException thrown when this thread wrote the batch and the write failed.
+     */
+    public void commit(byte[] snapshot) throws IOException {
+        long ticket;
+        synchronized (this.lock) {
+            ticket = ++this.numOfRequested;
+            this.pendingSnapshot = snapshot;
+        }
+
+        while (true) {
+            byte[] batch;
+            long batchEnd;
+            synchronized (this.lock) {
+                while (this.isWriting && this.numOfCommitted < ticket) {
+                    try {
+                        this.lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted while waiting for a group commit", e);
+                    }
+                }
+                if (this.numOfCommitted >= ticket) {
+                    return;
+                }
+                this.isWriting = true;
+                batch = this.pendingSnapshot;
+                batchEnd = this.numOfRequested;
+                this.pendingSnapshot = null;
+            }
+
+            boolean isCommitted = false;
+            try {
+                this.write(batch);
+                isCommitted = true;
+            } finally {
+                synchronized (this.lock) {
+                    this.isWriting = false;
+                    if (isCommitted) {
+                        this.numOfCommitted = batchEnd;
+                    } else if (this.pendingSnapshot == null) {
+                        // Hand the batch back so that the next waiting thread retries it.
+                        this.pendingSnapshot = batch;
+                    }
+                    this.lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private void write(byte[] snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(this.temporaryPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer data = ByteBuffer.wrap(snapshot);
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(true);
+        }
+        Files.move(this.temporaryPath, this.path, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        this.forceDirectory();
+
+        CRC32 checksum = new CRC32();
+        checksum.update(snapshot);
+        this.listener.onCommit(checksum.getValue());
+    }
+
+    /** Forces the rename itself to disk. Not every platform can open a directory, in which case this is skipped. */
+    private void forceDirectory() {
+        Path directory = this.path.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // The rename has still happened, it is only not guaranteed to survive a power loss yet.
+        }
+    }
+}
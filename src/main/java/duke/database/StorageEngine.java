@@ -0,0 +1,201 @@
+package duke.database;
+
+import java.io.IOException;
+import java.util.List;
+
+import duke.exception.databaseexceptions.DatabaseNotLoadingException;
+import duke.exception.databaseexceptions.DatabaseNotUpdatingException;
+import duke.exception.databaseexceptions.DatabaseTypeNotFoundException;
+import duke.task.Task;
+
+/**
+ * Represents where the tasks of Duke are stored. Commands only ever see this interface, so a different engine can be
+ * picked through {@link StorageEngines} without changing any of them.
+ *
+ * Every engine saves snapshots of the whole taskList. An engine can also be told about each change as it is made,
+ * which it may use to save that change straight away or to save less of the taskList in the next snapshot. Engines
+ * that do not need this can ignore every change.
+ */
+public interface StorageEngine {
+
+    /** The part of a save that is left once everything it needs from the tasks has been captured. */
+    interface StorageWrite {
+        /**
+         * Runs the rest of the save.
+         *
+         * @throws IOException thrown when the save could not be written.
+         */
+        void run() throws IOException;
+    }
+
+    /**
+     * Loads the tasks saved in the engine. Usually run on startup of Duke.
+     *
+     * @return a List of the saved tasks.
+     * @throws DatabaseNotLoadingException thrown when the saved tasks could not be read.
+     * @throws DatabaseTypeNotFoundException thrown when one of the saved tasks has the wrong type.
+     */
+    List<Task> load() throws DatabaseNotLoadingException, DatabaseTypeNotFoundException;
+
+    /**
+     * Loads the tasks saved in the engine, reading each task only when it is first accessed where the engine
+     * supports it. Engines load every task up front by default.
+     *
+     * @return a List of the saved tasks.
+     * @throws DatabaseNotLoadingException thrown when the saved tasks could not be read.
+     * @throws DatabaseTypeNotFoundException thrown when one of the saved tasks has the wrong type.
+     */
+    default List<Task> loadLazily() throws DatabaseNotLoadingException, DatabaseTypeNotFoundException {
+        return this.load();
+    }
+
+    /**
+     * Gives the largest id given to a task saved in the engine, which can belong to a task that has since been
+     * deleted, so that a new task is never given the id of an old one. Only known once the tasks have been loaded.
+     *
+     * @return the largest id given to a saved task, or 0 if the engine does not keep it.
+     */
+    default long getLastId() {
+        return 0;
+    }
+
+    /**
+     * Captures everything needed to save the tasks, returning the rest of the save, which no longer reads the tasks.
+     * This is run while the tasks cannot change, so the returned write is where any slow work should go.
+     *
+     * @param tasks the tasks of Duke.
+     * @return the rest of the save.
+     * @throws IOException thrown when the save could not be started.
+     */
+    StorageWrite prepareSave(List<Task> tasks) throws IOException;
+
+    /**
+     * Saves the tasks in full.
+     *
+     * @param tasks the tasks of Duke.
+     * @throws DatabaseNotUpdatingException thrown when the tasks could not be saved.
+     */
+    default void update(List<Task> tasks) throws DatabaseNotUpdatingException {
+        try {
+            this.prepareSave(tasks).run();
+        } catch (IOException e) {
+            throw new DatabaseNotUpdatingException();
+        }
+    }
+
+    /**
+     * Saves the tasks if the engine has built up enough changes since its last save. Run after every command.
+     *
+     * @param tasks the tasks of Duke.
+     * @throws DatabaseNotUpdatingException thrown when the tasks could not be saved.
+     */
+    default void compactIfDue(List<Task> tasks) throws DatabaseNotUpdatingException {
+    }
+
+    /**
+     * Records a task added to the end of the taskList.
+     *
+     * @param task the task that was added.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    default void recordAdd(Task task) throws DatabaseNotUpdatingException {
+    }
+
+    /**
+     * Records a task being marked as complete.
+     *
+     * @param taskNumber identifier of the task.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    default void recordMark(int taskNumber) throws DatabaseNotUpdatingException {
+    }
+
+    /**
+     * Records a task being marked as incomplete.
+     *
+     * @param taskNumber identifier of the task.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    default void recordUnmark(int taskNumber) throws DatabaseNotUpdatingException {
+    }
+
+    /**
+     * Records many tasks being marked as complete or incomplete at once. Engines record each task on its own by
+     * default.
+     *
+     * @param taskNumbers the distinct identifiers of the tasks, in ascending order.
+     * @param isCompleted true if the tasks were marked as complete, false if marked as incomplete.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    default void recordMarkAll(int[] taskNumbers, boolean isCompleted) throws DatabaseNotUpdatingException {
+        for (int taskNumber : taskNumbers) {
+            if (isCompleted) {
+                this.recordMark(taskNumber);
+            } else {
+                this.recordUnmark(taskNumber);
+            }
+        }
+    }
+
+    /**
+     * Records the new details of an edited task.
+     *
+     * @param taskNumber identifier of the task.
+     * @param details new details of the task.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    default void recordEdit(int taskNumber, String details) throws DatabaseNotUpdatingException {
+    }
+
+    /**
+     * Records a task being deleted.
+     *
+     * @param taskNumber identifier of the task.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    default void recordDelete(int taskNumber) throws DatabaseNotUpdatingException {
+    }
+
+    /**
+     * Records many tasks being deleted at once. Engines record each task on its own by default, starting from the
+     * last one so that the identifiers of the others stay the same.
+     *
+     * @param taskNumbers the distinct identifiers of the tasks before any of them were deleted, in ascending order.
+     * @throws DatabaseNotUpdatingException thrown when the change could not be written.
+     */
+    default void recordDeleteAll(int[] taskNumbers) throws DatabaseNotUpdatingException {
+        for (int i = taskNumbers.length - 1; i >= 0; i--) {
+            this.recordDelete(taskNumbers[i]);
+        }
+    }
+
+    /**
+     * Records a change to the taskList that is saved in one go rather than as a record for each task, such as setting
+     * it back to an earlier version when undoing a command. Engines save the tasks in full by default.
+     *
+     * @param tasks the tasks of Duke after the change.
+     * @throws DatabaseNotUpdatingException thrown when the tasks could not be saved.
+     */
+    default void recordRewrite(List<Task> tasks) throws DatabaseNotUpdatingException {
+        this.update(tasks);
+    }
+
+    /**
+     * Starts saving the tasks on a background thread whenever they have been marked as dirty, once they have gone
+     * unchanged for the quiet period or the maximum delay has passed since their first unsaved change.
+     *
+     * @param tasks the tasks of Duke, such as its taskList.
+     * @param quietPeriodMillis how long the tasks have to go unchanged before they are saved.
+     * @param maxDelayMillis the longest a change can go unsaved while changes keep being made.
+     */
+    void startPersistence(TaskSource tasks, long quietPeriodMillis, long maxDelayMillis);
+
+    /**
+     * Stops saving the tasks in the background, waiting for any save in progress, and then saves whatever changes
+     * are left. Without a background thread the tasks are saved in full. Run on shutting down of Duke.
+     *
+     * @param tasks the tasks of Duke, such as its taskList.
+     * @throws DatabaseNotUpdatingException thrown when the tasks could not be saved.
+     */
+    void stopPersistence(TaskSource tasks) throws DatabaseNotUpdatingException;
+}
@@ -0,0 +1,24 @@
+package duke.database;
+
+import java.util.List;
+
+/**
+ * Creates storage engines for {@link StorageEngines}. Providers are found through {@link java.util.ServiceLoader}, so
+ * a new engine is added by listing its provider in {@code META-INF/services/duke.database.StorageEngineProvider}.
+ */
+public interface StorageEngineProvider {
+
+    /**
+     * @return the names of the storage engines this provider can create.
+     */
+    List<String> getNames();
+
+    /**
+     * Creates a storage engine.
+     *
+     * @param name one of the names of this provider.
+     * @param filePath path of the database file, which engines that do not write to disk ignore.
+     * @return the storage engine.
+     */
+    StorageEngine create(String name, String filePath);
+}
@@ -0,0 +1,47 @@
+package duke.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import duke.exception.databaseexceptions.StorageEngineNotFoundException;
+
+/**
+ * Represents the registry of storage engines, made up of every {@link StorageEngineProvider} found on the class path.
+ */
+public final class StorageEngines {
+
+    /** Name of the storage engine Duke uses unless configured otherwise. */
+    public static final String DEFAULT_ENGINE = "binary";
+
+    private StorageEngines() {
+    }
+
+    /**
+     * Creates the storage engine registered under the given name.
+     *
+     * @param name name of the storage engine, such as "binary", "mapped" or "memory".
+     * @param filePath path of the database file.
+     * @return the storage engine.
+     * @throws StorageEngineNotFoundException thrown when no provider has a storage engine with that name.
+     */
+    public static StorageEngine create(String name, String filePath) throws StorageEngineNotFoundException {
+        for (StorageEngineProvider provider : ServiceLoader.load(StorageEngineProvider.class)) {
+            if (provider.getNames().contains(name)) {
+                return provider.create(name, filePath);
+            }
+        }
+        throw new StorageEngineNotFoundException(name);
+    }
+
+    /**
+     * @return the names of every registered storage engine.
+     */
+    public static List<String> getNames() {
+        List<String> names = new ArrayList<>();
+        for (StorageEngineProvider provider : ServiceLoader.load(StorageEngineProvider.class)) {
+            names.addAll(provider.getNames());
+        }
+        return names;
+    }
+}
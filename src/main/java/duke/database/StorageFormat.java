@@ -0,0 +1,12 @@
+package duke.database;
+
+/**
+ * Represents the format that the tasks are encoded in, by the databases that can hold either of them, such as a
+ * {@link CompressedDatabase} or a {@link LazyTaskList}.
+ */
+public enum StorageFormat {
+    /** One line per task, with fields separated by the ASCII 31 unit separator. */
+    TEXT,
+    /** Versioned binary records, see {@link BinaryTaskCodec}. */
+    BINARY
+}
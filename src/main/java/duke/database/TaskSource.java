@@ -0,0 +1,45 @@
+package duke.database;
+
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+import duke.task.Task;
+
+/**
+ * Represents the tasks that a storage engine saves in the background, such as the taskList of Duke. The engine only
+ * sees the tasks themselves and whether they changed since they were last saved.
+ */
+public interface TaskSource {
+
+    /**
+     * @return the lock held while the tasks are changed, so that they are never saved halfway through a change.
+     */
+    Lock getLock();
+
+    /**
+     * @return the tasks, which should only be read while holding the lock.
+     */
+    List<Task> getTasks();
+
+    /**
+     * Marks the tasks as changed since they were last saved.
+     */
+    void markDirty();
+
+    /**
+     * Marks the tasks as saved.
+     */
+    void clearDirty();
+
+    /**
+     * @return whether the tasks were changed since they were last saved.
+     */
+    boolean isDirty();
+
+    /**
+     * Sets what is run every time the tasks are marked as dirty, replacing the previous listener.
+     *
+     * @param listener run after the tasks are marked as dirty, or null to run nothing.
+     */
+    void setDirtyListener(Runnable listener);
+}
@@ -0,0 +1,63 @@
+package duke.database;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.exception.databaseexceptions.DatabaseNotLoadingException;
+import duke.exception.databaseexceptions.DatabaseTypeNotFoundException;
+import duke.task.Task;
+
+/**
+ * Represents the database storage for Duke that saves the tasks one line each in a text file, which is the format
+ * Duke has always read.
+ */
+public class TextDatabase extends Database {
+
+    /** Name of the storage engine of this database. */
+    public static final String NAME = "text";
+
+    private final SnapshotWriter snapshotWriter;
+
+    /**
+     * Represents the database storage for Duke, saving tasks in the text format.
+     *
+     * @param filePath the path for which the database file is stored in
+     */
+    public TextDatabase(String filePath) {
+        super(filePath);
+        this.snapshotWriter = new SnapshotWriter(this.getPath(), this.getJournal()::reset);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    protected ArrayList<Task> read() throws IOException, DatabaseNotLoadingException, DatabaseTypeNotFoundException {
+        ChunkedTaskLoader loader = new ChunkedTaskLoader();
+        ArrayList<Task> tasks = loader.load(this.getPath());
+        this.keepLastId(loader.getLastId());
+        this.getJournal().replay(tasks, loader.getChecksum());
+        return tasks;
+    }
+
+    @Override
+    public List<Task> loadLazily() throws DatabaseNotLoadingException, DatabaseTypeNotFoundException {
+        return this.openLazily(StorageFormat.TEXT);
+    }
+
+    /**
+     * Encodes the tasks into text, which is then written as a snapshot that replaces the database file atomically.
+     * Saves made at the same time from other threads are written together in a single commit.
+     */
+    @Override
+    public StorageWrite prepareSave(List<Task> tasks) throws IOException {
+        ByteArrayOutputStream text = new ByteArrayOutputStream(tasks.size() * 64);
+        encodeText(tasks, this.keepLastId(tasks), text);
+        byte[] bytes = text.toByteArray();
+        return () -> this.snapshotWriter.commit(bytes);
+    }
+}
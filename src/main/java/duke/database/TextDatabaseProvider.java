@@ -0,0 +1,21 @@
+package duke.database;
+
+import java.util.List;
+
+/**
+ * Provides a {@link TextDatabase} under the name "text", and the text format compressed with gzip under the name
+ * "text.gz".
+ */
+public class TextDatabaseProvider implements StorageEngineProvider {
+
+    @Override
+    public List<String> getNames() {
+        return List.of(TextDatabase.NAME, TextDatabase.NAME + CompressedDatabase.SUFFIX);
+    }
+
+    @Override
+    public StorageEngine create(String name, String filePath) {
+        return name.endsWith(CompressedDatabase.SUFFIX) ? new CompressedDatabase(filePath, StorageFormat.TEXT)
+                : new TextDatabase(filePath);
+    }
+}
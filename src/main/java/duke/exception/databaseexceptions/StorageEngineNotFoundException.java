@@ -0,0 +1,19 @@
+package duke.exception.databaseexceptions;
+
+import duke.exception.DukeException;
+
+/**
+ * Thrown when no storage engine is registered under the name that was asked for.
+ */
+public class StorageEngineNotFoundException extends DukeException {
+
+    /**
+     * Thrown when no storage engine is registered under the name that was asked for.
+     *
+     * @param name the name of the storage engine.
+     */
+    public StorageEngineNotFoundException(String name) {
+        super("\n" + "    ____________________________________________________________\n"
+                + "Oh dear, there is no storage engine called " + name + "." + "\n");
+    }
+}
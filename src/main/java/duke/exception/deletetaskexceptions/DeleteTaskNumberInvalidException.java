@@ -12,6 +12,7 @@ public class DeleteTaskNumberInvalidException extends DukeException {
     public DeleteTaskNumberInvalidException() {
         super("\n"
                 + "Either there is no task with that number or you didn't format your command correctly!" + "\n"
-                + "Use \"delete {task number}\" where task number is the number of that task." + "\n");
+                + "Use \"delete {task number}\" where task number is the number of that task." + "\n"
+                + "You can also delete many tasks at once, such as \"delete 3,7,9-20\" or \"delete all-done\"." + "\n");
     }
 }
@@ -0,0 +1,11 @@
+package duke.exception.includeexceptions;
+
+/**
+ * Thrown when a Due command includes neither the "/before" keyword nor both the "/from" and "/to" keywords.
+ */
+public class IncludeBeforeException extends IncludeException {
+    public IncludeBeforeException() {
+        super("\n" + "     Error! Did you forget to include the \"/before\", or the \"/from\" and \"/to\" in "
+                + "your command?" + "\n");
+    }
+}
@@ -0,0 +1,17 @@
+package duke.exception.listcommandexceptions;
+
+import duke.exception.DukeException;
+
+/**
+ * Thrown when the range or page given to a list command is not formatted correctly.
+ */
+public class ListRangeInvalidException extends DukeException {
+    /**
+     * Thrown when the range or page given to a list command is not formatted correctly.
+     */
+    public ListRangeInvalidException() {
+        super("\n"
+                + "I can't tell which tasks you want me to list!" + "\n"
+                + "Use \"list {from}-{to}\" with two task numbers, or \"list /page {page number}\"." + "\n");
+    }
+}
@@ -0,0 +1,17 @@
+package duke.exception.listcommandexceptions;
+
+import duke.exception.DukeException;
+
+/**
+ * Thrown when a list command is given an order that the tasks cannot be sorted in.
+ */
+public class ListSortOrderInvalidException extends DukeException {
+    /**
+     * Thrown when a list command is given an order that the tasks cannot be sorted in.
+     */
+    public ListSortOrderInvalidException() {
+        super("\n"
+                + "I don't know how to sort the tasks like that!" + "\n"
+                + "Use \"list /sort deadline\", \"list /sort start\" or \"list /sort status\"." + "\n");
+    }
+}
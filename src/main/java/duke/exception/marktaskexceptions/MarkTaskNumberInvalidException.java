@@ -13,6 +13,7 @@ public class MarkTaskNumberInvalidException extends DukeException {
         super("\n"
                 + "Either there is no task with that number or you didn't format your command correctly!" + "\n"
                 + "Use \"mark {task number}\" or \"unmark {task number}\" where task number is the number of that task."
-                + "\n");
+                + "\n"
+                + "You can also mark many tasks at once, such as \"mark 1-500\" or \"unmark all-done\"." + "\n");
     }
 }
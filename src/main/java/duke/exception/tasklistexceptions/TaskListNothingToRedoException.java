@@ -0,0 +1,16 @@
+package duke.exception.tasklistexceptions;
+
+import duke.exception.DukeException;
+
+/**
+ * Thrown when no command was undone since the TaskList was last changed, so there is nothing to redo.
+ */
+public class TaskListNothingToRedoException extends DukeException {
+    /**
+     * Thrown when no command was undone since the TaskList was last changed, so there is nothing to redo.
+     */
+    public TaskListNothingToRedoException() {
+        super("\n"
+                + "There is nothing for me to redo! Only commands undone since the last change can be redone" + "\n");
+    }
+}
@@ -0,0 +1,16 @@
+package duke.exception.tasklistexceptions;
+
+import duke.exception.DukeException;
+
+/**
+ * Thrown when there is no command left for the TaskList to undo.
+ */
+public class TaskListNothingToUndoException extends DukeException {
+    /**
+     * Thrown when there is no command left for the TaskList to undo.
+     */
+    public TaskListNothingToUndoException() {
+        super("\n"
+                + "There is nothing left for me to undo!" + "\n");
+    }
+}
@@ -0,0 +1,16 @@
+package duke.exception.tasklistexceptions;
+
+import duke.exception.DukeException;
+
+/**
+ * Thrown when no task in the TaskList has the id passed into a TaskList method.
+ */
+public class TaskListTaskIdNotFoundException extends DukeException {
+    /**
+     * Thrown when no task in the TaskList has the id passed into a TaskList method.
+     */
+    public TaskListTaskIdNotFoundException() {
+        super("\n"
+                + "I don't think theres a task with that id!" + "\n");
+    }
+}
@@ -0,0 +1,32 @@
+package duke.parser;
+
+/**
+ * Represents the keyword that each command of Duke starts with.
+ */
+enum Keyword {
+    LIST("list"),
+    MORE("more"),
+    UNDO("undo"),
+    REDO("redo"),
+    BYE("bye"),
+    MARK("mark"),
+    UNMARK("unmark"),
+    TODO("todo"),
+    DEADLINE("deadline"),
+    EVENT("event"),
+    DELETE("delete"),
+    FIND("find"),
+    DUE("due"),
+    OVERLAPS("overlaps"),
+    EDIT("edit");
+
+    private final String identifier;
+
+    Keyword(String identifier) {
+        this.identifier = identifier;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+}
@@ -0,0 +1,80 @@
+package duke.parser;
+
+import java.util.Arrays;
+
+/**
+ * Represents a trie of the keywords of the commands, which finds the keyword at the start of a command by walking its
+ * characters once, without creating a String of the keyword.
+ *
+ * Keywords only use the lower case letters a to z, so each node keeps the next node for each letter in a row of a
+ * single array, and a character outside of them ends the search straight away.
+ */
+class KeywordTrie {
+
+    private static final int ALPHABET_SIZE = 26;
+    private static final int NO_NODE = 0;
+
+    /** The next node for each letter, ALPHABET_SIZE entries for each node, with the root as node 0. */
+    private int[] next = new int[ALPHABET_SIZE];
+    /** The keyword that ends at each node, or null where none does. */
+    private Keyword[] keywords = new Keyword[1];
+    private int numOfNodes = 1;
+
+    /**
+     * Represents a trie of the given keywords.
+     *
+     * @param keywords the keywords to be found.
+     */
+    KeywordTrie(Keyword... keywords) {
+        for (Keyword keyword : keywords) {
+            this.add(keyword);
+        }
+    }
+
+    private void add(Keyword keyword) {
+        String identifier = keyword.getIdentifier();
+        int node = 0;
+        for (int i = 0; i < identifier.length(); i++) {
+            int letter = identifier.charAt(i) - 'a';
+            assert letter >= 0 && letter < ALPHABET_SIZE;
+            if (this.next[node * ALPHABET_SIZE + letter] == NO_NODE) {
+                // Made before it is linked in, as making a node may replace the array.
+                int child = this.newNode();
+                this.next[node * ALPHABET_SIZE + letter] = child;
+            }
+            node = this.next[node * ALPHABET_SIZE + letter];
+        }
+        this.keywords[node] = keyword;
+    }
+
+    private int newNode() {
+        if (this.numOfNodes == this.keywords.length) {
+            this.keywords = Arrays.copyOf(this.keywords, this.numOfNodes * 2);
+            this.next = Arrays.copyOf(this.next, this.numOfNodes * 2 * ALPHABET_SIZE);
+        }
+        return this.numOfNodes++;
+    }
+
+    /**
+     * Finds the keyword made up of exactly the characters within the range of the text.
+     *
+     * @param text the text of a command.
+     * @param from the position of the first character of the keyword.
+     * @param to the position after the last character of the keyword.
+     * @return the keyword, or null if the characters are not a keyword.
+     */
+    Keyword find(CharSequence text, int from, int to) {
+        int node = 0;
+        for (int i = from; i < to; i++) {
+            int letter = text.charAt(i) - 'a';
+            if (letter < 0 || letter >= ALPHABET_SIZE) {
+                return null;
+            }
+            node = this.next[node * ALPHABET_SIZE + letter];
+            if (node == NO_NODE) {
+                return null;
+            }
+        }
+        return this.keywords[node];
+    }
+}
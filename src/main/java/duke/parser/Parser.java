@@ -1,17 +1,19 @@
 package duke.parser;
 
-import java.util.Objects;
-
 import duke.commands.AddDeadlineCommand;
 import duke.commands.AddEventCommand;
 import duke.commands.AddToDoCommand;
 import duke.commands.ByeCommand;
 import duke.commands.Command;
 import duke.commands.DeleteCommand;
+import duke.commands.DueCommand;
 import duke.commands.EditCommand;
 import duke.commands.FindCommand;
 import duke.commands.ListCommand;
 import duke.commands.MarkCommand;
+import duke.commands.OverlapsCommand;
+import duke.commands.RedoCommand;
+import duke.commands.UndoCommand;
 import duke.commands.UnmarkCommand;
 import duke.exception.blankfieldexceptions.BlankFieldDeadlineException;
 import duke.exception.blankfieldexceptions.BlankFieldEventException;
@@ -19,16 +21,39 @@ import duke.exception.blankfieldexceptions.BlankFieldTodoException;
 import duke.exception.deletetaskexceptions.DeleteTaskNumberInvalidException;
 import duke.exception.editcommandexceptions.EditTaskNumberInvalidException;
 import duke.exception.editcommandexceptions.NoNewDetailsException;
+import duke.exception.listcommandexceptions.ListRangeInvalidException;
+import duke.exception.listcommandexceptions.ListSortOrderInvalidException;
 import duke.exception.marktaskexceptions.MarkTaskNumberInvalidException;
 import duke.exception.parserexceptions.NoCommandBodyException;
 import duke.exception.parserexceptions.UnknownCommandError;
+import duke.tasklist.SortOrder;
+import duke.tasklist.TaskSelection;
+import duke.tasklist.TaskTarget;
 
 
 /**
  * Represents the wrapper for the parsing logic for commands for Duke.
+ *
+ * A command is read in a single pass by positions in its text. Its keyword is found in a {@link KeywordTrie} and the
+ * task numbers it is given are parsed without throwing, so parsing a command such as "mark 12" creates nothing but
+ * the command and its target. Only the commands that keep part of their text, such as the details of a task, take a
+ * substring of it.
  */
 public class Parser {
 
+    private static final KeywordTrie KEYWORDS = new KeywordTrie(Keyword.values());
+
+    /** Starts the body of a find command that searches for whole words instead of any part of the details. */
+    private static final String WORDS_FLAG = "/words ";
+    /** Starts the body of a list command that lists a page of tasks instead of a range. */
+    private static final String PAGE_FLAG = "/page ";
+    /** Starts the body of a list command that lists the tasks sorted in an order, such as "/sort deadline". */
+    private static final String SORT_FLAG = "/sort ";
+
+    /** The task number the next more command lists from, which is just after the last task listed. */
+    private int nextListedTaskNumber = 1;
+    /** The order the last tasks were listed in, which the next more command lists in as well. */
+    private SortOrder listedSortOrder;
 
     /**
      * Parses the command text given and returns the Command object associated with the command text.
@@ -46,87 +71,195 @@ public class Parser {
      * @throws BlankFieldEventException thrown when there is a blank field for the addEventCommand.
      * @throws UnknownCommandError thrown when the command's keyword does not match any of the ones known.
      * @throws NoNewDetailsException Thrown when no new details are specified for an edit command.
+     * @throws ListRangeInvalidException Thrown when the range or page of a list command is not formatted correctly.
+     * @throws ListSortOrderInvalidException Thrown when a list command is given an order tasks cannot be sorted in.
      */
     public Command parse(String command, int lengthOfList) throws MarkTaskNumberInvalidException,
             BlankFieldTodoException, BlankFieldDeadlineException, BlankFieldEventException, UnknownCommandError,
             NoCommandBodyException, NoNewDetailsException, DeleteTaskNumberInvalidException,
-            EditTaskNumberInvalidException {
-        if (Objects.equals(command, "list")) {
-            return new ListCommand();
-        } else if (Objects.equals(command, "bye")) {
-            return new ByeCommand();
+            EditTaskNumberInvalidException, ListRangeInvalidException, ListSortOrderInvalidException {
+        int keywordEnd = command.indexOf(' ');
+        if (keywordEnd < 0) {
+            return this.parseWithoutBody(KEYWORDS.find(command, 0, command.length()));
         }
-
-
-        String[] words = command.split(" ", 2);
-
-        if (words.length <= 1 || words[1].stripLeading().isBlank()) {
+        int bodyStart = keywordEnd + 1;
+        int from = strippedStart(command, bodyStart, command.length());
+        int to = strippedEnd(command, from, command.length());
+        if (from == to) {
             throw new NoCommandBodyException();
         }
+        Keyword keyword = KEYWORDS.find(command, 0, keywordEnd);
+        if (keyword == null) {
+            throw new UnknownCommandError();
+        }
 
-        String keyWord = words[0];
-        String commandBody = words[1];
+        switch (keyword) {
+        case LIST:
+            return this.listFrom(parseListCommand(command.substring(from, to)));
 
-        switch (keyWord) {
-        case "mark":
-            return parseMarkCommand(commandBody, lengthOfList);
+        case MARK:
+            return parseMarkCommand(command, from, to, lengthOfList);
 
-        case "unmark":
-            return parseUnmarkCommand(commandBody, lengthOfList);
+        case UNMARK:
+            return parseUnmarkCommand(command, from, to, lengthOfList);
 
-        case "todo":
-            return parseAddToDoCommand(commandBody);
+        case TODO:
+            return parseAddToDoCommand(command.substring(bodyStart));
 
-        case "deadline":
-            return parseAddDeadlineCommand(commandBody);
+        case DEADLINE:
+            return parseAddDeadlineCommand(command.substring(bodyStart));
 
-        case "event":
-            return parseAddEventCommand(commandBody);
+        case EVENT:
+            return parseAddEventCommand(command.substring(bodyStart));
 
-        case "delete":
-            return parseDeleteCommand(commandBody, lengthOfList);
+        case DELETE:
+            return parseDeleteCommand(command, from, to, lengthOfList);
 
-        case "find":
-            return parseFindCommand(commandBody);
-        case "edit":
-            return parseEditCommand(commandBody, lengthOfList);
+        case FIND:
+            return parseFindCommand(command.substring(bodyStart));
+        case DUE:
+            return new DueCommand(command.substring(bodyStart));
+        case OVERLAPS:
+            return new OverlapsCommand(command.substring(bodyStart));
+        case EDIT:
+            return parseEditCommand(command, bodyStart, lengthOfList);
         default:
             throw new UnknownCommandError();
         }
     }
 
-    private EditCommand parseEditCommand(String commandBody, int lengthOfList) throws NoNewDetailsException,
-            EditTaskNumberInvalidException {
-        try {
-            String[] parameters = commandBody.split(" ", 2);
-            if (parameters.length <= 1 || parameters[1].stripLeading().isBlank()) {
-                throw new NoNewDetailsException();
-            }
-            int taskNumber = Integer.parseInt(parameters[0]);
-            if (taskNumber > lengthOfList || taskNumber <= 0 || commandBody.trim().isEmpty()) {
-                throw new EditTaskNumberInvalidException();
-            }
-            return new EditCommand(taskNumber, parameters[1]);
-        } catch (NumberFormatException e) {
+    private Command parseWithoutBody(Keyword keyword) throws NoCommandBodyException {
+        if (keyword == null) {
+            throw new NoCommandBodyException();
+        }
+        switch (keyword) {
+        case LIST:
+            return this.listFrom(new ListCommand());
+        case MORE:
+            // Stops at the largest task number, past the end of any list, which is then all that is left to list.
+            int lastTaskNumber = (int) Math.min((long) this.nextListedTaskNumber + ListCommand.PAGE_SIZE - 1,
+                    Integer.MAX_VALUE);
+            return this.listFrom(new ListCommand(this.nextListedTaskNumber, lastTaskNumber, this.listedSortOrder));
+        case UNDO:
+            return new UndoCommand();
+        case REDO:
+            return new RedoCommand();
+        case BYE:
+            return new ByeCommand();
+        default:
+            throw new NoCommandBodyException();
+        }
+    }
+
+    /** Returns the position of the first character within the range that is not whitespace, or the end of it. */
+    private static int strippedStart(CharSequence text, int from, int to) {
+        while (from < to && Character.isWhitespace(text.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    /** Returns the position after the last character within the range that is not whitespace, or the start of it. */
+    private static int strippedEnd(CharSequence text, int from, int to) {
+        while (to > from && Character.isWhitespace(text.charAt(to - 1))) {
+            to--;
+        }
+        return to;
+    }
+
+    private EditCommand parseEditCommand(String command, int bodyStart, int lengthOfList)
+            throws NoNewDetailsException, EditTaskNumberInvalidException {
+        int targetEnd = command.indexOf(' ', bodyStart);
+        if (targetEnd < 0 || strippedStart(command, targetEnd + 1, command.length()) == command.length()) {
+            throw new NoNewDetailsException();
+        }
+        TaskTarget target = TaskTarget.tryParse(command, bodyStart, targetEnd);
+        if (target == null || !target.isWithin(lengthOfList)) {
             throw new EditTaskNumberInvalidException();
         }
+        return new EditCommand(target, command.substring(targetEnd + 1));
+    }
+
+    private ListCommand listFrom(ListCommand command) {
+        this.nextListedTaskNumber = command.getNextTaskNumber();
+        this.listedSortOrder = command.getSortOrder();
+        return command;
+    }
+
+    private ListCommand parseListCommand(String commandBody) throws ListRangeInvalidException,
+            ListSortOrderInvalidException {
+        if (isFlagAt(commandBody, 0, commandBody.length(), SORT_FLAG)
+                || isFlagAt(commandBody, 0, commandBody.length(), PAGE_FLAG)) {
+            return parseListFlags(commandBody);
+        }
+        int separator = commandBody.indexOf('-');
+        int fromEnd = separator < 0 ? commandBody.length() : separator;
+        long from = TaskTarget.parseNumber(commandBody, 0, strippedEnd(commandBody, 0, fromEnd));
+        long to = separator < 0 ? from : TaskTarget.parseNumber(commandBody,
+                strippedStart(commandBody, separator + 1, commandBody.length()), commandBody.length());
+        if (from < 1 || to < from || to > Integer.MAX_VALUE) {
+            throw new ListRangeInvalidException();
+        }
+        return new ListCommand((int) from, (int) to);
+    }
+
+    /**
+     * Parses the flags of a list command, which may give a sort order, a page or both in either order, such as
+     * "/sort deadline /page 2". Each flag runs until the next one, and may only be given once.
+     */
+    private static ListCommand parseListFlags(String commandBody) throws ListRangeInvalidException,
+            ListSortOrderInvalidException {
+        SortOrder order = null;
+        long page = 0;
+        int start = 0;
+        while (start < commandBody.length()) {
+            int end = commandBody.indexOf(" /", start);
+            end = end < 0 ? commandBody.length() : end;
+            if (isFlagAt(commandBody, start, end, SORT_FLAG) && order == null) {
+                order = SortOrder.of(commandBody.substring(Math.min(start + SORT_FLAG.length(), end), end).strip());
+                if (order == null) {
+                    throw new ListSortOrderInvalidException();
+                }
+            } else if (isFlagAt(commandBody, start, end, PAGE_FLAG) && page == 0) {
+                int numberStart = strippedStart(commandBody, Math.min(start + PAGE_FLAG.length(), end), end);
+                page = TaskTarget.parseNumber(commandBody, numberStart, strippedEnd(commandBody, numberStart, end));
+                if (page < 1 || page > Integer.MAX_VALUE / ListCommand.PAGE_SIZE) {
+                    throw new ListRangeInvalidException();
+                }
+            } else {
+                throw new ListRangeInvalidException();
+            }
+            start = strippedStart(commandBody, end, commandBody.length());
+        }
+        page = Math.max(page, 1);
+        return new ListCommand((int) (page - 1) * ListCommand.PAGE_SIZE + 1, (int) page * ListCommand.PAGE_SIZE, order);
+    }
+
+    /** Returns whether the flag, such as "/sort ", is at the position, including when nothing follows it. */
+    private static boolean isFlagAt(String text, int position, int end, String flag) {
+        int nameLength = flag.length() - 1;
+        return text.startsWith(flag, position)
+                || (position + nameLength == end && text.startsWith(flag.substring(0, nameLength), position));
     }
 
     private FindCommand parseFindCommand(String commandBody) {
+        if (commandBody.startsWith(WORDS_FLAG)) {
+            return new FindCommand(commandBody.substring(WORDS_FLAG.length()), true);
+        }
         return new FindCommand(commandBody);
     }
 
-    private DeleteCommand parseDeleteCommand(String commandBody, int lengthOfList)
+    private DeleteCommand parseDeleteCommand(String command, int from, int to, int lengthOfList)
             throws DeleteTaskNumberInvalidException {
-        try {
-            int taskNumber = Integer.parseInt(commandBody);
-            if (taskNumber > lengthOfList || taskNumber <= 0 || commandBody.trim().isEmpty()) {
-                throw new DeleteTaskNumberInvalidException();
-            }
-            return new DeleteCommand(taskNumber);
-        } catch (NumberFormatException e) {
+        TaskTarget target = TaskTarget.tryParse(command, from, to);
+        if (target != null && target.isWithin(lengthOfList)) {
+            return new DeleteCommand(target);
+        }
+        TaskSelection selection = target == null ? parseSelection(command, from, to, lengthOfList) : null;
+        if (selection == null) {
             throw new DeleteTaskNumberInvalidException();
         }
+        return new DeleteCommand(selection);
     }
 
     private AddEventCommand parseAddEventCommand(String commandBody) throws BlankFieldEventException {
@@ -150,28 +283,39 @@ public class Parser {
         return new AddToDoCommand(commandBody);
     }
 
-    private MarkCommand parseMarkCommand(String commandBody, int lengthOfList) throws MarkTaskNumberInvalidException {
-        try {
-            int taskNumber = Integer.parseInt(commandBody);
-            if (taskNumber > lengthOfList || taskNumber <= 0 || commandBody.trim().isEmpty()) {
-                throw new MarkTaskNumberInvalidException();
-            }
-            return new MarkCommand(taskNumber);
-        } catch (NumberFormatException e) {
+    private MarkCommand parseMarkCommand(String command, int from, int to, int lengthOfList)
+            throws MarkTaskNumberInvalidException {
+        TaskTarget target = TaskTarget.tryParse(command, from, to);
+        if (target != null && target.isWithin(lengthOfList)) {
+            return new MarkCommand(target);
+        }
+        TaskSelection selection = target == null ? parseSelection(command, from, to, lengthOfList) : null;
+        if (selection == null) {
             throw new MarkTaskNumberInvalidException();
         }
+        return new MarkCommand(selection);
     }
 
-    private UnmarkCommand parseUnmarkCommand(String commandBody, int lengthOfList)
+    private UnmarkCommand parseUnmarkCommand(String command, int from, int to, int lengthOfList)
             throws MarkTaskNumberInvalidException {
-        try {
-            int taskNumber = Integer.parseInt(commandBody);
-            if (taskNumber > lengthOfList || taskNumber <= 0 || commandBody.trim().isEmpty()) {
-                throw new MarkTaskNumberInvalidException();
-            }
-            return new UnmarkCommand(taskNumber);
-        } catch (NumberFormatException e) {
+        TaskTarget target = TaskTarget.tryParse(command, from, to);
+        if (target != null && target.isWithin(lengthOfList)) {
+            return new UnmarkCommand(target);
+        }
+        TaskSelection selection = target == null ? parseSelection(command, from, to, lengthOfList) : null;
+        if (selection == null) {
             throw new MarkTaskNumberInvalidException();
         }
+        return new UnmarkCommand(selection);
+    }
+
+    /**
+     * Parses the tasks of a mark, unmark or delete command that are not a single target, such as "3,7,9-20".
+     *
+     * @return the tasks, or null if they are not formatted correctly or fall outside of the taskList.
+     */
+    private static TaskSelection parseSelection(String command, int from, int to, int lengthOfList) {
+        TaskSelection selection = TaskSelection.parse(command.substring(from, to));
+        return selection != null && selection.isWithin(lengthOfList) ? selection : null;
     }
 }
@@ -0,0 +1,219 @@
+package duke.task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Represents a list of tasks stored column by column instead of as a task object each.
+ *
+ * Each task takes one byte of flags for its type, whether it is completed and how its details are encoded, its id,
+ * two dates as epoch seconds, and a reference to its interned details. A million tasks take about 30 MB, where the
+ * task objects and the date objects they hold would take several times more. Getting a task creates a view of its
+ * row, which is a new task object each time, and setting a task copies it into the row. Changing a view does not
+ * change the list, so a changed task has to be set back, as {@link duke.tasklist.TaskList} always does.
+ *
+ * Scans that only need one column, such as searching the details, can read that column without creating any views.
+ * Like an ArrayList, inserting or removing a task shifts every task after it, one column at a time.
+ */
+public class ColumnarTaskList extends AbstractList<Task> implements RandomAccess {
+
+    private static final int TYPE_MASK = 0x03;
+    private static final int LATIN1_FLAG = 0x40;
+    private static final int COMPLETED_FLAG = 0x80;
+    private static final Types[] TYPES = Types.values();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private byte[] flags;
+    private long[] ids;
+    /** The deadline of a Deadline task or the start of an Event task. */
+    private long[] starts;
+    /** The end of an Event task. */
+    private long[] ends;
+    private byte[][] details;
+    private int size;
+
+    /**
+     * Represents an empty list of tasks stored column by column.
+     */
+    public ColumnarTaskList() {
+        this.allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Represents a list of tasks stored column by column, holding the given tasks in the same order.
+     *
+     * @param tasks the tasks of the list.
+     */
+    public ColumnarTaskList(Collection<? extends Task> tasks) {
+        this.allocate(Math.max(tasks.size(), INITIAL_CAPACITY));
+        for (Task task : tasks) {
+            this.write(this.size++, task);
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.flags = new byte[capacity];
+        this.ids = new long[capacity];
+        this.starts = new long[capacity];
+        this.ends = new long[capacity];
+        this.details = new byte[capacity][];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Task get(int index) {
+        this.checkIndex(index, this.size);
+        int flag = this.flags[index];
+        byte[] encoded = this.details[index];
+        boolean isLatin1 = (flag & LATIN1_FLAG) != 0;
+        Task task;
+        switch (TYPES[flag & TYPE_MASK]) {
+        case DEADLINE:
+            task = new Deadline(encoded, isLatin1, toDateTime(this.starts[index]));
+            break;
+        case EVENT:
+            task = new Event(encoded, isLatin1, toDateTime(this.starts[index]), toDateTime(this.ends[index]));
+            break;
+        default:
+            task = new ToDo(encoded, isLatin1);
+        }
+        task.setCompleted((flag & COMPLETED_FLAG) != 0);
+        if (this.ids[index] != 0) {
+            task.setId(this.ids[index]);
+        }
+        return task;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = this.get(index);
+        this.write(index, task);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        this.checkIndex(index, this.size + 1);
+        if (this.size == this.ids.length) {
+            int capacity = this.size * 2;
+            this.flags = Arrays.copyOf(this.flags, capacity);
+            this.ids = Arrays.copyOf(this.ids, capacity);
+            this.starts = Arrays.copyOf(this.starts, capacity);
+            this.ends = Arrays.copyOf(this.ends, capacity);
+            this.details = Arrays.copyOf(this.details, capacity);
+        }
+        this.shift(index, index + 1, this.size - index);
+        this.write(index, task);
+        this.size++;
+        this.modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = this.get(index);
+        this.shift(index + 1, index, this.size - index - 1);
+        this.size--;
+        this.details[this.size] = null;
+        this.modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes the tasks at the positions, which must be distinct and in ascending order, shifting each column once
+     * instead of once for every task removed.
+     *
+     * @param sortedIndexes the positions of the tasks to remove, in ascending order.
+     */
+    public void removeAll(int[] sortedIndexes) {
+        if (sortedIndexes.length == 0) {
+            return;
+        }
+        this.checkIndex(sortedIndexes[0], this.size);
+        this.checkIndex(sortedIndexes[sortedIndexes.length - 1], this.size);
+        int to = sortedIndexes[0];
+        for (int i = 0; i < sortedIndexes.length; i++) {
+            int from = sortedIndexes[i] + 1;
+            int end = i + 1 < sortedIndexes.length ? sortedIndexes[i + 1] : this.size;
+            this.shift(from, to, end - from);
+            to += end - from;
+        }
+        Arrays.fill(this.details, to, this.size, null);
+        this.size = to;
+        this.modCount++;
+    }
+
+    /**
+     * Checks whether the details of the task at the position contain the given String, the same as
+     * {@link Task#isContains}, straight from the details column without creating a view of the task.
+     *
+     * @param index position of the task.
+     * @param str the String to search for.
+     * @return true if the details contain the String.
+     */
+    public boolean isContains(int index, String str) {
+        this.checkIndex(index, this.size);
+        return DetailsDictionary.contains(this.details[index], (this.flags[index] & LATIN1_FLAG) != 0, str);
+    }
+
+    /**
+     * Finds the position of the task with the given id by a binary search over the id column, which only works while
+     * the ids are in ascending order, as they are in a {@link duke.tasklist.TaskList}.
+     *
+     * @param id id of the task.
+     * @return the position of the task, or a negative number if no task has the id.
+     */
+    public int indexOfId(long id) {
+        return Arrays.binarySearch(this.ids, 0, this.size, id);
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(this.flags, from, this.flags, to, length);
+        System.arraycopy(this.ids, from, this.ids, to, length);
+        System.arraycopy(this.starts, from, this.starts, to, length);
+        System.arraycopy(this.ends, from, this.ends, to, length);
+        System.arraycopy(this.details, from, this.details, to, length);
+    }
+
+    private void write(int index, Task task) {
+        int flag = task.getType().ordinal();
+        if (task.isCompleted()) {
+            flag |= COMPLETED_FLAG;
+        }
+        if (task.isDetailsLatin1()) {
+            flag |= LATIN1_FLAG;
+        }
+        this.flags[index] = (byte) flag;
+        this.ids[index] = task.getId();
+        this.details[index] = task.getEncodedDetails();
+        this.starts[index] = 0;
+        this.ends[index] = 0;
+        if (task instanceof Deadline) {
+            this.starts[index] = toEpochSecond(((Deadline) task).getDeadline());
+        } else if (task instanceof Event) {
+            this.starts[index] = toEpochSecond(((Event) task).getStartDateTime());
+            this.ends[index] = toEpochSecond(((Event) task).getEndDateTime());
+        }
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
@@ -37,10 +37,35 @@ public class Deadline extends Task {
      */
     public Deadline(String[] data) {
         super(data[2]);
+        this.setType(Types.DEADLINE);
         this.setCompleted(Objects.equals(data[1], "X"));
         this.deadline = LocalDateTime.parse(data[3]);
     }
 
+    /**
+     * Represents a Deadline task in Duke that was stored in the database.
+     *
+     * @param task the task details.
+     * @param deadline the deadline the task should be completed by.
+     * @param isCompleted true when the task is completed, false if not.
+     */
+    public Deadline(String task, LocalDateTime deadline, boolean isCompleted) {
+        super(task);
+        this.setType(Types.DEADLINE);
+        this.setCompleted(isCompleted);
+        this.deadline = deadline;
+    }
+
+    Deadline(byte[] details, boolean isLatin1, LocalDateTime deadline) {
+        super(details, isLatin1);
+        this.setType(Types.DEADLINE);
+        this.deadline = deadline;
+    }
+
+    public LocalDateTime getDeadline() {
+        return this.deadline;
+    }
+
     /**
      * @return the status of the Deadline task with its time formatted.
      */
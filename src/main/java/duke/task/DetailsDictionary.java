@@ -0,0 +1,160 @@
+package duke.task;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents the dictionary that the details of every task are interned in, so that tasks with the same details share
+ * a single copy of them.
+ *
+ * Details are kept as a byte[] instead of a String, which drops the String object around each copy. Details that only
+ * use Latin-1 characters take one byte per character, and any other details are encoded in UTF-8. The dictionary
+ * only holds its entries weakly, so details that no task uses any more are garbage collected, and can be interned
+ * from several threads at once.
+ */
+final class DetailsDictionary {
+
+    private static final ConcurrentHashMap<Entry, Entry> ENTRIES = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<byte[]> CLEARED = new ReferenceQueue<>();
+    private static final int MAX_LATIN1 = 0xFF;
+
+    private DetailsDictionary() {
+    }
+
+    /**
+     * Checks whether the details only use Latin-1 characters, and can therefore be stored with one byte each.
+     *
+     * @param details the details of a task.
+     * @return true if every character of the details is a Latin-1 character.
+     */
+    static boolean isLatin1(String details) {
+        for (int i = 0; i < details.length(); i++) {
+            if (details.charAt(i) > MAX_LATIN1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes the details and returns the copy of them held in the dictionary, adding them to it if no task holds the
+     * same details yet.
+     *
+     * @param details the details of a task.
+     * @param isLatin1 whether the details only use Latin-1 characters.
+     * @return the encoded details shared by every task with the same details.
+     */
+    static byte[] intern(String details, boolean isLatin1) {
+        expungeCleared();
+        byte[] encoded = isLatin1 ? details.getBytes(StandardCharsets.ISO_8859_1)
+                : details.getBytes(StandardCharsets.UTF_8);
+        Entry entry = new Entry(encoded, isLatin1);
+        while (true) {
+            Entry existing = ENTRIES.putIfAbsent(entry, entry);
+            if (existing == null) {
+                return encoded;
+            }
+            byte[] canonical = existing.get();
+            if (canonical != null) {
+                return canonical;
+            }
+            // Collected since it was looked up, but not expunged yet.
+            ENTRIES.remove(existing, existing);
+        }
+    }
+
+    /**
+     * @param details the encoded details of a task.
+     * @param isLatin1 whether the details were encoded in Latin-1.
+     * @return the details as a String.
+     */
+    static String decode(byte[] details, boolean isLatin1) {
+        return new String(details, isLatin1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param details the encoded details of a task.
+     * @param isLatin1 whether the details were encoded in Latin-1.
+     * @return the details encoded in UTF-8, which are the same array if they are in UTF-8 or only use ASCII.
+     */
+    static byte[] toUtf8(byte[] details, boolean isLatin1) {
+        if (isLatin1) {
+            for (byte b : details) {
+                if (b < 0) {
+                    return decode(details, true).getBytes(StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return details;
+    }
+
+    /**
+     * Checks whether the details contain the given String, the same as {@link String#contains}. Details in Latin-1
+     * are searched without decoding them.
+     *
+     * @param details the encoded details of a task.
+     * @param isLatin1 whether the details were encoded in Latin-1.
+     * @param str the String to search for.
+     * @return true if the details contain the String.
+     */
+    static boolean contains(byte[] details, boolean isLatin1, String str) {
+        if (!isLatin1) {
+            return decode(details, false).contains(str);
+        }
+        int last = details.length - str.length();
+        for (int start = 0; start <= last; start++) {
+            int i = 0;
+            while (i < str.length() && (details[start + i] & MAX_LATIN1) == str.charAt(i)) {
+                i++;
+            }
+            if (i == str.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void expungeCleared() {
+        for (Object cleared = CLEARED.poll(); cleared != null; cleared = CLEARED.poll()) {
+            ENTRIES.remove(cleared, cleared);
+        }
+    }
+
+    /**
+     * An entry of the dictionary, which compares equal to any entry holding the same details. Once its details have
+     * been collected, an entry is only equal to itself, so that it can still be removed.
+     */
+    private static class Entry extends WeakReference<byte[]> {
+        private final boolean isLatin1;
+        private final int hash;
+
+        Entry(byte[] details, boolean isLatin1) {
+            super(details, CLEARED);
+            this.isLatin1 = isLatin1;
+            this.hash = Arrays.hashCode(details) * 31 + Boolean.hashCode(isLatin1);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Entry)) {
+                return false;
+            }
+            Entry entry = (Entry) other;
+            byte[] details = this.get();
+            byte[] otherDetails = entry.get();
+            return details != null && otherDetails != null && this.hash == entry.hash
+                    && this.isLatin1 == entry.isLatin1 && Arrays.equals(details, otherDetails);
+        }
+    }
+}
@@ -40,11 +40,43 @@ public class Event extends Task {
      */
     public Event(String[] data) {
         super(data[2]);
+        this.setType(Types.EVENT);
         this.setCompleted(Objects.equals(data[1], "X"));
         this.startDateTime = LocalDateTime.parse(data[3]);
         this.endDateTime = LocalDateTime.parse(data[4]);
     }
 
+    /**
+     * Represents an Event task in Duke that was stored in the database.
+     *
+     * @param task task details.
+     * @param startDateTime start date and time of the event.
+     * @param endDateTime end date and time of the event.
+     * @param isCompleted true when the task is completed, false if not.
+     */
+    public Event(String task, LocalDateTime startDateTime, LocalDateTime endDateTime, boolean isCompleted) {
+        super(task);
+        this.setType(Types.EVENT);
+        this.setCompleted(isCompleted);
+        this.startDateTime = startDateTime;
+        this.endDateTime = endDateTime;
+    }
+
+    Event(byte[] details, boolean isLatin1, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        super(details, isLatin1);
+        this.setType(Types.EVENT);
+        this.startDateTime = startDateTime;
+        this.endDateTime = endDateTime;
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return this.startDateTime;
+    }
+
+    public LocalDateTime getEndDateTime() {
+        return this.endDateTime;
+    }
+
     /**
      * @return the status of the Event task with its time formatted.
      */
@@ -4,22 +4,46 @@ import java.util.ArrayList;
 
 /**
  * Represents the abstract Task class that all tasks in Duke inherit from.
+ *
+ * A task never changes once it has been created, as the same task can be held by several versions of the task list
+ * at once. Changing a task instead gives a changed copy of it, such as through {@link #withCompleted(boolean)}, which
+ * then replaces it in the task list.
  */
-public abstract class Task {
+public abstract class Task implements Cloneable {
 
     /** true when the task is completed, false if not. */
     private boolean isCompleted;
 
-    /** Details of the task. */
-    private String details;
+    /**
+     * Details of the task, encoded and interned through the {@link DetailsDictionary} so that tasks with the same
+     * details share them.
+     */
+    private byte[] details;
+
+    /** true when the details are encoded in Latin-1, false if in UTF-8. */
+    private boolean isLatin1;
 
     /** Type of task. */
     private Types type;
 
+    /** Stable identifier of the task, which stays the same when other tasks are deleted. 0 until one is given. */
+    private long id;
+
     /** Generic constructor, defaults as false for isCompleted and takes in the task details. */
     public Task(String task) {
         this.isCompleted = false;
-        this.details = task;
+        this.setDetails(task);
+    }
+
+    /**
+     * Represents a task whose details were already interned, such as a view of a row of a {@link ColumnarTaskList}.
+     *
+     * @param details the interned details of the task.
+     * @param isLatin1 whether the details are encoded in Latin-1.
+     */
+    Task(byte[] details, boolean isLatin1) {
+        this.details = details;
+        this.isLatin1 = isLatin1;
     }
 
     public abstract String getStatus();
@@ -33,33 +57,108 @@ public abstract class Task {
         return this.isCompleted;
     }
 
-    /** Marks the task as complete. */
-    public void setComplete() {
-        this.isCompleted = true;
+    /** Only run on a task that no one else holds yet, such as one being created or copied. */
+    void setCompleted(boolean isCompleted) {
+        this.isCompleted = isCompleted;
+    }
+    public boolean getCompleted() {
+        return this.isCompleted;
     }
 
-    /** Marks the task as incomplete */
-    public void setIncomplete() {
-        this.isCompleted = false;
+    /**
+     * Returns a copy of the task marked as complete or incomplete, leaving the task itself as it is.
+     *
+     * @param isCompleted true when the copy is completed, false if not.
+     * @return the changed copy of the task, with the same id.
+     */
+    public Task withCompleted(boolean isCompleted) {
+        Task copy = this.copy();
+        copy.setCompleted(isCompleted);
+        return copy;
     }
 
+    /**
+     * Returns a copy of the task with new details, leaving the task itself as it is.
+     *
+     * @param details new details of the task.
+     * @return the changed copy of the task, with the same id.
+     */
+    public Task withDetails(String details) {
+        Task copy = this.copy();
+        copy.setDetails(details);
+        return copy;
+    }
 
-    public void setCompleted(boolean isCompleted) {
-        this.isCompleted = isCompleted;
+    /**
+     * Returns a copy of the task with its stable identifier. Usually only done by the taskList the task is added to,
+     * or when the task is read back from the database.
+     *
+     * @param id identifier of the task, greater than 0.
+     * @return the copy of the task with the id.
+     */
+    public Task withId(long id) {
+        Task copy = this.copy();
+        copy.setId(id);
+        return copy;
     }
-    public boolean getCompleted() {
-        return this.isCompleted;
+
+    private Task copy() {
+        try {
+            return (Task) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
     }
+
+    /**
+     * @return the details of the task, decoded from the interned details on every call so that no task keeps a String
+     *     of them.
+     */
     public String getDetails() {
-        return details;
+        return DetailsDictionary.decode(this.details, this.isLatin1);
+    }
+
+    /**
+     * Returns the details of the task encoded in UTF-8, such as for saving them, without decoding them first when
+     * they are already stored in UTF-8 or only use ASCII characters. The array may be shared with other tasks, and
+     * must not be changed.
+     *
+     * @return the details of the task in UTF-8.
+     */
+    public byte[] getDetailsUtf8() {
+        return DetailsDictionary.toUtf8(this.details, this.isLatin1);
     }
     public boolean isContains(String str) {
-        return this.details.contains(str);
+        return DetailsDictionary.contains(this.details, this.isLatin1, str);
     }
-    public void setDetails(String details) {
-        this.details = details;
+    byte[] getEncodedDetails() {
+        return this.details;
+    }
+    boolean isDetailsLatin1() {
+        return this.isLatin1;
+    }
+    /** Only run on a task that no one else holds yet, such as one being created or copied. */
+    void setDetails(String details) {
+        this.isLatin1 = DetailsDictionary.isLatin1(details);
+        this.details = DetailsDictionary.intern(details, this.isLatin1);
     }
-    public void setType(Types type) {
+    void setType(Types type) {
         this.type = type;
     }
+    public Types getType() {
+        return this.type;
+    }
+
+    /**
+     * @return the stable identifier of the task, or 0 if it has not been given one yet.
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    /** Only run on a task that no one else holds yet, such as one being created or copied. */
+    void setId(long id) {
+        assert id > 0;
+        this.id = id;
+    }
 }
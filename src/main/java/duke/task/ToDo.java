@@ -26,10 +26,27 @@ public class ToDo extends Task {
      */
     public ToDo(String[] data) {
         super(data[2]);
+        this.setType(Types.TODO);
         this.setCompleted(Objects.equals(data[1], "X"));
         this.setDetails(data[2]);
     }
 
+    /**
+     * Represents a ToDo task in Duke that was stored in the database.
+     *
+     * @param task the task details.
+     * @param isCompleted true when the task is completed, false if not.
+     */
+    public ToDo(String task, boolean isCompleted) {
+        this(task);
+        this.setCompleted(isCompleted);
+    }
+
+    ToDo(byte[] details, boolean isLatin1) {
+        super(details, isLatin1);
+        this.setType(Types.TODO);
+    }
+
     /**
      * Returns the status of the ToDo task.
      */
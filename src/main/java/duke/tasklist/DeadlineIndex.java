@@ -0,0 +1,72 @@
+package duke.tasklist;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import duke.task.Deadline;
+import duke.task.Task;
+
+/**
+ * Represents an index of the Deadline tasks sorted by their deadline, keyed on the epoch second of the deadline.
+ *
+ * The tasks due in a range are found by a search for the start of the range in the tree and a walk to its end, in
+ * O(log n + k) time for k tasks found. Tasks due at the same time are kept in the order they are shown in.
+ */
+class DeadlineIndex implements IncrementalIndex {
+
+    private final TreeMap<Long, List<Deadline>> deadlinesByTime = new TreeMap<>();
+
+    @Override
+    public void add(Task task) {
+        if (!(task instanceof Deadline)) {
+            return;
+        }
+        List<Deadline> deadlines = this.deadlinesByTime.computeIfAbsent(toKey(((Deadline) task).getDeadline()),
+                key -> new ArrayList<>(1));
+        int index = deadlines.size();
+        while (index > 0 && deadlines.get(index - 1).getId() > task.getId()) {
+            index--;
+        }
+        deadlines.add(index, (Deadline) task);
+    }
+
+    @Override
+    public void remove(Task task) {
+        if (!(task instanceof Deadline)) {
+            return;
+        }
+        long key = toKey(((Deadline) task).getDeadline());
+        List<Deadline> deadlines = this.deadlinesByTime.get(key);
+        // Compared by id, as the task may be another view of the same row of a ColumnarTaskList.
+        if (deadlines != null && deadlines.removeIf(deadline -> deadline.getId() == task.getId())
+                && deadlines.isEmpty()) {
+            this.deadlinesByTime.remove(key);
+        }
+    }
+
+    /**
+     * Finds the Deadline tasks due within the range, including both ends.
+     *
+     * @param from start of the range, or null to find every task due up to the end of the range.
+     * @param to end of the range.
+     * @return the tasks found, sorted by their deadline.
+     */
+    List<Deadline> find(LocalDateTime from, LocalDateTime to) {
+        List<Deadline> found = new ArrayList<>();
+        if (from != null && from.isAfter(to)) {
+            return found;
+        }
+        for (List<Deadline> deadlines : (from == null ? this.deadlinesByTime.headMap(toKey(to), true)
+                : this.deadlinesByTime.subMap(toKey(from), true, toKey(to), true)).values()) {
+            found.addAll(deadlines);
+        }
+        return found;
+    }
+
+    private static long toKey(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
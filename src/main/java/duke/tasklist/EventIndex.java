@@ -0,0 +1,187 @@
+package duke.tasklist;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.task.Event;
+import duke.task.Task;
+
+/**
+ * Represents an interval tree of the Event tasks, for finding the events that overlap a window of time.
+ *
+ * The events are kept in an AVL tree sorted by their start, then by their id, and every node keeps the latest end of
+ * the events in its subtree. A search skips every subtree that ends before the window does and every right subtree
+ * that starts after it, so the events overlapping a window are found in O(log n + k) time for k events found. Times
+ * are compared as epoch seconds, and an event only overlaps a window if it starts before the window ends and ends
+ * after the window starts, so events that only touch end to end do not overlap.
+ */
+class EventIndex implements IncrementalIndex {
+
+    private Node root;
+
+    @Override
+    public void add(Task task) {
+        if (task instanceof Event) {
+            this.root = insert(this.root, new Node((Event) task));
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        if (task instanceof Event) {
+            Event event = (Event) task;
+            this.root = remove(this.root, toKey(event.getStartDateTime()), event.getId());
+        }
+    }
+
+    /**
+     * Finds the Event tasks that overlap the window. A window that ends before it starts is empty, so no event overlaps
+     * it.
+     *
+     * @param from start of the window.
+     * @param to end of the window.
+     * @return the events found, sorted by their start.
+     */
+    List<Event> find(LocalDateTime from, LocalDateTime to) {
+        List<Event> found = new ArrayList<>();
+        if (from.isAfter(to)) {
+            return found;
+        }
+        find(this.root, toKey(from), toKey(to), found);
+        return found;
+    }
+
+    private static void find(Node node, long from, long to, List<Event> found) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        find(node.left, from, to, found);
+        if (node.start >= to) {
+            // Every event in the right subtree starts even later.
+            return;
+        }
+        if (node.end > from) {
+            found.add(node.event);
+        }
+        find(node.right, from, to, found);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return update(added);
+        }
+        if (compare(added.start, added.event.getId(), node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return balance(node);
+    }
+
+    private static Node remove(Node node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(start, id, node);
+        if (comparison < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (comparison > 0) {
+            node.right = remove(node.right, start, id);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else {
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeFirst(node.right);
+            successor.left = node.left;
+            return balance(successor);
+        }
+        return balance(node);
+    }
+
+    private static Node removeFirst(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeFirst(node.left);
+        return balance(node);
+    }
+
+    private static int compare(long start, long id, Node node) {
+        int comparison = Long.compare(start, node.start);
+        return comparison != 0 ? comparison : Long.compare(id, node.event.getId());
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        } else if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = update(node);
+        return update(right);
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = update(node);
+        return update(left);
+    }
+
+    private static Node update(Node node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        node.maxEnd = node.end;
+        if (node.left != null) {
+            node.maxEnd = Math.max(node.maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            node.maxEnd = Math.max(node.maxEnd, node.right.maxEnd);
+        }
+        return node;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static long toKey(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static class Node {
+        private final Event event;
+        private final long start;
+        private final long end;
+        private long maxEnd;
+        private int height;
+        private Node left;
+        private Node right;
+
+        Node(Event event) {
+            this.event = event;
+            this.start = toKey(event.getStartDateTime());
+            this.end = toKey(event.getEndDateTime());
+        }
+    }
+}
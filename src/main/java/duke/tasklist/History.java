@@ -0,0 +1,119 @@
+package duke.tasklist;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import duke.task.Task;
+
+/**
+ * Represents the earlier and later versions of the tasks that a change can be undone or redone to.
+ *
+ * Each version is a snapshot of a {@link TreeList}, which shares every node it has in common with the versions next
+ * to it, so keeping a version only costs the nodes and tasks that the change after it replaced. That cost is
+ * estimated for every version, and the oldest versions are dropped once the versions kept cost more than the budget,
+ * so the history is as deep as the memory it is given allows rather than a fixed number of changes.
+ */
+class History {
+
+    /** The memory the versions may take up unless given a budget of their own, in bytes. */
+    static final long DEFAULT_BUDGET = 16L << 20;
+
+    private final Deque<Version> undoVersions = new ArrayDeque<>();
+    private final Deque<Version> redoVersions = new ArrayDeque<>();
+    private long budget = DEFAULT_BUDGET;
+    private long numOfBytes;
+
+    /**
+     * Sets the memory the versions may take up, dropping the oldest versions until they fit.
+     *
+     * @param budget the memory the versions may take up, in bytes.
+     */
+    void setBudget(long budget) {
+        this.budget = budget;
+        this.trim();
+    }
+
+    /**
+     * Keeps the version from before a change, so that the change can be undone. Any version that was undone is
+     * dropped, as it can no longer be redone.
+     *
+     * @param tasks the tasks before the change.
+     * @param numOfBytes the memory the tasks take up that the tasks after the change do not share.
+     */
+    void push(TreeList<Task> tasks, long numOfBytes) {
+        this.numOfBytes -= sum(this.redoVersions);
+        this.redoVersions.clear();
+        this.undoVersions.push(new Version(tasks, numOfBytes));
+        this.numOfBytes += numOfBytes;
+        this.trim();
+    }
+
+    /**
+     * Takes the version from before the last change, keeping the current version so that the change can be redone.
+     *
+     * @param current the tasks as they are now.
+     * @return the tasks before the last change, or null if there is no change to undo.
+     */
+    TreeList<Task> undo(TreeList<Task> current) {
+        return move(this.undoVersions, this.redoVersions, current);
+    }
+
+    /**
+     * Takes the version from after the last change undone, keeping the current version so that it can be undone
+     * again.
+     *
+     * @param current the tasks as they are now.
+     * @return the tasks after the last change undone, or null if there is no change to redo.
+     */
+    TreeList<Task> redo(TreeList<Task> current) {
+        return move(this.redoVersions, this.undoVersions, current);
+    }
+
+    /**
+     * @return the estimated memory the versions kept take up, in bytes.
+     */
+    long getNumOfBytes() {
+        return this.numOfBytes;
+    }
+
+    /**
+     * Moves a version from one stack to the other. The current version differs from the version taken by the same
+     * change, so it costs as much to keep as the version taken did.
+     */
+    private static TreeList<Task> move(Deque<Version> from, Deque<Version> to, TreeList<Task> current) {
+        Version version = from.poll();
+        if (version == null) {
+            return null;
+        }
+        to.push(new Version(current, version.numOfBytes));
+        return version.tasks;
+    }
+
+    /** Drops the oldest versions that can be undone, then the furthest that can be redone, until they fit. */
+    private void trim() {
+        while (this.numOfBytes > this.budget && !this.undoVersions.isEmpty()) {
+            this.numOfBytes -= this.undoVersions.removeLast().numOfBytes;
+        }
+        while (this.numOfBytes > this.budget && !this.redoVersions.isEmpty()) {
+            this.numOfBytes -= this.redoVersions.removeLast().numOfBytes;
+        }
+    }
+
+    private static long sum(Deque<Version> versions) {
+        long sum = 0;
+        for (Version version : versions) {
+            sum += version.numOfBytes;
+        }
+        return sum;
+    }
+
+    private static class Version {
+        private final TreeList<Task> tasks;
+        private final long numOfBytes;
+
+        Version(TreeList<Task> tasks, long numOfBytes) {
+            this.tasks = tasks;
+            this.numOfBytes = numOfBytes;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package duke.tasklist;
+
+import duke.task.Task;
+
+/**
+ * Represents an index over the tasks in a TaskList, which is kept up to date by every change to the tasks instead
+ * of being built again.
+ */
+interface IncrementalIndex {
+
+    /**
+     * Adds the task to the index.
+     *
+     * @param task task that was added to the task list or given new details.
+     */
+    void add(Task task);
+
+    /**
+     * Removes the task from the index. Must be called before the task changes.
+     *
+     * @param task task that was deleted from the task list or is about to be given new details.
+     */
+    void remove(Task task);
+}
@@ -0,0 +1,194 @@
+package duke.tasklist;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Task;
+
+/**
+ * Represents the reminders of the Deadline tasks that are nearly due and the Event tasks that are about to start.
+ *
+ * Every task that is not completed yet and is due or starts after the current time is given a reminder for the lead
+ * time before then. The reminders are kept in a tree keyed on the epoch second they are due, so adding or cancelling
+ * one takes O(log n) time, and the reminders that are due are taken from the front of the tree without looking at any
+ * other task. The scheduler is kept up to date by the TaskList like any other index, so a task's reminder is cancelled
+ * when it is marked as complete or deleted. A task is only reminded once, even though every change to it, and every
+ * undo or redo, adds it to the scheduler again, as the time of every reminder that fired is kept until the task is due.
+ *
+ * Time is read from the clock given to the scheduler, so a test can move the clock forward and run
+ * {@link #fireDueReminders()} to go through months of reminders at once. Otherwise a background thread started with
+ * {@link #start()} sleeps until the next reminder is due.
+ */
+public class ReminderScheduler implements IncrementalIndex {
+
+    /** How long before a task is due or starts that it is reminded of, unless given a lead time of its own. */
+    public static final Duration DEFAULT_LEAD_TIME = Duration.ofHours(1);
+    /** The longest the thread sleeps before reading the clock again, in case the clock was changed. */
+    private static final long MAX_SLEEP_MILLIS = 60_000;
+
+    private final Clock clock;
+    private final Duration leadTime;
+    private final Consumer<Task> listener;
+    private final TreeMap<Long, List<Task>> remindersByTime = new TreeMap<>();
+    /** The time of the reminder that fired for each task, kept until the task is due or starts. */
+    private final HashMap<Long, Long> firedKeysById = new HashMap<>();
+    private Thread thread;
+    private boolean isStopping;
+
+    /**
+     * Represents the reminders of the tasks, which are given to the listener once they are due.
+     *
+     * @param clock the clock that the reminders are due by.
+     * @param leadTime how long before a task is due or starts that it is reminded of.
+     * @param listener given every task that is due to be reminded of, on the thread that fired the reminder.
+     */
+    public ReminderScheduler(Clock clock, Duration leadTime, Consumer<Task> listener) {
+        this.clock = clock;
+        this.leadTime = leadTime;
+        this.listener = listener;
+    }
+
+    @Override
+    public synchronized void add(Task task) {
+        LocalDateTime time = timeOf(task);
+        if (time == null || task.isCompleted() || !time.isAfter(LocalDateTime.now(this.clock))) {
+            return;
+        }
+        long key = toKey(time.minus(this.leadTime));
+        Long firedKey = this.firedKeysById.get(task.getId());
+        if (firedKey != null && firedKey == key) {
+            return;
+        }
+        boolean isFirst = this.remindersByTime.isEmpty() || key < this.remindersByTime.firstKey();
+        this.remindersByTime.computeIfAbsent(key, unused -> new ArrayList<>(1)).add(task);
+        if (isFirst) {
+            // Wake the thread, which may be sleeping until a later reminder.
+            this.notifyAll();
+        }
+    }
+
+    @Override
+    public synchronized void remove(Task task) {
+        LocalDateTime time = timeOf(task);
+        if (time == null) {
+            return;
+        }
+        long key = toKey(time.minus(this.leadTime));
+        List<Task> reminders = this.remindersByTime.get(key);
+        // Compared by id, as the task may be another view of the same row of a ColumnarTaskList.
+        if (reminders != null && reminders.removeIf(reminder -> reminder.getId() == task.getId())
+                && reminders.isEmpty()) {
+            this.remindersByTime.remove(key);
+        }
+    }
+
+    /**
+     * Cancels every reminder, such as before the tasks are set back to an earlier version and added again. The
+     * reminders that already fired are kept, so those tasks are not reminded again once they are added back.
+     */
+    synchronized void clear() {
+        this.remindersByTime.clear();
+    }
+
+    /**
+     * Gives the listener every task whose reminder is due by the clock, earliest first, and cancels their reminders.
+     *
+     * @return the number of tasks reminded of.
+     */
+    public int fireDueReminders() {
+        List<Task> due = new ArrayList<>();
+        synchronized (this) {
+            long now = toKey(LocalDateTime.now(this.clock));
+            while (!this.remindersByTime.isEmpty() && this.remindersByTime.firstKey() <= now) {
+                Map.Entry<Long, List<Task>> reminders = this.remindersByTime.pollFirstEntry();
+                for (Task task : reminders.getValue()) {
+                    this.firedKeysById.put(task.getId(), reminders.getKey());
+                }
+                due.addAll(reminders.getValue());
+            }
+            // Tasks that are already due or have started are never added again, so their reminders are forgotten.
+            long leadSeconds = this.leadTime.getSeconds();
+            this.firedKeysById.values().removeIf(key -> key + leadSeconds <= now);
+        }
+        // The listener is run without holding the monitor, so that it can never hold up a change to the tasks.
+        for (Task task : due) {
+            this.listener.accept(task);
+        }
+        return due.size();
+    }
+
+    /**
+     * Starts a background thread that fires every reminder once it is due.
+     */
+    public synchronized void start() {
+        this.thread = new Thread(this::run, "duke-reminders");
+        // Closing the window without saying bye should not keep Duke running.
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Stops the background thread, waiting for it to fire any reminders it is in the middle of.
+     *
+     * @throws InterruptedException thrown when interrupted while waiting for the thread to finish.
+     */
+    public void stop() throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            this.isStopping = true;
+            this.notifyAll();
+            thread = this.thread;
+        }
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                this.fireDueReminders();
+                synchronized (this) {
+                    if (this.isStopping) {
+                        return;
+                    }
+                    long sleepMillis = MAX_SLEEP_MILLIS;
+                    Map.Entry<Long, List<Task>> next = this.remindersByTime.firstEntry();
+                    if (next != null) {
+                        long untilNext = (next.getKey() - toKey(LocalDateTime.now(this.clock))) * 1000;
+                        sleepMillis = Math.max(1, Math.min(sleepMillis, untilNext));
+                    }
+                    this.wait(sleepMillis);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the deadline of a Deadline task, the start of an Event task, or null for any other task.
+     */
+    private static LocalDateTime timeOf(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getDeadline();
+        } else if (task instanceof Event) {
+            return ((Event) task).getStartDateTime();
+        }
+        return null;
+    }
+
+    private static long toKey(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,65 @@
+package duke.tasklist;
+
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Task;
+
+/**
+ * Represents an order that the tasks can be listed in, and which tasks are listed in it. Tasks that are equal in the
+ * order are listed in the order they were added.
+ */
+public enum SortOrder {
+    DEADLINE("deadline", task -> task instanceof Deadline,
+            Comparator.comparing(task -> ((Deadline) task).getDeadline())),
+    START("start", task -> task instanceof Event,
+            Comparator.comparing(task -> ((Event) task).getStartDateTime())),
+    STATUS("status", task -> true,
+            Comparator.comparing(Task::isCompleted));
+
+    private final String identifier;
+    private final Predicate<Task> filter;
+    private final Comparator<Task> comparator;
+
+    SortOrder(String identifier, Predicate<Task> filter, Comparator<Task> comparator) {
+        this.identifier = identifier;
+        this.filter = filter;
+        this.comparator = comparator.thenComparingLong(Task::getId);
+    }
+
+    /**
+     * Finds the order with the given identifier, such as "deadline".
+     *
+     * @param identifier identifier of the order.
+     * @return the order, or null if no order has the identifier.
+     */
+    public static SortOrder of(String identifier) {
+        for (SortOrder order : values()) {
+            if (order.identifier.equals(identifier)) {
+                return order;
+            }
+        }
+        return null;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * @param task a task in the TaskList.
+     * @return whether the task is listed in this order, such as only Deadline tasks when sorted by deadline.
+     */
+    boolean isListed(Task task) {
+        return this.filter.test(task);
+    }
+
+    /**
+     * @return the comparator of the tasks listed in this order, which never finds two different tasks equal.
+     */
+    Comparator<Task> getComparator() {
+        return this.comparator;
+    }
+}
@@ -0,0 +1,51 @@
+package duke.tasklist;
+
+import java.util.List;
+
+import duke.task.Task;
+
+/**
+ * Represents the tasks of a TaskList kept sorted in a {@link SortOrder}, so that they can be listed in that order
+ * without being sorted again.
+ *
+ * The tasks are kept in a {@link TreeList}, where a task is added or removed at the position found by a search down
+ * the tree in O(log n) time. As the TreeList can take snapshots, a sorted listing can be read without holding the
+ * lock of the TaskList, and a page of it read in O(log n) time for each task on the page.
+ */
+class SortedView implements IncrementalIndex {
+
+    private final SortOrder order;
+    private final TreeList<Task> tasks = new TreeList<>();
+
+    SortedView(SortOrder order) {
+        this.order = order;
+    }
+
+    @Override
+    public void add(Task task) {
+        if (!this.order.isListed(task)) {
+            return;
+        }
+        int index = this.tasks.search(task, this.order.getComparator());
+        this.tasks.add(index < 0 ? -index - 1 : index, task);
+    }
+
+    @Override
+    public void remove(Task task) {
+        if (!this.order.isListed(task)) {
+            return;
+        }
+        // Compared by value and id, as the task may be another view of the same row of a ColumnarTaskList.
+        int index = this.tasks.search(task, this.order.getComparator());
+        if (index >= 0) {
+            this.tasks.remove(index);
+        }
+    }
+
+    /**
+     * @return an unmodifiable snapshot of the tasks in the order, which later changes leave as they are.
+     */
+    List<Task> snapshot() {
+        return this.tasks.snapshot();
+    }
+}
@@ -0,0 +1,130 @@
+package duke.tasklist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import duke.task.Task;
+
+/**
+ * Represents an inverted index from the keys found in the details of the tasks to the ids of the tasks with them.
+ *
+ * Each key keeps a posting list of the ids of its tasks in ascending order, which is also the order the tasks are
+ * shown in. The tasks with every key of a query are found by walking the shortest posting list and searching the
+ * others, in time that depends on the length of the shortest list rather than the number of tasks.
+ *
+ * @param <K> the type of the keys, such as the words in the details.
+ */
+abstract class TaskIndex<K> implements IncrementalIndex {
+
+    private final Map<K, Postings> postingsByKey = new HashMap<>();
+
+    /**
+     * Finds the distinct keys in the details of a task or in a query.
+     *
+     * @param str details of a task or a query.
+     * @return the distinct keys of the String.
+     */
+    abstract Collection<K> keysOf(String str);
+
+    /**
+     * Adds the keys in the details of the task to the index.
+     */
+    @Override
+    public void add(Task task) {
+        for (K key : this.keysOf(task.getDetails())) {
+            this.postingsByKey.computeIfAbsent(key, unused -> new Postings()).add(task.getId());
+        }
+    }
+
+    /**
+     * Removes the keys in the details of the task from the index.
+     */
+    @Override
+    public void remove(Task task) {
+        for (K key : this.keysOf(task.getDetails())) {
+            Postings postings = this.postingsByKey.get(key);
+            if (postings != null && postings.remove(task.getId()) && postings.size == 0) {
+                this.postingsByKey.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Finds the ids of the tasks with every one of the keys.
+     *
+     * @param keys the distinct keys of the query.
+     * @return the ids of the tasks found, in ascending order.
+     */
+    long[] find(Collection<K> keys) {
+        List<Postings> postingsList = new ArrayList<>();
+        for (K key : keys) {
+            Postings postings = this.postingsByKey.get(key);
+            if (postings == null) {
+                return new long[0];
+            }
+            postingsList.add(postings);
+        }
+        if (postingsList.isEmpty()) {
+            return new long[0];
+        }
+        postingsList.sort(Comparator.comparingInt(postings -> postings.size));
+        Postings shortest = postingsList.get(0);
+        long[] found = new long[shortest.size];
+        int numOfFound = 0;
+        for (int i = 0; i < shortest.size; i++) {
+            long id = shortest.ids[i];
+            boolean isInAll = true;
+            for (int j = 1; j < postingsList.size() && isInAll; j++) {
+                isInAll = postingsList.get(j).indexOf(id) >= 0;
+            }
+            if (isInAll) {
+                found[numOfFound++] = id;
+            }
+        }
+        return Arrays.copyOf(found, numOfFound);
+    }
+
+    /** Represents the ids of the tasks with a key, in ascending order. */
+    private static class Postings {
+        private long[] ids = new long[2];
+        private int size;
+
+        void add(long id) {
+            if (this.size == this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, this.size * 2);
+            }
+            if (this.size == 0 || this.ids[this.size - 1] < id) {
+                // Tasks are added with ascending ids, so this is the usual case.
+                this.ids[this.size++] = id;
+                return;
+            }
+            int index = this.indexOf(id);
+            if (index >= 0) {
+                return;
+            }
+            int insertionPoint = -index - 1;
+            System.arraycopy(this.ids, insertionPoint, this.ids, insertionPoint + 1, this.size - insertionPoint);
+            this.ids[insertionPoint] = id;
+            this.size++;
+        }
+
+        boolean remove(long id) {
+            int index = this.indexOf(id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(this.ids, index + 1, this.ids, index, this.size - index - 1);
+            this.size--;
+            return true;
+        }
+
+        int indexOf(long id) {
+            return Arrays.binarySearch(this.ids, 0, this.size, id);
+        }
+    }
+}
@@ -1,39 +1,139 @@
 package duke.tasklist;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import duke.database.TaskSource;
+import duke.exception.tasklistexceptions.TaskListNothingToRedoException;
+import duke.exception.tasklistexceptions.TaskListNothingToUndoException;
+import duke.exception.tasklistexceptions.TaskListTaskIdNotFoundException;
 import duke.exception.tasklistexceptions.TaskListTaskNumberInvalidException;
+import duke.task.ColumnarTaskList;
+import duke.task.Deadline;
+import duke.task.Event;
 import duke.task.Task;
 
 
 /**
  * Represents the task list in Duke.
+ *
+ * Tasks are shown in the order they were added, and every task added is given the next id, so the ids of the tasks
+ * are always in ascending order. Tasks are also indexed by their id, which is built the first time a task is looked
+ * up by its id so that a lazily loaded list is not read in full on startup.
+ *
+ * Unless given a List of its own, the tasks are kept in a {@link TreeList}, so that getting or deleting a task at any
+ * position takes O(log n) time instead of shifting every task after it. The words and the trigrams in the details
+ * of the tasks, the times that Deadline tasks are due and the times that Event tasks take up are indexed as well.
+ * The tasks can also be listed sorted by their deadline, their start or their completion, each from a
+ * {@link SortedView} of the tasks in that order. Each index and view is built the first time it is used, from the
+ * snapshot of the tasks and without holding the lock, and kept up to date by every change after.
+ *
+ * The TaskList can be changed from several threads at once. Every change takes the lock of the TaskList, and tasks
+ * are never changed in place but replaced by a changed copy. After every change to a TaskList kept in a TreeList, a
+ * snapshot of the tasks is published, which readers can use without taking the lock, so reading never holds up a
+ * change.
+ *
+ * Every command that changes a TaskList kept in a TreeList can be undone and redone. The version of the tasks from
+ * before each command is kept in a {@link History}, sharing every node it has in common with the version after it, so
+ * keeping a version takes O(log n) time and memory for each task the command changed.
+ *
+ * The tasks can also be kept in a {@link ColumnarTaskList} to save memory, in which case a task is only a view of its
+ * row and the tasks are looked up by id in the id column.
  */
-public class TaskList {
+public class TaskList implements TaskSource, Closeable {
 
-    private final ArrayList<Task> tasks;
+    /** The estimated memory taken up by a node of a TreeList, in bytes. */
+    private static final long NODE_BYTES = 40;
+    /** The estimated memory taken up by a task that shares its details with its copy, in bytes. */
+    private static final long TASK_BYTES = 48;
+
+    private final List<Task> tasks;
+    private Map<Long, Task> tasksById;
+    private TokenIndex tokenIndex;
+    private TrigramIndex trigramIndex;
+    private DeadlineIndex deadlineIndex;
+    private EventIndex eventIndex;
+    private final Map<SortOrder, SortedView> sortedViews = new EnumMap<>(SortOrder.class);
+    private ReminderScheduler reminderScheduler;
+    /** The indexes of the details that have been built, which every change to the tasks has to update. */
+    private final List<IncrementalIndex> builtIndexes = new ArrayList<>();
+    /** The largest id given out so far, so that the id of a deleted task is never given out again. */
+    private long lastId;
+    private final Lock lock = new ReentrantLock();
+    /** The tasks after the last change, or null when the tasks are not kept in a TreeList. */
+    private volatile List<Task> snapshot;
+    /** The TreeList behind the snapshot, or null when the tasks are not kept in a TreeList. */
+    private TreeList<Task> frozenTasks;
+    /** The tasks as they were after the last command, which undoing the next command sets them back to. */
+    private TreeList<Task> committedTasks;
+    private long numOfNodesCommitted;
+    /** The number of tasks replaced or deleted since the last command, which the committed tasks still hold. */
+    private long numOfTasksReplaced;
+    private final History history = new History();
+    private volatile boolean isDirty;
+    private volatile Runnable dirtyListener;
 
     /**
      * Represents the task list in Duke.
      *
-     * @param tasks an ArrayList of tasks to be stored in TaskList.
+     * @param tasks a List of tasks to be stored in TaskList, such as the lazily loaded tasks of the database, or a
+     *     {@link TreeList} or {@link ColumnarTaskList} of the loaded tasks.
      */
-    public TaskList(ArrayList<Task> tasks) {
+    public TaskList(List<Task> tasks) {
+        this(tasks, 0);
+    }
+
+    /**
+     * Represents the task list in Duke, which never gives a new task an id up to the given one, so that the id of a
+     * deleted task is not reused.
+     *
+     * @param tasks a List of tasks to be stored in TaskList, such as the lazily loaded tasks of the database, or a
+     *     {@link TreeList} or {@link ColumnarTaskList} of the loaded tasks.
+     * @param lastId the largest id given to a task so far, such as the one kept by the database.
+     */
+    public TaskList(List<Task> tasks, long lastId) {
         this.tasks = tasks;
+        this.lastId = Math.max(lastId, tasks.isEmpty() ? 0 : tasks.get(tasks.size() - 1).getId());
+        this.publishSnapshot();
+        this.markCommitted();
     }
 
     /**
      * Represents the task list in Duke. This constructor is used when first initializing Duke with an empty database.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this.tasks = new TreeList<>();
+        this.publishSnapshot();
+        this.markCommitted();
     }
 
     /**
      * @return the number of tasks in the TaskList.
      */
     public int length() {
-        return this.tasks.size();
+        List<Task> snapshot = this.snapshot;
+        if (snapshot != null) {
+            return snapshot.size();
+        }
+        this.lock.lock();
+        try {
+            return this.tasks.size();
+        } finally {
+            this.lock.unlock();
+        }
     }
 
     /**
@@ -42,42 +142,704 @@ public class TaskList {
      * @return the task corresponding to the identifier.
      */
     public Task getTask(int taskNumber) throws TaskListTaskNumberInvalidException {
+        List<Task> snapshot = this.snapshot;
+        if (snapshot == null) {
+            this.lock.lock();
+        }
         try {
-            return this.tasks.get(taskNumber - 1);
+            return (snapshot != null ? snapshot : this.tasks).get(taskNumber - 1);
         } catch (IndexOutOfBoundsException e) {
             throw new TaskListTaskNumberInvalidException();
+        } finally {
+            if (snapshot == null) {
+                this.lock.unlock();
+            }
         }
     }
 
+    /**
+     * Finds the current position of the task with the given id. The task is found in the index, and its position by
+     * a binary search over the ids, which are in ascending order.
+     *
+     * @param id id of the task.
+     * @return the position of the task, starting from 1.
+     * @throws TaskListTaskIdNotFoundException thrown when no task has the id.
+     */
+    public int getTaskNumber(long id) throws TaskListTaskIdNotFoundException {
+        this.lock.lock();
+        try {
+            return this.findTaskNumber(id);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private int findTaskNumber(long id) throws TaskListTaskIdNotFoundException {
+        if (this.tasks instanceof ColumnarTaskList) {
+            int index = ((ColumnarTaskList) this.tasks).indexOfId(id);
+            if (index < 0) {
+                throw new TaskListTaskIdNotFoundException();
+            }
+            return index + 1;
+        }
+        if (!this.getTasksById().containsKey(id)) {
+            throw new TaskListTaskIdNotFoundException();
+        }
+        int low = 0;
+        int high = this.tasks.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleId = this.tasks.get(middle).getId();
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle + 1;
+            }
+        }
+        throw new TaskListTaskIdNotFoundException();
+    }
+
     /**
      * Deletes the task according to the identifier.
      *
      * @param taskNumber identifier of the task.
      */
     public void deleteTask(int taskNumber) throws TaskListTaskNumberInvalidException {
+        this.lock.lock();
         try {
-            this.tasks.remove(taskNumber - 1);
-        } catch (IndexOutOfBoundsException e) {
-            throw new TaskListTaskNumberInvalidException();
+            Task removed;
+            try {
+                removed = this.tasks.remove(taskNumber - 1);
+            } catch (IndexOutOfBoundsException e) {
+                throw new TaskListTaskNumberInvalidException();
+            }
+            if (this.tasksById != null) {
+                this.tasksById.remove(removed.getId());
+            }
+            this.numOfTasksReplaced++;
+            for (IncrementalIndex index : this.builtIndexes) {
+                index.remove(removed);
+            }
+            this.publishSnapshot();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gives the task new details, keeping the indexes of the details up to date.
+     *
+     * @param taskNumber identifier of the task.
+     * @param details new details of the task.
+     * @return the changed copy of the task, which replaced it in the TaskList.
+     */
+    public Task editTask(int taskNumber, String details) throws TaskListTaskNumberInvalidException {
+        this.lock.lock();
+        try {
+            Task task = this.getTask(taskNumber);
+            Task changed = task.withDetails(details);
+            this.replaceTask(taskNumber, task, changed);
+            this.publishSnapshot();
+            return changed;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the task as complete or incomplete.
+     *
+     * @param taskNumber identifier of the task.
+     * @param isCompleted true to mark the task as complete, false to mark it as incomplete.
+     * @return the changed copy of the task, which replaced it in the TaskList.
+     */
+    public Task markTask(int taskNumber, boolean isCompleted) throws TaskListTaskNumberInvalidException {
+        this.lock.lock();
+        try {
+            Task task = this.getTask(taskNumber);
+            Task changed = task.withCompleted(isCompleted);
+            this.replaceTask(taskNumber, task, changed);
+            this.publishSnapshot();
+            return changed;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the tasks as complete or incomplete as one change, publishing a single snapshot once every task is marked.
+     * No task is marked if any of the positions is outside of the TaskList.
+     *
+     * @param taskNumbers the distinct positions of the tasks, starting from 1, in ascending order.
+     * @param isCompleted true to mark the tasks as complete, false to mark them as incomplete.
+     * @return the changed copies of the tasks, which replaced them in the TaskList.
+     */
+    public List<Task> markTasks(int[] taskNumbers, boolean isCompleted) throws TaskListTaskNumberInvalidException {
+        this.lock.lock();
+        try {
+            this.checkTaskNumbers(taskNumbers);
+            List<Task> changedTasks = new ArrayList<>(taskNumbers.length);
+            for (int taskNumber : taskNumbers) {
+                Task task = this.tasks.get(taskNumber - 1);
+                Task changed = task.withCompleted(isCompleted);
+                this.replaceTask(taskNumber, task, changed);
+                changedTasks.add(changed);
+            }
+            this.publishSnapshot();
+            return changedTasks;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the tasks as one change. The List holding the tasks is compacted once, rather than shifted or
+     * rebalanced for every task deleted, and a single snapshot is published after. No task is deleted if any of the
+     * positions is outside of the TaskList.
+     *
+     * @param taskNumbers the distinct positions of the tasks, starting from 1, in ascending order.
+     * @return the tasks deleted.
+     */
+    public List<Task> deleteTasks(int[] taskNumbers) throws TaskListTaskNumberInvalidException {
+        this.lock.lock();
+        try {
+            this.checkTaskNumbers(taskNumbers);
+            List<Task> removedTasks = new ArrayList<>(taskNumbers.length);
+            int[] indexes = new int[taskNumbers.length];
+            for (int i = 0; i < taskNumbers.length; i++) {
+                indexes[i] = taskNumbers[i] - 1;
+                removedTasks.add(this.tasks.get(indexes[i]));
+            }
+            if (this.tasks instanceof TreeList) {
+                ((TreeList<Task>) this.tasks).removeAll(indexes);
+            } else if (this.tasks instanceof ColumnarTaskList) {
+                ((ColumnarTaskList) this.tasks).removeAll(indexes);
+            } else {
+                for (int i = indexes.length - 1; i >= 0; i--) {
+                    this.tasks.remove(indexes[i]);
+                }
+            }
+            for (Task removed : removedTasks) {
+                if (this.tasksById != null) {
+                    this.tasksById.remove(removed.getId());
+                }
+                for (IncrementalIndex index : this.builtIndexes) {
+                    index.remove(removed);
+                }
+            }
+            this.numOfTasksReplaced += removedTasks.size();
+            this.publishSnapshot();
+            return removedTasks;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /** Checks that the positions are in ascending order and within the TaskList, before any task is changed. */
+    private void checkTaskNumbers(int[] taskNumbers) throws TaskListTaskNumberInvalidException {
+        int previous = 0;
+        for (int taskNumber : taskNumbers) {
+            if (taskNumber <= previous || taskNumber > this.tasks.size()) {
+                throw new TaskListTaskNumberInvalidException();
+            }
+            previous = taskNumber;
+        }
+    }
+
+    private void replaceTask(int taskNumber, Task task, Task changed) {
+        for (IncrementalIndex index : this.builtIndexes) {
+            index.remove(task);
         }
+        this.tasks.set(taskNumber - 1, changed);
+        this.numOfTasksReplaced++;
+        if (this.tasksById != null) {
+            this.tasksById.put(changed.getId(), changed);
+        }
+        for (IncrementalIndex index : this.builtIndexes) {
+            index.add(changed);
+        }
+    }
+
+    /**
+     * Finds the tasks whose details contain every word of the query. Words are compared ignoring case, and a word
+     * only matches a whole word in the details, not part of one.
+     *
+     * @param query words to search for.
+     * @return the tasks found, in the order they are shown in.
+     */
+    public List<Task> findTasksWithWords(String query) {
+        return this.query(() -> this.tokenIndex, index -> this.tokenIndex = index, TokenIndex::new,
+                (index, tasks) -> this.getTasksWithIds(index.find(index.keysOf(query)), tasks));
     }
 
     /**
-     * Adds the task to the task list.
+     * Finds the tasks whose details contain the query anywhere, the same as {@link Task#isContains}. The tasks with
+     * every trigram of the query are found in the index and then checked, so only queries shorter than a trigram
+     * check every task.
+     *
+     * @param query String to search for.
+     * @return the tasks found, in the order they are shown in.
+     */
+    public List<Task> findTasksContaining(String query) {
+        if (query.length() >= TrigramIndex.TRIGRAM_LENGTH) {
+            return this.query(() -> this.trigramIndex, index -> this.trigramIndex = index, TrigramIndex::new,
+                    (index, tasks) -> {
+                        List<Task> found = new ArrayList<>();
+                        for (Task task : this.getTasksWithIds(index.find(index.keysOf(query)), tasks)) {
+                            if (task.isContains(query)) {
+                                found.add(task);
+                            }
+                        }
+                        return found;
+                    });
+        }
+        List<Task> snapshot = this.snapshot;
+        if (snapshot != null) {
+            return findContaining(snapshot, query);
+        }
+        this.lock.lock();
+        try {
+            if (!(this.tasks instanceof ColumnarTaskList)) {
+                return findContaining(this.tasks, query);
+            }
+            ColumnarTaskList columns = (ColumnarTaskList) this.tasks;
+            List<Task> found = new ArrayList<>();
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.isContains(i, query)) {
+                    found.add(columns.get(i));
+                }
+            }
+            return found;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private static List<Task> findContaining(List<Task> tasks, String query) {
+        List<Task> found = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.isContains(query)) {
+                found.add(task);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds the Deadline tasks due within the range, including both ends.
+     *
+     * @param from start of the range, or null to find every task due up to the end of the range.
+     * @param to end of the range.
+     * @return the tasks found, sorted by their deadline.
+     */
+    public List<Deadline> findTasksDue(LocalDateTime from, LocalDateTime to) {
+        return this.query(() -> this.deadlineIndex, index -> this.deadlineIndex = index, DeadlineIndex::new,
+                (index, tasks) -> index.find(from, to));
+    }
+
+    /**
+     * Finds the Event tasks that overlap the window, which are those that start before the window ends and end after
+     * the window starts. A window that ends before it starts is empty, so no event overlaps it.
+     *
+     * @param from start of the window.
+     * @param to end of the window.
+     * @return the events found, sorted by their start.
+     */
+    public List<Event> findEventsOverlapping(LocalDateTime from, LocalDateTime to) {
+        return this.query(() -> this.eventIndex, index -> this.eventIndex = index, EventIndex::new,
+                (index, tasks) -> index.find(from, to));
+    }
+
+    /**
+     * Gives a reminder to every task that needs one, then keeps the reminders of the scheduler up to date with every
+     * change to the tasks, the same as an index.
+     *
+     * @param scheduler the scheduler of the reminders.
+     */
+    public void setReminderScheduler(ReminderScheduler scheduler) {
+        this.lock.lock();
+        try {
+            this.reminderScheduler = this.build(scheduler);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the tasks listed in the order as they were after the last change, the same as {@link #getSnapshot()}.
+     * The tasks are kept sorted by every change, so they are only sorted the first time they are listed in the order.
+     *
+     * @param order the order to list the tasks in.
+     * @return an unmodifiable snapshot of the tasks listed in the order.
+     */
+    public List<Task> getSortedSnapshot(SortOrder order) {
+        return this.query(() -> this.sortedViews.get(order), view -> this.sortedViews.put(order, view),
+                () -> new SortedView(order), (view, tasks) -> view.snapshot());
+    }
+
+    /**
+     * Runs a query on an index. The index is searched while holding the lock when it has been built and no other
+     * thread is changing the tasks or saving them. Otherwise, the query is answered from the snapshot of the tasks as
+     * they were after the last change, on an index built from the snapshot without holding the lock, so a query never
+     * waits on a change or a save, and a change never waits on an index being built. The index built is kept if no
+     * change was made while it was built. Tasks that are not kept in a TreeList have no snapshot to fall back on, so
+     * their queries wait for the lock, and their indexes are built while holding it.
+     *
+     * @param builtIndex gets the index kept by the TaskList, or null if it has not been built.
+     * @param keepIndex keeps an index that was built.
+     * @param newIndex creates an empty index.
+     * @param search searches an index of the given tasks.
+     * @return the result of the query.
+     */
+    private <I extends IncrementalIndex, T> T query(Supplier<I> builtIndex, Consumer<I> keepIndex,
+            Supplier<I> newIndex, BiFunction<I, List<Task>, T> search) {
+        List<Task> snapshot = this.snapshot;
+        if (snapshot == null) {
+            this.lock.lock();
+            try {
+                I index = builtIndex.get();
+                if (index == null) {
+                    index = this.build(newIndex.get());
+                    keepIndex.accept(index);
+                }
+                return search.apply(index, this.tasks);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+        if (this.lock.tryLock()) {
+            try {
+                I index = builtIndex.get();
+                if (index != null) {
+                    // The lock is held, so the snapshot is of the tasks as they are now.
+                    return search.apply(index, this.snapshot);
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+        I index = newIndex.get();
+        snapshot.forEach(index::add);
+        T result = search.apply(index, snapshot);
+        if (this.lock.tryLock()) {
+            try {
+                if (this.snapshot == snapshot && builtIndex.get() == null) {
+                    keepIndex.accept(index);
+                    this.builtIndexes.add(index);
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the tasks with the ids, which are in ascending order. Tasks kept by the TaskList are looked up by their id,
+     * and tasks in a snapshot are searched for, as the tasks are always in the order of their ids.
+     */
+    private List<Task> getTasksWithIds(long[] ids, List<Task> tasks) {
+        List<Task> found = new ArrayList<>(ids.length);
+        if (tasks == this.tasks) {
+            for (long id : ids) {
+                found.add(this.getTaskWithId(id));
+            }
+            return found;
+        }
+        int low = 0;
+        for (long id : ids) {
+            int high = tasks.size() - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (tasks.get(middle).getId() < id) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            found.add(tasks.get(low));
+        }
+        return found;
+    }
+
+    private void publishSnapshot() {
+        if (this.tasks instanceof TreeList) {
+            this.frozenTasks = ((TreeList<Task>) this.tasks).freeze();
+            this.snapshot = Collections.unmodifiableList(this.frozenTasks);
+        } else {
+            this.snapshot = null;
+        }
+    }
+
+    /**
+     * Keeps the tasks as they were before the last command, if it changed them, so that the command can be undone as
+     * a whole. Run after every command that can change the tasks. Only a TaskList kept in a TreeList keeps its
+     * versions, as the tasks in any other List would have to be copied in full.
+     */
+    public void commitVersion() {
+        this.lock.lock();
+        try {
+            if (this.frozenTasks == this.committedTasks) {
+                return;
+            }
+            long numOfNodesCreated = ((TreeList<Task>) this.tasks).getNumOfNodesCreated() - this.numOfNodesCommitted;
+            this.history.push(this.committedTasks,
+                    numOfNodesCreated * NODE_BYTES + this.numOfTasksReplaced * TASK_BYTES);
+            this.markCommitted();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the tasks back to how they were before the last command that changed them.
+     *
+     * @throws TaskListNothingToUndoException thrown when there is no command left to undo.
+     */
+    public void undo() throws TaskListNothingToUndoException {
+        this.lock.lock();
+        try {
+            this.commitVersion();
+            TreeList<Task> previous = this.history.undo(this.committedTasks);
+            if (previous == null) {
+                throw new TaskListNothingToUndoException();
+            }
+            this.restore(previous);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Makes the last command undone again.
+     *
+     * @throws TaskListNothingToRedoException thrown when no command was undone since the tasks were last changed.
+     */
+    public void redo() throws TaskListNothingToRedoException {
+        this.lock.lock();
+        try {
+            this.commitVersion();
+            TreeList<Task> next = this.history.redo(this.committedTasks);
+            if (next == null) {
+                throw new TaskListNothingToRedoException();
+            }
+            this.restore(next);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the memory that the versions kept for undoing commands may take up. Once they take up more, the versions
+     * from the oldest commands are dropped.
+     *
+     * @param budget the memory the versions may take up, in bytes.
+     */
+    public void setHistoryBudget(long budget) {
+        this.lock.lock();
+        try {
+            this.history.setBudget(budget);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the tasks to a version kept in the history. The indexes are dropped rather than updated task by task, and
+     * are built again the next time they are searched. The reminders are given again to the tasks straight away, as
+     * they are never searched.
+     */
+    private void restore(TreeList<Task> version) {
+        ((TreeList<Task>) this.tasks).restore(version);
+        this.tasksById = null;
+        this.tokenIndex = null;
+        this.trigramIndex = null;
+        this.deadlineIndex = null;
+        this.eventIndex = null;
+        this.sortedViews.clear();
+        this.builtIndexes.clear();
+        if (this.reminderScheduler != null) {
+            this.reminderScheduler.clear();
+            this.build(this.reminderScheduler);
+        }
+        this.publishSnapshot();
+        this.markCommitted();
+    }
+
+    private void markCommitted() {
+        this.committedTasks = this.frozenTasks;
+        this.numOfNodesCommitted = this.tasks instanceof TreeList
+                ? ((TreeList<Task>) this.tasks).getNumOfNodesCreated()
+                : 0;
+        this.numOfTasksReplaced = 0;
+    }
+
+    private <T extends IncrementalIndex> T build(T index) {
+        for (Task task : this.tasks) {
+            index.add(task);
+        }
+        this.builtIndexes.add(index);
+        return index;
+    }
+
+    /**
+     * Adds the task to the task list, giving it the next id if it does not have one yet.
      *
      * @param task task to be added.
+     * @return the task added, which is a copy of the task given with the next id if it had no id.
      */
-    public void addTask(Task task) {
-        this.tasks.add(task);
+    public Task addTask(Task task) {
+        this.lock.lock();
+        try {
+            Task added = task.getId() == 0 ? task.withId(this.lastId + 1) : task;
+            this.lastId = Math.max(this.lastId, added.getId());
+            this.tasks.add(added);
+            if (this.tasksById != null) {
+                this.tasksById.put(added.getId(), added);
+            }
+            for (IncrementalIndex index : this.builtIndexes) {
+                index.add(added);
+            }
+            this.publishSnapshot();
+            return added;
+        } finally {
+            this.lock.unlock();
+        }
     }
 
+    /**
+     * Returns the task with the id, which must be in the TaskList. The tasks in a ColumnarTaskList are found by their
+     * id column instead of the index by id, which would hold a task object for every task.
+     */
+    private Task getTaskWithId(long id) {
+        if (this.tasks instanceof ColumnarTaskList) {
+            return this.tasks.get(((ColumnarTaskList) this.tasks).indexOfId(id));
+        }
+        return this.getTasksById().get(id);
+    }
+
+    private Map<Long, Task> getTasksById() {
+        if (this.tasksById == null) {
+            this.tasksById = new HashMap<>(this.tasks.size() * 4 / 3 + 1);
+            for (Task task : this.tasks) {
+                this.tasksById.put(task.getId(), task);
+            }
+        }
+        return this.tasksById;
+    }
+
+
+    /**
+     * Marks the TaskList as changed since it was last saved. Run by every command that changes a task.
+     */
+    public void markDirty() {
+        this.isDirty = true;
+        Runnable listener = this.dirtyListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Marks the TaskList as saved.
+     */
+    public void clearDirty() {
+        this.isDirty = false;
+    }
+
+    /**
+     * @return whether the TaskList was changed since it was last saved.
+     */
+    public boolean isDirty() {
+        return this.isDirty;
+    }
+
+    /**
+     * Sets what is run every time the TaskList is marked as dirty, replacing the previous listener.
+     *
+     * @param listener run after the TaskList is marked as dirty, or null to run nothing.
+     */
+    public void setDirtyListener(Runnable listener) {
+        this.dirtyListener = listener;
+    }
+
+    /**
+     * Returns the lock held while a command runs, so that the TaskList is never saved halfway through a change. Every
+     * change to the TaskList takes it as well, so holding it makes several changes appear as one to other threads.
+     *
+     * @return the lock of the TaskList.
+     */
+    public Lock getLock() {
+        return this.lock;
+    }
 
     /**
-     * Getter for the ArrayList of tasks stored in TaskList. Typically only used when storing the tasks in the database
-     * @return Arraylist of tasks in the Tasklist.
+     * Closes the List the tasks are kept in when it holds a file open, such as the database file a lazily loaded List
+     * reads its tasks from. Run once the tasks have been saved for the last time, such as when Duke exits.
+     *
+     * @throws IOException thrown when the List could not be closed.
      */
-    public ArrayList<Task> getTasks() {
+    @Override
+    public void close() throws IOException {
+        if (!(this.tasks instanceof Closeable)) {
+            return;
+        }
+        this.lock.lock();
+        try {
+            ((Closeable) this.tasks).close();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Getter for the List of tasks stored in TaskList. Typically only used when storing the tasks in the database.
+     * The List changes with the TaskList, so it should only be read while holding the lock.
+     * @return List of tasks in the Tasklist.
+     */
+    public List<Task> getTasks() {
         return this.tasks;
     }
 
+    /**
+     * Returns the tasks as they were after the last change, which later changes leave as they are. The snapshot can
+     * be read without holding the lock, while other threads change the TaskList.
+     *
+     * When the tasks are not kept in a TreeList, such as when they are lazily loaded or kept in columns, no snapshot
+     * is kept, so every task is copied while holding the lock instead. Use {@link #readTasks(Function)} to read only
+     * some of them.
+     *
+     * @return an unmodifiable List of the tasks.
+     */
+    public List<Task> getSnapshot() {
+        List<Task> snapshot = this.snapshot;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        return this.readTasks(tasks -> Collections.unmodifiableList(new ArrayList<>(tasks)));
+    }
+
+    /**
+     * Reads the tasks as they were after the last change. The reader is given the snapshot of the tasks when one is
+     * kept, without holding the lock. Otherwise, it is given the tasks themselves while holding the lock, so that
+     * reading a few of them never copies the rest, and the reader must not keep the List after it returns.
+     *
+     * @param reader reads the tasks and returns what it found.
+     * @return what the reader returned.
+     */
+    public <T> T readTasks(Function<List<Task>, T> reader) {
+        List<Task> snapshot = this.snapshot;
+        if (snapshot != null) {
+            return reader.apply(snapshot);
+        }
+        this.lock.lock();
+        try {
+            return reader.apply(Collections.unmodifiableList(this.tasks));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
 }
@@ -0,0 +1,150 @@
+package duke.tasklist;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import duke.exception.tasklistexceptions.TaskListTaskIdNotFoundException;
+import duke.task.Task;
+
+/**
+ * Represents the tasks that a command is run on all at once, such as "1-500", "3,7,9-20" or "all-done".
+ *
+ * A selection is a list of targets separated by commas, where each target is a {@link TaskTarget} or a range of
+ * positions such as "9-20", including both ends. It can instead be "all", "all-done" or "all-undone", which select
+ * every task, every task marked as complete or every task marked as incomplete.
+ */
+public class TaskSelection {
+
+    private static final String SEPARATOR = ",";
+    private static final String RANGE_SEPARATOR = "-";
+    private static final String ALL = "all";
+    private static final String ALL_DONE = "all-done";
+    private static final String ALL_UNDONE = "all-undone";
+
+    private final List<TaskTarget> targets;
+    /** The first and last position of each range, one after the other. */
+    private final int[] ranges;
+    /** The tasks selected by their completion, or null to select the targets and ranges instead. */
+    private final Boolean isCompleted;
+    private final boolean isAll;
+
+    private TaskSelection(List<TaskTarget> targets, int[] ranges, Boolean isCompleted, boolean isAll) {
+        this.targets = targets;
+        this.ranges = ranges;
+        this.isCompleted = isCompleted;
+        this.isAll = isAll;
+    }
+
+    /**
+     * Parses the tasks given as a list of targets and ranges, or as all of the tasks with a given completion.
+     *
+     * @param selection the text of the selection.
+     * @return the selection that the text refers to, or null if a target in the text is neither a position, an id
+     *     nor a range.
+     */
+    public static TaskSelection parse(String selection) {
+        String strippedSelection = selection.strip();
+        switch (strippedSelection) {
+        case ALL:
+            return new TaskSelection(List.of(), new int[0], null, true);
+        case ALL_DONE:
+            return new TaskSelection(List.of(), new int[0], true, false);
+        case ALL_UNDONE:
+            return new TaskSelection(List.of(), new int[0], false, false);
+        default:
+            break;
+        }
+        List<TaskTarget> targets = new ArrayList<>();
+        List<Integer> ranges = new ArrayList<>();
+        for (String part : strippedSelection.split(SEPARATOR, -1)) {
+            String[] range = part.strip().split(RANGE_SEPARATOR, 2);
+            if (range.length == 1) {
+                TaskTarget target = TaskTarget.tryParse(range[0], 0, range[0].length());
+                if (target == null) {
+                    return null;
+                }
+                targets.add(target);
+                continue;
+            }
+            String fromText = range[0].strip();
+            String toText = range[1].strip();
+            long from = TaskTarget.parseNumber(fromText, 0, fromText.length());
+            long to = TaskTarget.parseNumber(toText, 0, toText.length());
+            if (from == TaskTarget.NOT_A_NUMBER || to == TaskTarget.NOT_A_NUMBER || from > to
+                    || to > Integer.MAX_VALUE) {
+                return null;
+            }
+            ranges.add((int) from);
+            ranges.add((int) to);
+        }
+        return new TaskSelection(targets, ranges.stream().mapToInt(Integer::intValue).toArray(), null, false);
+    }
+
+    /**
+     * Checks whether every target and range could be in a TaskList of the given length.
+     *
+     * @param lengthOfList the length of the TaskList.
+     * @return false if any target or range falls outside of the TaskList.
+     */
+    public boolean isWithin(int lengthOfList) {
+        for (TaskTarget target : this.targets) {
+            if (!target.isWithin(lengthOfList)) {
+                return false;
+            }
+        }
+        for (int i = 0; i < this.ranges.length; i += 2) {
+            if (this.ranges[i] < 1 || this.ranges[i + 1] > lengthOfList) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the current positions of the selected tasks in the TaskList. Should be run while holding the lock of the
+     * TaskList, so that the positions stay the same until the tasks are changed.
+     *
+     * @param taskList the TaskList the tasks are in.
+     * @return the distinct positions of the tasks, starting from 1, in ascending order.
+     * @throws TaskListTaskIdNotFoundException thrown when no task in the TaskList has the id of a target.
+     */
+    public int[] resolve(TaskList taskList) throws TaskListTaskIdNotFoundException {
+        BitSet taskNumbers = new BitSet();
+        if (this.isAll) {
+            taskNumbers.set(1, taskList.length() + 1);
+        } else if (this.isCompleted != null) {
+            int taskNumber = 1;
+            for (Task task : taskList.getSnapshot()) {
+                if (task.isCompleted() == this.isCompleted) {
+                    taskNumbers.set(taskNumber);
+                }
+                taskNumber++;
+            }
+        }
+        for (TaskTarget target : this.targets) {
+            taskNumbers.set(target.resolve(taskList));
+        }
+        for (int i = 0; i < this.ranges.length; i += 2) {
+            taskNumbers.set(this.ranges[i], this.ranges[i + 1] + 1);
+        }
+        return taskNumbers.stream().toArray();
+    }
+
+    @Override
+    public String toString() {
+        if (this.isAll) {
+            return ALL;
+        } else if (this.isCompleted != null) {
+            return this.isCompleted ? ALL_DONE : ALL_UNDONE;
+        }
+        List<String> parts = new ArrayList<>();
+        for (TaskTarget target : this.targets) {
+            parts.add(target.toString());
+        }
+        for (int i = 0; i < this.ranges.length; i += 2) {
+            parts.add(this.ranges[i] + RANGE_SEPARATOR + this.ranges[i + 1]);
+        }
+        return String.join(SEPARATOR, parts);
+    }
+}
@@ -0,0 +1,130 @@
+package duke.tasklist;
+
+import duke.exception.tasklistexceptions.TaskListTaskIdNotFoundException;
+
+/**
+ * Represents the task that a command is run on, given either by its position in the TaskList or by its id.
+ *
+ * A position changes whenever a task before it is deleted, while an id stays with its task for good. Ids are written
+ * with a leading "#", such as "#42".
+ */
+public class TaskTarget {
+
+    /** Returned by {@link #parseNumber} when the text is not a number. */
+    public static final long NOT_A_NUMBER = -1;
+
+    private static final char ID_PREFIX = '#';
+
+    private final int taskNumber;
+    private final long id;
+
+    private TaskTarget(int taskNumber, long id) {
+        this.taskNumber = taskNumber;
+        this.id = id;
+    }
+
+    /**
+     * @param taskNumber position of the task in the TaskList, starting from 1.
+     * @return the task at the given position.
+     */
+    public static TaskTarget ofTaskNumber(int taskNumber) {
+        return new TaskTarget(taskNumber, 0);
+    }
+
+    /**
+     * @param id id of the task.
+     * @return the task with the given id.
+     */
+    public static TaskTarget ofId(long id) {
+        return new TaskTarget(0, id);
+    }
+
+    /**
+     * Parses a task given either as its position, or as its id following a "#".
+     *
+     * @param target the text of the target.
+     * @return the target that the text refers to.
+     * @throws NumberFormatException thrown when the text is neither a position nor an id.
+     */
+    public static TaskTarget parse(String target) throws NumberFormatException {
+        TaskTarget parsed = tryParse(target, 0, target.length());
+        if (parsed == null) {
+            throw new NumberFormatException("Not a task number or id: " + target);
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses a task given either as its position, or as its id following a "#", from the characters within the range
+     * of the text. Unlike {@link #parse(String)}, nothing but the target is created, and text that is not a target
+     * returns null instead of throwing.
+     *
+     * @param text the text the target is in.
+     * @param from the position of the first character of the target.
+     * @param to the position after the last character of the target.
+     * @return the target that the characters refer to, or null if they are neither a position nor an id.
+     */
+    public static TaskTarget tryParse(CharSequence text, int from, int to) {
+        if (from < to && text.charAt(from) == ID_PREFIX) {
+            long id = parseNumber(text, from + 1, to);
+            return id == NOT_A_NUMBER ? null : ofId(id);
+        }
+        long taskNumber = parseNumber(text, from, to);
+        return taskNumber == NOT_A_NUMBER || taskNumber > Integer.MAX_VALUE ? null : ofTaskNumber((int) taskNumber);
+    }
+
+    /**
+     * Parses the digits within the range of the text as a number, without creating any object or throwing when they
+     * are not a number.
+     *
+     * @param text the text the number is in.
+     * @param from the position of the first digit.
+     * @param to the position after the last digit.
+     * @return the number, or {@link #NOT_A_NUMBER} if the range is empty, holds anything but the digits 0 to 9 or is
+     *     too large for a long.
+     */
+    public static long parseNumber(CharSequence text, int from, int to) {
+        if (from >= to) {
+            return NOT_A_NUMBER;
+        }
+        long number = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || number > (Long.MAX_VALUE - digit) / 10) {
+                return NOT_A_NUMBER;
+            }
+            number = number * 10 + digit;
+        }
+        return number;
+    }
+
+    /**
+     * Checks whether the target could be in a TaskList of the given length. Whether a task with the id exists is
+     * only known once the target is resolved.
+     *
+     * @param lengthOfList the length of the TaskList.
+     * @return false if the target is a position outside of the TaskList or an id that is never given out.
+     */
+    public boolean isWithin(int lengthOfList) {
+        if (this.id != 0 || this.taskNumber == 0) {
+            return this.id > 0;
+        }
+        return this.taskNumber > 0 && this.taskNumber <= lengthOfList;
+    }
+
+    /**
+     * Finds the current position of the target in the TaskList.
+     *
+     * @param taskList the TaskList the target is in.
+     * @return the position of the target in the TaskList, starting from 1.
+     * @throws TaskListTaskIdNotFoundException thrown when no task in the TaskList has the id of the target.
+     */
+    public int resolve(TaskList taskList) throws TaskListTaskIdNotFoundException {
+        return this.id == 0 ? this.taskNumber : taskList.getTaskNumber(this.id);
+    }
+
+    @Override
+    public String toString() {
+        return this.id == 0 ? Integer.toString(this.taskNumber) : ID_PREFIX + Long.toString(this.id);
+    }
+}
@@ -0,0 +1,33 @@
+package duke.tasklist;
+
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Represents an inverted index from the words in the details of the tasks to the ids of the tasks that use them.
+ * Words are split on anything that is not a letter or a digit and compared in lower case.
+ */
+class TokenIndex extends TaskIndex<String> {
+
+    /**
+     * Splits the String into its distinct words, in lower case.
+     *
+     * @param str details of a task or a query.
+     * @return the distinct words of the String.
+     */
+    @Override
+    TreeSet<String> keysOf(String str) {
+        TreeSet<String> words = new TreeSet<>();
+        int start = -1;
+        for (int i = 0; i <= str.length(); i++) {
+            boolean isWordChar = i < str.length() && Character.isLetterOrDigit(str.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(str.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,456 @@
+package duke.tasklist;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Represents a list stored in a balanced order-statistic tree, where getting, inserting and removing at any position
+ * all take O(log n) time.
+ *
+ * Every node of the AVL tree keeps the size of its subtree, so the node at a position is found by comparing the
+ * position against the sizes of the left subtrees on the way down. Unlike an ArrayList, removing from the front of a
+ * large list never shifts the elements after it, at the cost of a slower get and more memory per element.
+ *
+ * A snapshot of the list takes O(1) time, as it shares every node with the list. Each node records the version of
+ * the list it was created in, and taking a snapshot starts a new version, so the nodes the snapshot can see are never
+ * changed again. The list copies such a node the first time it has to change it instead, which copies the O(log n)
+ * nodes on the path to the change. The list can also be set back to any snapshot it took, which is how the versions
+ * kept for undoing a change are restored.
+ *
+ * @param <E> the type of the elements in the list.
+ */
+public class TreeList<E> extends AbstractList<E> {
+
+    private Node<E> root;
+    /** The version of the list, which only its own nodes have. Older nodes may be shared with a snapshot. */
+    private int version;
+    /** The element removed by the last call to {@link #remove(Node, int)}. */
+    private E removed;
+    /** The number of nodes created or copied by the list so far, each of which is only held by its own versions. */
+    private long numOfNodesCreated;
+
+    /**
+     * Represents an empty list stored in a balanced order-statistic tree.
+     */
+    public TreeList() {
+    }
+
+    /**
+     * Represents a list stored in a balanced order-statistic tree, holding the given elements in the same order.
+     * The tree is built already balanced in O(n) time.
+     *
+     * @param elements the elements of the list.
+     */
+    public TreeList(Collection<? extends E> elements) {
+        Object[] values = elements.toArray();
+        this.root = this.build(values, 0, values.length);
+    }
+
+    private TreeList(Node<E> root, int version) {
+        this.root = root;
+        this.version = version;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<E> build(Object[] values, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        this.numOfNodesCreated++;
+        Node<E> node = new Node<>((E) values[middle], this.version);
+        node.left = this.build(values, from, middle);
+        node.right = this.build(values, middle + 1, to);
+        return update(node);
+    }
+
+    /**
+     * Returns a snapshot of the list as it is now, which is not changed by any later change to the list. The snapshot
+     * can be read from any thread without locking, as long as it was handed over safely.
+     *
+     * @return an unmodifiable snapshot of the list.
+     */
+    public List<E> snapshot() {
+        return Collections.unmodifiableList(this.freeze());
+    }
+
+    /**
+     * Returns a snapshot of the list as it is now, the same as {@link #snapshot()}, but as the TreeList itself so that
+     * the list can be {@link #restore restored} to it. The returned list must never be changed.
+     *
+     * @return a snapshot of the list.
+     */
+    TreeList<E> freeze() {
+        TreeList<E> snapshot = new TreeList<>(this.root, this.version);
+        this.version++;
+        return snapshot;
+    }
+
+    /**
+     * Sets the list back to a snapshot it took, in O(1) time, sharing every node with the snapshot.
+     *
+     * @param snapshot a snapshot returned by {@link #freeze()}.
+     */
+    void restore(TreeList<E> snapshot) {
+        this.root = snapshot.root;
+        this.version++;
+        this.modCount++;
+    }
+
+    /**
+     * @return the number of nodes created or copied by the list so far.
+     */
+    long getNumOfNodesCreated() {
+        return this.numOfNodesCreated;
+    }
+
+    @Override
+    public int size() {
+        return size(this.root);
+    }
+
+    @Override
+    public E get(int index) {
+        return this.nodeAt(index).value;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        E previous = this.get(index);
+        this.root = this.set(this.root, index, element);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > this.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size());
+        }
+        this.root = this.insert(this.root, index, element);
+        this.modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        this.checkIndex(index);
+        this.root = this.remove(this.root, index);
+        this.modCount++;
+        E element = this.removed;
+        this.removed = null;
+        return element;
+    }
+
+    /**
+     * Searches a list sorted by the comparator for the element, the same as {@link Collections#binarySearch}, but in
+     * a single walk down the tree in O(log n) time.
+     *
+     * @param key the element to search for.
+     * @param comparator the comparator that the list is sorted by.
+     * @return the position of the element if it is in the list, or otherwise -(insertion point) - 1.
+     */
+    int search(E key, Comparator<? super E> comparator) {
+        Node<E> node = this.root;
+        int offset = 0;
+        while (node != null) {
+            int comparison = comparator.compare(node.value, key);
+            if (comparison < 0) {
+                offset += size(node.left) + 1;
+                node = node.right;
+            } else if (comparison > 0) {
+                node = node.left;
+            } else {
+                return offset + size(node.left);
+            }
+        }
+        return -offset - 1;
+    }
+
+    /**
+     * Removes the elements at the positions, which must be distinct and in ascending order. A few elements are removed
+     * one at a time in O(log n) time each, sharing the rest of the tree with any snapshot, while many elements are
+     * removed by building the tree again from the elements left, once, in O(n) time.
+     *
+     * @param sortedIndexes the positions of the elements to remove, in ascending order.
+     */
+    void removeAll(int[] sortedIndexes) {
+        if (sortedIndexes.length == 0) {
+            return;
+        }
+        this.checkIndex(sortedIndexes[0]);
+        this.checkIndex(sortedIndexes[sortedIndexes.length - 1]);
+        int size = this.size();
+        if ((long) sortedIndexes.length * height(this.root) < size) {
+            for (int i = sortedIndexes.length - 1; i >= 0; i--) {
+                this.remove(sortedIndexes[i]);
+            }
+            return;
+        }
+        Object[] values = new Object[size - sortedIndexes.length];
+        int numOfValues = 0;
+        int next = 0;
+        int index = 0;
+        for (E element : this) {
+            if (next < sortedIndexes.length && sortedIndexes[next] == index) {
+                next++;
+            } else {
+                values[numOfValues++] = element;
+            }
+            index++;
+        }
+        this.root = this.build(values, 0, numOfValues);
+        this.modCount++;
+    }
+
+    @Override
+    public void clear() {
+        this.root = null;
+        this.modCount++;
+    }
+
+    /**
+     * Iterates over the list in order, taking O(1) amortized time per element instead of a search from the root.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new TreeIterator();
+    }
+
+    private Node<E> nodeAt(int index) {
+        this.checkIndex(index);
+        Node<E> node = this.root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size());
+        }
+    }
+
+    private Node<E> set(Node<E> node, int index, E element) {
+        node = this.mutable(node);
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            node.left = this.set(node.left, index, element);
+        } else if (index > leftSize) {
+            node.right = this.set(node.right, index - leftSize - 1, element);
+        } else {
+            node.value = element;
+        }
+        return node;
+    }
+
+    private Node<E> insert(Node<E> node, int index, E element) {
+        if (node == null) {
+            this.numOfNodesCreated++;
+            return update(new Node<>(element, this.version));
+        }
+        node = this.mutable(node);
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            node.left = this.insert(node.left, index, element);
+        } else {
+            node.right = this.insert(node.right, index - leftSize - 1, element);
+        }
+        return this.balance(node);
+    }
+
+    private Node<E> remove(Node<E> node, int index) {
+        node = this.mutable(node);
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            node.left = this.remove(node.left, index);
+        } else if (index > leftSize) {
+            node.right = this.remove(node.right, index - leftSize - 1);
+        } else {
+            this.removed = node.value;
+            if (node.left == null) {
+                return node.right;
+            } else if (node.right == null) {
+                return node.left;
+            }
+            Node<E> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.value = successor.value;
+            node.right = this.removeFirst(node.right);
+        }
+        return this.balance(node);
+    }
+
+    private Node<E> removeFirst(Node<E> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node = this.mutable(node);
+        node.left = this.removeFirst(node.left);
+        return this.balance(node);
+    }
+
+    /** Balances a node of this version, whose subtrees may be shared with a snapshot. */
+    private Node<E> balance(Node<E> node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = this.rotateLeft(node.left);
+            }
+            return this.rotateRight(node);
+        } else if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = this.rotateRight(node.right);
+            }
+            return this.rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<E> rotateLeft(Node<E> node) {
+        node = this.mutable(node);
+        Node<E> right = this.mutable(node.right);
+        node.right = right.left;
+        right.left = update(node);
+        return update(right);
+    }
+
+    private Node<E> rotateRight(Node<E> node) {
+        node = this.mutable(node);
+        Node<E> left = this.mutable(node.left);
+        node.left = left.right;
+        left.right = update(node);
+        return update(left);
+    }
+
+    /** Returns the node if it belongs to this version of the list, or a copy of it that does if it may be shared. */
+    private Node<E> mutable(Node<E> node) {
+        if (node.version == this.version) {
+            return node;
+        }
+        this.numOfNodesCreated++;
+        Node<E> copy = new Node<>(node.value, this.version);
+        copy.left = node.left;
+        copy.right = node.right;
+        copy.size = node.size;
+        copy.height = node.height;
+        return copy;
+    }
+
+    private static <E> Node<E> update(Node<E> node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        return node;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static class Node<E> {
+        private E value;
+        private Node<E> left;
+        private Node<E> right;
+        private int size;
+        private int height;
+        private final int version;
+
+        Node(E value, int version) {
+            this.value = value;
+            this.version = version;
+        }
+    }
+
+    /** Walks the tree in order, keeping the path of nodes that are still to be returned on a stack. */
+    private class TreeIterator implements Iterator<E> {
+        private final ArrayDeque<Node<E>> path = new ArrayDeque<>();
+        private int nextIndex;
+        private int lastIndex = -1;
+        private int expectedModCount = TreeList.this.modCount;
+
+        TreeIterator() {
+            this.pushLeft(TreeList.this.root);
+        }
+
+        private void pushLeft(Node<E> node) {
+            while (node != null) {
+                this.path.push(node);
+                node = node.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.nextIndex < TreeList.this.size();
+        }
+
+        @Override
+        public E next() {
+            if (TreeList.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Node<E> node = this.path.pop();
+            this.pushLeft(node.right);
+            this.lastIndex = this.nextIndex++;
+            return node.value;
+        }
+
+        /**
+         * Removes the element last returned, then finds the path to the next element again, as the tree may have
+         * been rebalanced around it.
+         */
+        @Override
+        public void remove() {
+            if (this.lastIndex < 0) {
+                throw new IllegalStateException();
+            }
+            if (TreeList.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            TreeList.this.remove(this.lastIndex);
+            this.expectedModCount = TreeList.this.modCount;
+            this.nextIndex = this.lastIndex;
+            this.lastIndex = -1;
+
+            this.path.clear();
+            Node<E> node = TreeList.this.root;
+            int index = this.nextIndex;
+            while (node != null) {
+                int leftSize = size(node.left);
+                if (index < leftSize) {
+                    this.path.push(node);
+                    node = node.left;
+                } else if (index > leftSize) {
+                    index -= leftSize + 1;
+                    node = node.right;
+                } else {
+                    this.path.push(node);
+                    break;
+                }
+            }
+        }
+    }
+}
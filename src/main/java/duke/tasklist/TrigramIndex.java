@@ -0,0 +1,32 @@
+package duke.tasklist;
+
+import java.util.HashSet;
+
+/**
+ * Represents an inverted index from every three consecutive characters in the details of the tasks to the ids of the
+ * tasks that contain them.
+ *
+ * Any task that contains a query string also contains every trigram of the query, so the tasks found in the index
+ * are the only ones that can match. They still have to be checked, as the trigrams may be in a different order or
+ * far apart. Trigrams are case sensitive, the same as {@link String#contains}.
+ */
+class TrigramIndex extends TaskIndex<Long> {
+
+    /** The length of the shortest query that the index can answer. */
+    static final int TRIGRAM_LENGTH = 3;
+
+    /**
+     * Finds the distinct trigrams of the String, each packed into a long of three 16 bit characters.
+     *
+     * @param str details of a task or a query.
+     * @return the distinct trigrams of the String.
+     */
+    @Override
+    HashSet<Long> keysOf(String str) {
+        HashSet<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= str.length(); i++) {
+            trigrams.add((long) str.charAt(i) << 32 | (long) str.charAt(i + 1) << 16 | str.charAt(i + 2));
+        }
+        return trigrams;
+    }
+}
@@ -3,6 +3,7 @@ package duke.ui;
 import java.util.Objects;
 
 import duke.Duke;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ScrollPane;
@@ -70,6 +71,16 @@ public class Ui extends AnchorPane {
         this.response = reply;
     }
 
+    /**
+     * Shows a reminder from Duke on its own, without waiting for a command. Can be run from any thread.
+     *
+     * @param reminder the reminder given by Duke.
+     */
+    public void showReminder(String reminder) {
+        Platform.runLater(() -> this.dialogContainer.getChildren()
+                .add(MessageBox.getDukeDialog(reminder, this.dukeImage)));
+    }
+
     /**
      * Prints out the response given by Duke.
      */
@@ -0,0 +1,81 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import duke.database.ChunkedTaskLoader;
+import duke.exception.databaseexceptions.DatabaseTypeNotFoundException;
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Task;
+import duke.task.ToDo;
+
+
+
+public class ChunkedTaskLoaderTest {
+
+    private static final String DELIMITER = Character.toString((char) 31);
+
+    private Path writeTasks(int numOfTasks, String extraLine) throws IOException {
+        Path file = Files.createTempFile("duke", ".txt");
+        file.toFile().deleteOnExit();
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < numOfTasks; i++) {
+            switch (i % 3) {
+            case 0:
+                data.append(String.join(DELIMITER, "T", "X", "todo " + i));
+                break;
+            case 1:
+                data.append(String.join(DELIMITER, "D", " ", "deadline " + i, "2023-02-18T18:00"));
+                break;
+            default:
+                data.append(String.join(DELIMITER, "E", "X", "event " + i, "2023-02-18T18:00", "2023-02-19T09:30"));
+            }
+            data.append("\n");
+            if (i == numOfTasks / 2 && extraLine != null) {
+                data.append(extraLine).append("\n");
+            }
+        }
+        Files.writeString(file, data);
+        return file;
+    }
+
+    private ArrayList<String> loadWithScanner(File file) throws IOException {
+        ArrayList<String> tasks = new ArrayList<>();
+        Scanner scanner = new Scanner(file);
+        while (scanner.hasNextLine()) {
+            tasks.add(String.join(DELIMITER, scanner.nextLine().split(DELIMITER)));
+        }
+        scanner.close();
+        return tasks;
+    }
+
+    @Test
+    public void chunkedTaskLoader_multipleChunks_sameOrderAsScanner() throws Exception {
+        Path file = writeTasks(60000, null);
+        ArrayList<Task> tasks = new ChunkedTaskLoader(new ForkJoinPool(4)).load(file);
+        ArrayList<String> expected = loadWithScanner(file.toFile());
+
+        assertEquals(expected.size(), tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(expected.get(i), String.join(DELIMITER, tasks.get(i).getData()));
+        }
+        assertEquals(ToDo.class, tasks.get(0).getClass());
+        assertEquals(Deadline.class, tasks.get(1).getClass());
+        assertEquals(Event.class, tasks.get(2).getClass());
+    }
+
+    @Test
+    public void chunkedTaskLoader_unknownType_exceptionThrown() throws IOException {
+        Path file = writeTasks(60000, String.join(DELIMITER, "Q", " ", "unknown"));
+        assertThrows(DatabaseTypeNotFoundException.class, () -> new ChunkedTaskLoader(new ForkJoinPool(4)).load(file));
+    }
+}
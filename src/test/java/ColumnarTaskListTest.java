@@ -0,0 +1,49 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.exception.DukeException;
+import duke.task.ColumnarTaskList;
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Task;
+import duke.task.ToDo;
+import duke.tasklist.TaskList;
+import duke.tasklist.TaskTarget;
+
+public class ColumnarTaskListTest {
+    @Test
+    public void columnarTaskList_taskListCommands_sameAsTreeList() throws DukeException {
+        LocalDateTime monday = LocalDateTime.of(2026, 10, 19, 9, 0);
+        TaskList columnar = new TaskList(new ColumnarTaskList());
+        TaskList tree = new TaskList();
+        for (TaskList taskList : List.of(columnar, tree)) {
+            taskList.addTask(new ToDo("read the café menu"));
+            taskList.addTask(new Deadline("essay", monday.plusDays(1), false));
+            taskList.addTask(new Event("lecture", monday, monday.plusHours(2), false));
+            taskList.addTask(new Deadline("quiz", monday.plusDays(3), true));
+            taskList.findTasksDue(null, monday.plusDays(7));
+            taskList.deleteTask(1);
+            taskList.markTask(TaskTarget.parse("#2").resolve(taskList), true);
+            taskList.editTask(TaskTarget.parse("#4").resolve(taskList), "pop quiz");
+        }
+
+        assertEquals(statusesOf(tree.getSnapshot()), statusesOf(columnar.getSnapshot()));
+        assertEquals(statusesOf(tree.findTasksDue(null, monday.plusDays(7))),
+                statusesOf(columnar.findTasksDue(null, monday.plusDays(7))));
+        assertEquals(statusesOf(tree.findTasksContaining("quiz")), statusesOf(columnar.findTasksContaining("quiz")));
+        assertEquals(4, columnar.getTask(3).getId());
+    }
+
+    private static List<String> statusesOf(List<? extends Task> tasks) {
+        List<String> statuses = new ArrayList<>();
+        for (Task task : tasks) {
+            statuses.add(task.getStatus() + " #" + task.getId());
+        }
+        return statuses;
+    }
+}
@@ -0,0 +1,609 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import duke.database.BinaryDatabase;
+import duke.database.BinaryTaskCodec;
+import duke.database.CompressedDatabase;
+import duke.database.CompressedTaskCodec;
+import duke.database.Database;
+import duke.database.Journal;
+import duke.database.PagedDatabase;
+import duke.database.ShardedDatabase;
+import duke.database.StorageEngine;
+import duke.database.StorageEngines;
+import duke.database.StorageFormat;
+import duke.database.TextDatabase;
+import duke.exception.DukeException;
+import duke.exception.databaseexceptions.DatabaseNotLoadingException;
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Task;
+import duke.task.ToDo;
+import duke.tasklist.TaskList;
+
+
+
+public class DatabaseTest {
+
+    private String newDatabasePath() throws IOException {
+        Path directory = Files.createTempDirectory("duke");
+        directory.toFile().deleteOnExit();
+        return directory.resolve("tasks.txt").toString();
+    }
+
+    @Test
+    public void database_journalWithoutSnapshot_replayedOnLoad() throws DukeException, IOException {
+        String filePath = newDatabasePath();
+        Database database = new BinaryDatabase(filePath);
+        ArrayList<Task> tasks = database.load();
+        ToDo first = new ToDo("first");
+        tasks.add(first);
+        database.recordAdd(first);
+        ToDo second = new ToDo("second");
+        tasks.add(second);
+        database.recordAdd(second);
+        database.recordMark(2);
+        database.recordEdit(2, "changed");
+        database.recordDelete(1);
+
+        ArrayList<Task> loaded = new BinaryDatabase(filePath).load();
+        assertEquals(1, loaded.size());
+        assertEquals("[T][X]  changed", loaded.get(0).getStatus());
+    }
+
+    @Test
+    public void journal_appendedWithoutLoading_notReplayedOnEmptySnapshot() throws DukeException, IOException {
+        String journalPath = newDatabasePath() + ".journal";
+        Journal orphaned = new Journal(journalPath);
+        orphaned.append(Journal.ADD, "T", "0", "orphaned");
+        orphaned.close();
+
+        // The checksum of an empty snapshot is 0, which the journal must not be mistaken for having been started on.
+        List<Task> tasks = new ArrayList<>();
+        new Journal(journalPath).replay(tasks, 0);
+        assertEquals(0, tasks.size());
+    }
+
+    @Test
+    public void database_journalAfterSnapshot_notReplayedTwice() throws DukeException, IOException {
+        String filePath = newDatabasePath();
+        Database database = new BinaryDatabase(filePath);
+        ArrayList<Task> tasks = database.load();
+        ToDo task = new ToDo("only once");
+        tasks.add(task);
+        database.recordAdd(task);
+        database.update(tasks);
+
+        ArrayList<Task> loaded = new BinaryDatabase(filePath).load();
+        assertEquals(1, loaded.size());
+    }
+
+    @Test
+    public void database_crashAroundRename_noChangeLostOrReplayedTwice() throws DukeException, IOException {
+        String filePath = newDatabasePath();
+        Path journalPath = Path.of(filePath + ".journal");
+        Database database = new BinaryDatabase(filePath);
+        ArrayList<Task> tasks = database.load();
+        tasks.add(new ToDo("first"));
+        database.update(tasks);
+        ToDo second = new ToDo("second");
+        tasks.add(second);
+        database.recordAdd(second);
+
+        // Crashed while writing the next snapshot, before it was renamed over the database file.
+        Files.write(Path.of(filePath + ".tmp"), new byte[] {0x44, 0x55});
+        assertEquals(2, new BinaryDatabase(filePath).load().size());
+
+        // Crashed after the next snapshot was renamed into place, before the journal was cleared.
+        byte[] journal = Files.readAllBytes(journalPath);
+        database.update(tasks);
+        Files.write(journalPath, journal);
+        ArrayList<Task> loaded = new BinaryDatabase(filePath).load();
+        assertEquals(2, loaded.size());
+        assertEquals("second", loaded.get(1).getDetails().strip());
+    }
+
+    @Test
+    public void database_killedBeforeFirstSaveTwice_noChangeLost() throws DukeException, IOException {
+        for (boolean isCompressed : new boolean[] {false, true}) {
+            String filePath = newDatabasePath();
+            Database first = isCompressed ? new CompressedDatabase(filePath, StorageFormat.TEXT)
+                    : new BinaryDatabase(filePath);
+            ArrayList<Task> tasks = first.load();
+            for (String details : new String[] {"a", "b", "c"}) {
+                Task task = new ToDo(details).withId(tasks.size() + 1);
+                tasks.add(task);
+                first.recordAdd(task);
+            }
+            first.recordMark(2);
+            first.recordDelete(1);
+
+            Database second = isCompressed ? new CompressedDatabase(filePath, StorageFormat.TEXT)
+                    : new BinaryDatabase(filePath);
+            ArrayList<Task> reloaded = second.load();
+            assertEquals(List.of("[T][X]  b #2", "[T][ ]  c #3"), statusesOf(reloaded));
+            Task added = new ToDo("d").withId(4);
+            reloaded.add(added);
+            second.recordAdd(added);
+            second.recordEdit(1, "B");
+
+            Database third = isCompressed ? new CompressedDatabase(filePath, StorageFormat.TEXT)
+                    : new BinaryDatabase(filePath);
+            assertEquals(List.of("[T][X]  B #2", "[T][ ]  c #3", "[T][ ]  d #4"), statusesOf(third.load()));
+        }
+    }
+
+    private static List<String> statusesOf(List<Task> tasks) {
+        return tasks.stream().map(task -> task.getStatus() + " #" + task.getId()).collect(Collectors.toList());
+    }
+
+    @Test
+    public void database_legacyTextFile_migratedToBinary() throws DukeException, IOException {
+        String filePath = newDatabasePath();
+        Database textDatabase = new TextDatabase(filePath);
+        ArrayList<Task> tasks = textDatabase.load();
+        tasks.add(new ToDo("todo", true));
+        tasks.add(new Deadline("deadline", "18-02-2023 18:00"));
+        tasks.add(new Event("event", "18-02-2023 18:00", "19-02-2023 09:30"));
+        textDatabase.update(tasks);
+        assertFalse(BinaryTaskCodec.isBinary(Path.of(filePath)));
+
+        ArrayList<Task> migrated = new BinaryDatabase(filePath).load();
+        assertTrue(BinaryTaskCodec.isBinary(Path.of(filePath)));
+        ArrayList<Task> loaded = new BinaryDatabase(filePath).load();
+        assertEquals(tasks.size(), loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).getData(), migrated.get(i).getData());
+            assertEquals(tasks.get(i).getData(), loaded.get(i).getData());
+        }
+    }
+
+    @Test
+    public void database_pagedChanges_writtenInPlace() throws DukeException, IOException {
+        String filePath = newDatabasePath();
+        Database database = new PagedDatabase(filePath);
+        ArrayList<Task> tasks = database.load();
+        for (int i = 0; i < 5; i++) {
+            ToDo task = new ToDo("task " + i);
+            tasks.add(task);
+            database.recordAdd(task);
+        }
+        long size = Files.size(Path.of(filePath));
+        tasks.set(1, tasks.get(1).withCompleted(true));
+        database.recordMark(2);
+        tasks.set(3, tasks.get(3).withDetails("a much longer description for task 3"));
+        database.recordEdit(4, tasks.get(3).getDetails());
+        tasks.remove(0);
+        database.recordDelete(1);
+        assertEquals(size, Files.size(Path.of(filePath)));
+
+        ArrayList<Task> loaded = new PagedDatabase(filePath).load();
+        assertEquals(tasks.size(), loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).getData(), loaded.get(i).getData());
+        }
+    }
+
+    @Test
+    public void database_pagedBulkChanges_writtenInPlace() throws DukeException, IOException {
+        String filePath = newDatabasePath();
+        Database database = new PagedDatabase(filePath);
+        ArrayList<Task> tasks = database.load();
+        Path journal = Path.of(filePath + ".journal");
+        long journalSize = Files.exists(journal) ? Files.size(journal) : 0;
+        for (int i = 0; i < 6; i++) {
+            Task task = new ToDo("task " + i).withId(i + 1);
+            tasks.add(task);
+            database.recordAdd(task);
+        }
+        for (int i = 0; i < 4; i++) {
+            tasks.set(i, tasks.get(i).withCompleted(true));
+        }
+        database.recordMarkAll(new int[] {1, 2, 3, 4}, true);
+        tasks.set(1, tasks.get(1).withCompleted(false));
+        database.recordMarkAll(new int[] {2}, false);
+        tasks.remove(4);
+        tasks.remove(2);
+        tasks.remove(0);
+        database.recordDeleteAll(new int[] {1, 3, 5});
+
+        ArrayList<Task> loaded = new PagedDatabase(filePath).load();
+        assertEquals(tasks.size(), loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).getData(), loaded.get(i).getData());
+        }
+        // Nothing is journalled, as every change is already in the slots.
+        assertEquals(journalSize, Files.exists(journal) ? Files.size(journal) : 0);
+    }
+
+    @Test
+    public void database_pagedDateOutOfRange_notLoaded() throws DukeException, IOException {
+        String filePath = newDatabasePath();
+        Path path = Path.of(filePath);
+        Database database = new PagedDatabase(filePath);
+        ArrayList<Task> tasks = database.load();
+        Task task = new Deadline("deadline", "18-02-2023 18:00").withId(1);
+        tasks.add(task);
+        database.recordAdd(task);
+
+        // The slot holds the deadline in epoch seconds, which is found by its value.
+        byte[] slots = Files.readAllBytes(path);
+        long deadline = ((Deadline) task).getDeadline().toEpochSecond(ZoneOffset.UTC);
+        ByteBuffer data = ByteBuffer.wrap(slots);
+        int position = 0;
+        while (data.getLong(position) != deadline) {
+            position++;
+        }
+        data.putLong(position, Long.MAX_VALUE);
+        Files.write(path, slots);
+        assertThrows(DatabaseNotLoadingException.class, () -> new PagedDatabase(filePath).load());
+    }
+
+    @Test
+    public void database_pagedRewrite_laterChangesWrittenIntoNewFiles() throws DukeException, IOException {
+        String filePath = newDatabasePath();
+        Database database = new PagedDatabase(filePath);
+        ArrayList<Task> tasks = database.load();
+        for (int i = 0; i < 3; i++) {
+            tasks.add(new ToDo("task " + i).withId(i + 1));
+        }
+        database.recordRewrite(tasks);
+        database.recordRewrite(tasks);
+        tasks.set(2, tasks.get(2).withCompleted(true));
+        database.recordMark(3);
+        Task added = new ToDo("task 3").withId(4);
+        tasks.add(added);
+        database.recordAdd(added);
+
+        ArrayList<Task> loaded = new PagedDatabase(filePath).load();
+        assertEquals(tasks.size(), loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).getData(), loaded.get(i).getData());
+        }
+    }
+
+    @Test
+    public void database_bulkMarkAndDelete_journalledWithoutRewrite() throws DukeException, IOException {
+        String filePath = newDatabasePath();
+        Database database = new BinaryDatabase(filePath);
+        TaskList tasks = new TaskList(database.load());
+        for (int i = 1; i <= 10; i++) {
+            tasks.addTask(new ToDo("task " + i));
+        }
+        database.update(tasks.getTasks());
+        byte[] snapshot = Files.readAllBytes(Path.of(filePath));
+
+        int[] marked = {2, 3, 4, 7};
+        tasks.markTasks(marked, true);
+        database.recordMarkAll(marked, true);
+        int[] unmarked = {3};
+        tasks.markTasks(unmarked, false);
+        database.recordMarkAll(unmarked, false);
+        int[] deleted = {1, 2, 5, 6, 7, 10};
+        tasks.deleteTasks(deleted);
+        database.recordDeleteAll(deleted);
+
+        assertArrayEquals(snapshot, Files.readAllBytes(Path.of(filePath)));
+        ArrayList<Task> loaded = new BinaryDatabase(filePath).load();
+        assertEquals(tasks.length(), loaded.size());
+        for (int i = 0; i < loaded.size(); i++) {
+            assertEquals(tasks.getTask(i + 1).getStatus(), loaded.get(i).getStatus());
+        }
+        assertEquals("task 3", loaded.get(0).getDetails());
+        assertFalse(loaded.get(0).isCompleted());
+        assertTrue(loaded.get(1).isCompleted());
+    }
+
+    @Test
+    public void database_backgroundPersistence_savedAfterQuietPeriod() throws DukeException, IOException,
+            InterruptedException {
+        String filePath = newDatabasePath();
+        Database database = new BinaryDatabase(filePath);
+        TaskList tasks = new TaskList(database.load());
+        database.startPersistence(tasks, 10, 1000);
+        tasks.addTask(new ToDo("saved in the background"));
+        tasks.markDirty();
+
+        long giveUpTime = System.currentTimeMillis() + 5000;
+        while (Files.size(Path.of(filePath)) == 0 && System.currentTimeMillis() < giveUpTime) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, new BinaryDatabase(filePath).load().size());
+        assertFalse(tasks.isDirty());
+        database.stopPersistence(tasks);
+    }
+
+    @Test
+    public void database_stopPersistence_unsavedChangesFlushed() throws DukeException, IOException {
+        String filePath = newDatabasePath();
+        Database database = new BinaryDatabase(filePath);
+        TaskList tasks = new TaskList(database.load());
+        database.startPersistence(tasks, 60000, 60000);
+        for (int i = 0; i < 3; i++) {
+            tasks.addTask(new ToDo("task " + i));
+            tasks.markDirty();
+            database.recordAdd(tasks.getTask(i + 1));
+        }
+        tasks.getLock().lock();
+        try {
+            database.stopPersistence(tasks);
+        } finally {
+            tasks.getLock().unlock();
+        }
+
+        assertFalse(tasks.isDirty());
+        ArrayList<Task> loaded = new BinaryDatabase(filePath).load();
+        assertEquals(3, loaded.size());
+        assertEquals("task 2", loaded.get(2).getDetails());
+    }
+
+    @Test
+    public void database_processKilledBetweenSaves_journalledChangesKept() throws DukeException, IOException,
+            InterruptedException {
+        String filePath = newDatabasePath();
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                DatabaseTest.class.getName(), filePath).inheritIO().start();
+        try {
+            Path journal = Path.of(filePath + ".journal");
+            long giveUpTime = System.currentTimeMillis() + 10000;
+            // The header of the journal, followed by a record for each task added after the save.
+            while ((!Files.exists(journal) || Files.readAllLines(journal).size() < 3)
+                    && System.currentTimeMillis() < giveUpTime) {
+                Thread.sleep(10);
+            }
+        } finally {
+            process.destroyForcibly();
+            process.waitFor();
+        }
+
+        ArrayList<Task> loaded = new BinaryDatabase(filePath).load();
+        assertEquals(4, loaded.size());
+        assertEquals("saved 2", loaded.get(1).getDetails());
+        assertEquals("journalled 2", loaded.get(3).getDetails());
+    }
+
+    /**
+     * Saves two tasks into the database file at the given path, then adds two more while the tasks are saved in the
+     * background and waits to be killed before the next save. Run in its own process by
+     * {@link #database_processKilledBetweenSaves_journalledChangesKept()}.
+     *
+     * @param args the path of the database file.
+     */
+    public static void main(String[] args) throws DukeException, InterruptedException {
+        Database database = new BinaryDatabase(args[0]);
+        TaskList tasks = new TaskList(database.load());
+        for (int i = 1; i <= 2; i++) {
+            tasks.addTask(new ToDo("saved " + i));
+        }
+        database.update(tasks.getTasks());
+        database.startPersistence(tasks, 60000, 60000);
+        for (int i = 1; i <= 2; i++) {
+            tasks.getLock().lock();
+            try {
+                database.recordAdd(tasks.addTask(new ToDo("journalled " + i)));
+                tasks.markDirty();
+            } finally {
+                tasks.getLock().unlock();
+            }
+        }
+        Thread.sleep(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void database_shardedChanges_onlyChangedShardRewritten() throws DukeException, IOException {
+        String filePath = newDatabasePath();
+        Database database = new ShardedDatabase(filePath);
+        ArrayList<Task> tasks = database.load();
+        for (int i = 1; i <= 100; i++) {
+            tasks.add(new ToDo("task " + i).withId(i));
+        }
+        database.update(tasks);
+        tasks.set(41, tasks.get(41).withCompleted(true));
+        database.recordMark(42);
+        tasks.remove(0);
+        database.recordDelete(1);
+        Task added = new ToDo("added").withId(101);
+        tasks.add(added);
+        database.recordAdd(added);
+        database.update(tasks);
+
+        // Saves so far were the empty store on load, then every task. Tasks 1, 42 and the added task 101 are in
+        // shards 1, 2 and 5 of 8, which are the only ones the third save rewrites.
+        try (Stream<Path> files = Files.list(Path.of(filePath).getParent())) {
+            List<String> rewritten = files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.matches("tasks\\.txt\\.shard\\d+\\.3"))
+                    .sorted()
+                    .collect(Collectors.toList());
+            assertEquals(List.of("tasks.txt.shard1.3", "tasks.txt.shard2.3", "tasks.txt.shard5.3"), rewritten);
+        }
+        ArrayList<Task> loaded = new ShardedDatabase(filePath).load();
+        assertEquals(tasks.size(), loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).getData(), loaded.get(i).getData());
+        }
+    }
+
+    @Test
+    public void database_shardedJournalReplayed_onlyChangedShardRewritten() throws DukeException, IOException {
+        String filePath = newDatabasePath();
+        Database database = new ShardedDatabase(filePath);
+        ArrayList<Task> tasks = database.load();
+        for (int i = 1; i <= 100; i++) {
+            tasks.add(new ToDo("task " + i).withId(i));
+        }
+        database.update(tasks);
+        database.recordMark(42);
+
+        Database reopened = new ShardedDatabase(filePath);
+        ArrayList<Task> replayed = reopened.load();
+        assertTrue(replayed.get(41).isCompleted());
+        reopened.update(replayed);
+
+        // Task 42 is in shard 2 of 8, and the journal did not make the other shards be rewritten as well.
+        try (Stream<Path> files = Files.list(Path.of(filePath).getParent())) {
+            List<String> rewritten = files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.matches("tasks\\.txt\\.shard\\d+\\.3"))
+                    .collect(Collectors.toList());
+            assertEquals(List.of("tasks.txt.shard2.3"), rewritten);
+        }
+        assertTrue(new ShardedDatabase(filePath).load().get(41).isCompleted());
+    }
+
+    @Test
+    public void database_compressedText_journalReplayedAndMigratedBack() throws DukeException, IOException {
+        String filePath = newDatabasePath();
+        Database compressed = new CompressedDatabase(filePath, StorageFormat.TEXT);
+        ArrayList<Task> tasks = compressed.load();
+        tasks.add(new ToDo("todo", true));
+        tasks.add(new Deadline("deadline", "18-02-2023 18:00"));
+        tasks.add(new Event("event", "18-02-2023 18:00", "19-02-2023 09:30"));
+        compressed.update(tasks);
+        assertTrue(CompressedTaskCodec.isCompressed(Path.of(filePath)));
+        ToDo added = new ToDo("added");
+        tasks.add(added);
+        compressed.recordAdd(added);
+
+        ArrayList<Task> migrated = new BinaryDatabase(filePath).load();
+        assertFalse(CompressedTaskCodec.isCompressed(Path.of(filePath)));
+        assertTrue(BinaryTaskCodec.isBinary(Path.of(filePath)));
+        assertEquals(tasks.size(), migrated.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).getData(), migrated.get(i).getData());
+        }
+    }
+
+    @Test
+    public void database_corruptGzip_notLoadedAndLeftAsItIs() throws DukeException, IOException {
+        String filePath = newDatabasePath();
+        Path path = Path.of(filePath);
+        Database compressed = new CompressedDatabase(filePath, StorageFormat.BINARY);
+        ArrayList<Task> tasks = compressed.load();
+        for (int i = 1; i <= 200; i++) {
+            tasks.add(new ToDo("task " + i));
+        }
+        compressed.update(tasks);
+        byte[] saved = Files.readAllBytes(path);
+
+        byte[] truncated = Arrays.copyOf(saved, saved.length / 2);
+        byte[] flipped = saved.clone();
+        flipped[saved.length / 2] ^= 0x5A;
+        for (byte[] corrupt : List.of(truncated, flipped)) {
+            Files.write(path, corrupt);
+            assertThrows(DatabaseNotLoadingException.class,
+                    () -> new CompressedDatabase(filePath, StorageFormat.BINARY).load());
+            assertThrows(DatabaseNotLoadingException.class, () -> new BinaryDatabase(filePath).load());
+            assertArrayEquals(corrupt, Files.readAllBytes(path));
+        }
+    }
+
+    @Test
+    public void database_recordShorterThanItsFields_notLoaded() throws DukeException, IOException {
+        String filePath = newDatabasePath();
+        Path path = Path.of(filePath);
+        Database database = new BinaryDatabase(filePath);
+        ArrayList<Task> tasks = database.load();
+        tasks.add(new Deadline("deadline", "18-02-2023 18:00").withId(1));
+        database.update(tasks);
+
+        // The record holds a flag byte, an id and a deadline, but claims to be only 5 bytes long.
+        byte[] corrupt = Files.readAllBytes(path);
+        int headerSize = Integer.BYTES + Short.BYTES + Integer.BYTES + Long.BYTES;
+        ByteBuffer.wrap(corrupt).putInt(headerSize, 5);
+        Files.write(path, corrupt);
+        assertThrows(DatabaseNotLoadingException.class, () -> new BinaryDatabase(filePath).load());
+        assertThrows(DatabaseNotLoadingException.class, () -> new BinaryDatabase(filePath).loadLazily());
+    }
+
+    @Test
+    public void database_dateOutOfRange_notLoaded() throws DukeException, IOException {
+        String filePath = newDatabasePath();
+        Path path = Path.of(filePath);
+        Database database = new BinaryDatabase(filePath);
+        ArrayList<Task> tasks = database.load();
+        tasks.add(new Deadline("deadline", "18-02-2023 18:00").withId(1));
+        database.update(tasks);
+
+        // The deadline comes after the length, the flag byte and the id of the record.
+        byte[] corrupt = Files.readAllBytes(path);
+        int headerSize = Integer.BYTES + Short.BYTES + Integer.BYTES + Long.BYTES;
+        ByteBuffer.wrap(corrupt).putLong(headerSize + Integer.BYTES + 1 + Long.BYTES, Long.MAX_VALUE);
+        Files.write(path, corrupt);
+        assertThrows(DatabaseNotLoadingException.class, () -> new BinaryDatabase(filePath).load());
+        assertThrows(DatabaseNotLoadingException.class, () -> new BinaryDatabase(filePath).loadLazily());
+
+        try (GZIPOutputStream out = new GZIPOutputStream(Files.newOutputStream(path))) {
+            out.write(corrupt);
+        }
+        assertThrows(DatabaseNotLoadingException.class,
+                () -> new CompressedDatabase(filePath, StorageFormat.BINARY).load());
+    }
+
+    @Test
+    public void database_taskIds_keptAcrossDeletesInEveryFormat() throws DukeException, IOException {
+        for (String name : List.of("text", "binary", "paged", "sharded", "mapped", "text.gz", "binary.gz")) {
+            String filePath = newDatabasePath();
+            StorageEngine database = StorageEngines.create(name, filePath);
+            TaskList taskList = new TaskList(database.load());
+            for (int i = 1; i <= 4; i++) {
+                database.recordAdd(taskList.addTask(new ToDo("task " + i)));
+            }
+            database.update(taskList.getTasks());
+            taskList.deleteTask(1);
+            database.recordDelete(1);
+
+            TaskList loaded = new TaskList(StorageEngines.create(name, filePath).load());
+            assertEquals(3, loaded.length());
+            assertEquals(1, loaded.getTaskNumber(2), name);
+            assertEquals(3, loaded.getTaskNumber(4), name);
+        }
+    }
+
+    @Test
+    public void database_lastTaskDeleted_idNotReusedInEveryFormat() throws DukeException, IOException {
+        for (String name : List.of("text", "binary", "paged", "sharded", "mapped", "text.gz", "binary.gz")) {
+            String filePath = newDatabasePath();
+            StorageEngine database = StorageEngines.create(name, filePath);
+            TaskList taskList = new TaskList(database.load(), database.getLastId());
+            for (int i = 1; i <= 3; i++) {
+                database.recordAdd(taskList.addTask(new ToDo("task " + i)));
+            }
+            database.update(taskList.getTasks());
+            taskList.deleteTask(3);
+            database.recordDelete(3);
+
+            // The deleted task is only in the journal.
+            StorageEngine reloaded = StorageEngines.create(name, filePath);
+            TaskList reloadedList = new TaskList(reloaded.loadLazily(), reloaded.getLastId());
+            Task added = reloadedList.addTask(new ToDo("task 4"));
+            assertEquals(4L, added.getId(), name);
+            reloaded.recordAdd(added);
+            reloadedList.deleteTask(3);
+            reloaded.recordDelete(3);
+            reloaded.update(reloadedList.getTasks());
+
+            // The deleted task is no longer in the saved tasks at all.
+            StorageEngine saved = StorageEngines.create(name, filePath);
+            TaskList savedList = new TaskList(saved.load(), saved.getLastId());
+            assertEquals(2, savedList.length(), name);
+            assertEquals(5L, savedList.addTask(new ToDo("task 5")).getId(), name);
+        }
+    }
+}
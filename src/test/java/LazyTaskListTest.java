@@ -0,0 +1,124 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import duke.database.BinaryDatabase;
+import duke.database.Database;
+import duke.database.LazyTaskList;
+import duke.database.StorageFormat;
+import duke.database.TextDatabase;
+import duke.exception.DukeException;
+import duke.task.Deadline;
+import duke.task.Task;
+import duke.task.ToDo;
+import duke.tasklist.TaskList;
+
+
+
+public class LazyTaskListTest {
+
+    private Path writeTasks(StorageFormat format) throws IOException, DukeException {
+        Path directory = Files.createTempDirectory("duke");
+        directory.toFile().deleteOnExit();
+        Path file = directory.resolve("tasks.txt");
+        Database database = format == StorageFormat.BINARY ? new BinaryDatabase(file.toString())
+                : new TextDatabase(file.toString());
+        ArrayList<Task> tasks = database.load();
+        for (int i = 0; i < 10; i++) {
+            tasks.add(i % 2 == 0 ? new ToDo("todo " + i) : new Deadline("deadline " + i, "18-02-2023 18:00"));
+        }
+        database.update(tasks);
+        return file;
+    }
+
+    @Test
+    public void lazyTaskList_changedTaskEvicted_changeKept() throws IOException, DukeException {
+        for (StorageFormat format : new StorageFormat[] {StorageFormat.TEXT, StorageFormat.BINARY}) {
+            Path file = writeTasks(format);
+            LazyTaskList tasks = LazyTaskList.open(file, format, 2);
+            tasks.set(0, tasks.get(0).withCompleted(true));
+            tasks.set(1, tasks.get(1).withDetails("edited"));
+            for (int i = 2; i < tasks.size(); i++) {
+                tasks.get(i);
+            }
+            tasks.add(new ToDo("added"));
+            tasks.remove(2);
+
+            assertEquals(10, tasks.size());
+            assertTrue(tasks.get(0).isCompleted());
+            assertEquals("edited", tasks.get(1).getDetails());
+            assertEquals("deadline 3", tasks.get(2).getDetails());
+            assertEquals("added", tasks.get(9).getDetails());
+        }
+    }
+
+    @Test
+    public void lazyTaskList_readFromManyThreads_sameTasksAsLoad() throws Exception {
+        for (StorageFormat format : new StorageFormat[] {StorageFormat.TEXT, StorageFormat.BINARY}) {
+            Path file = writeTasks(format);
+            LazyTaskList tasks = LazyTaskList.open(file, format, 2);
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < tasks.size(); i++) {
+                expected.add(tasks.get(i).getDetails());
+            }
+            List<Thread> readers = new ArrayList<>();
+            List<Throwable> failures = new CopyOnWriteArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int seed = t;
+                Thread reader = new Thread(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 20_000; i++) {
+                        int index = random.nextInt(expected.size());
+                        if (!expected.get(index).equals(tasks.get(index).getDetails())) {
+                            failures.add(new AssertionError("Task " + index + " read wrongly"));
+                            return;
+                        }
+                    }
+                });
+                reader.setUncaughtExceptionHandler((thread, e) -> failures.add(e));
+                readers.add(reader);
+                reader.start();
+            }
+            for (Thread reader : readers) {
+                reader.join();
+            }
+            assertEquals(List.of(), failures);
+        }
+    }
+
+    @Test
+    public void database_loadLazily_sameTasksAsLoad() throws IOException, DukeException {
+        Path file = writeTasks(StorageFormat.BINARY);
+        List<Task> lazy = new BinaryDatabase(file.toString()).loadLazily();
+        ArrayList<Task> eager = new BinaryDatabase(file.toString()).load();
+        assertEquals(eager.size(), lazy.size());
+        for (int i = 0; i < eager.size(); i++) {
+            assertEquals(eager.get(i).getData(), lazy.get(i).getData());
+        }
+    }
+
+    @Test
+    public void lazyTaskList_closedThroughTaskList_onlyKeptTasksRead() throws IOException, DukeException {
+        for (StorageFormat format : new StorageFormat[] {StorageFormat.TEXT, StorageFormat.BINARY}) {
+            Path file = writeTasks(format);
+            LazyTaskList tasks = LazyTaskList.open(file, format, 2);
+            TaskList taskList = new TaskList(tasks);
+            taskList.addTask(new ToDo("added"));
+            taskList.close();
+
+            assertEquals("added", taskList.getTask(11).getDetails());
+            assertThrows(UncheckedIOException.class, () -> taskList.getTask(1));
+        }
+    }
+}
@@ -1,12 +1,26 @@
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import duke.commands.AddToDoCommand;
+import duke.commands.DeleteCommand;
+import duke.commands.ListCommand;
+import duke.commands.MarkCommand;
 import duke.exception.DukeException;
+import duke.exception.listcommandexceptions.ListSortOrderInvalidException;
 import duke.parser.Parser;
+import duke.task.Task;
+import duke.task.ToDo;
+import duke.tasklist.SortOrder;
 
 
 
@@ -26,4 +40,84 @@ public class ParserTest {
         }
     }
 
+    @Test
+    public void parser_listRangeThenMore_continuesAfterRange() throws DukeException {
+        Parser parser = new Parser();
+        assertEquals(301, ((ListCommand) parser.parse("list 200-300", 1)).getNextTaskNumber());
+        assertEquals(401, ((ListCommand) parser.parse("more", 1)).getNextTaskNumber());
+        assertEquals(301, ((ListCommand) parser.parse("list /page 3", 1)).getNextTaskNumber());
+        assertThrows(DukeException.class, () -> parser.parse("list 300-200", 1));
+        assertThrows(DukeException.class, () -> parser.parse("list /page zero", 1));
+    }
+
+    @Test
+    public void parser_listSortAndPage_bothKept() throws DukeException, IOException {
+        Parser parser = new Parser();
+        ListCommand sortedPage = (ListCommand) parser.parse("list /sort deadline /page 2", 1);
+        assertEquals(201, sortedPage.getNextTaskNumber());
+        assertEquals(SortOrder.DEADLINE, sortedPage.getSortOrder());
+        ListCommand more = (ListCommand) parser.parse("more", 1);
+        assertEquals(301, more.getNextTaskNumber());
+        assertEquals(SortOrder.DEADLINE, more.getSortOrder());
+        ListCommand pageSorted = (ListCommand) parser.parse("list /page 3  /sort status ", 1);
+        assertEquals(301, pageSorted.getNextTaskNumber());
+        assertEquals(SortOrder.STATUS, pageSorted.getSortOrder());
+        assertThrows(DukeException.class, () -> parser.parse("list /sort deadline /sort status", 1));
+        assertThrows(DukeException.class, () -> parser.parse("list /page 2 /sort due", 1));
+        assertThrows(DukeException.class, () -> parser.parse("list /page 2 /words", 1));
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 250; i++) {
+            tasks.add(new ToDo("task " + i));
+        }
+        StringBuilder out = new StringBuilder();
+        new ListCommand().writeTo(tasks, out);
+        assertTrue(out.toString().endsWith("Showing 1-100 of 250 tasks. 150 more, type more to see the next ones\n"));
+    }
+
+    @Test
+    public void parser_moreAfterLargestTaskNumber_staysAtLargest() throws DukeException, IOException {
+        Parser parser = new Parser();
+        List<Task> tasks = List.of(new ToDo("only"));
+        for (String command : new String[] {"list 2147483647", "list /page 21474836"}) {
+            parser.parse(command, 1);
+            for (int i = 0; i < 3; i++) {
+                ListCommand more = (ListCommand) parser.parse("more", 1);
+                assertEquals(Integer.MAX_VALUE, more.getNextTaskNumber());
+                StringBuilder out = new StringBuilder();
+                more.writeTo(tasks, out);
+                assertEquals("", out.toString());
+            }
+        }
+    }
+
+    @Test
+    public void parser_listUnknownSortOrder_exceptionThrown() {
+        Parser parser = new Parser();
+        for (String command : new String[] {"list /sort due", "list /sort Deadline", "list /sort  ",
+                "list /page 1 /sort id"}) {
+            assertThrows(ListSortOrderInvalidException.class, () -> parser.parse(command, 1));
+        }
+        assertEquals(null, SortOrder.of(""));
+    }
+
+    @Test
+    public void parser_markAndDelete_onlyCommandAllocated() throws DukeException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        Parser parser = new Parser();
+        int numOfParses = 100_000;
+        for (int i = 0; i < numOfParses; i++) {
+            parser.parse("mark 12", 20);
+            parser.parse("delete 3", 20);
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < numOfParses; i++) {
+            assertTrue(parser.parse("mark 12", 20) instanceof MarkCommand);
+            assertTrue(parser.parse("delete 3", 20) instanceof DeleteCommand);
+        }
+        long bytesPerParse = (threads.getThreadAllocatedBytes(threadId) - before) / (2L * numOfParses);
+        // The command and its target take about 48 bytes between them.
+        assertTrue(bytesPerParse <= 64, bytesPerParse + " bytes allocated for each parse");
+    }
 }
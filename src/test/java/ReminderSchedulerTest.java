@@ -0,0 +1,110 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.exception.DukeException;
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Task;
+import duke.task.ToDo;
+import duke.tasklist.ReminderScheduler;
+import duke.tasklist.TaskList;
+
+public class ReminderSchedulerTest {
+    @Test
+    public void reminderScheduler_monthsSimulated_eachTaskRemindedOnceOnTime() throws DukeException {
+        LocalDateTime start = LocalDateTime.of(2026, 10, 19, 9, 0);
+        SimulatedClock clock = new SimulatedClock(start);
+        List<String> reminded = new ArrayList<>();
+        ReminderScheduler scheduler = new ReminderScheduler(clock, Duration.ofHours(1),
+                task -> reminded.add(task.getDetails() + " at " + LocalDateTime.now(clock)));
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Deadline("past essay", start.minusDays(1), false));
+        taskList.setReminderScheduler(scheduler);
+
+        taskList.addTask(new ToDo("read book"));
+        taskList.addTask(new Deadline("essay", start.plusDays(30), false));
+        taskList.addTask(new Event("exam", start.plusDays(60), start.plusDays(60).plusHours(2), false));
+        taskList.addTask(new Deadline("quiz", start.plusDays(10), false));
+        taskList.addTask(new Deadline("deleted", start.plusDays(20), false));
+        taskList.addTask(new Deadline("done", start.plusDays(40), false));
+        taskList.deleteTask(6);
+        taskList.markTask(6, true);
+        taskList.editTask(4, "exam hall B");
+
+        for (int hour = 0; hour < 24 * 90; hour++) {
+            clock.set(start.plusHours(hour));
+            scheduler.fireDueReminders();
+        }
+        assertEquals(List.of("quiz at " + start.plusDays(10).minusHours(1),
+                "essay at " + start.plusDays(30).minusHours(1),
+                "exam hall B at " + start.plusDays(60).minusHours(1)), reminded);
+    }
+
+    @Test
+    public void reminderScheduler_taskChangedAfterReminder_notRemindedAgain() throws DukeException {
+        LocalDateTime start = LocalDateTime.of(2026, 10, 19, 9, 0);
+        SimulatedClock clock = new SimulatedClock(start);
+        List<String> reminded = new ArrayList<>();
+        ReminderScheduler scheduler = new ReminderScheduler(clock, Duration.ofHours(1),
+                task -> reminded.add(task.getDetails()));
+        TaskList taskList = new TaskList();
+        taskList.setReminderScheduler(scheduler);
+        taskList.addTask(new Deadline("essay", start.plusMinutes(30), false));
+        taskList.commitVersion();
+        assertEquals(1, scheduler.fireDueReminders());
+
+        taskList.editTask(1, "essay draft");
+        taskList.commitVersion();
+        taskList.markTask(1, true);
+        taskList.commitVersion();
+        taskList.markTask(1, false);
+        taskList.commitVersion();
+        taskList.undo();
+        taskList.redo();
+        clock.set(start.plusMinutes(10));
+        assertEquals(0, scheduler.fireDueReminders());
+
+        // A task added within the lead time is still reminded straight away.
+        taskList.addTask(new Deadline("quiz", start.plusMinutes(20), false));
+        assertEquals(1, scheduler.fireDueReminders());
+        assertEquals(List.of("essay", "quiz"), reminded);
+    }
+
+    /** Represents a clock that only moves when it is set. */
+    private static class SimulatedClock extends Clock {
+        private Instant instant;
+
+        SimulatedClock(LocalDateTime dateTime) {
+            this.set(dateTime);
+        }
+
+        void set(LocalDateTime dateTime) {
+            this.instant = dateTime.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+    }
+}
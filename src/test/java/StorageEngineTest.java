@@ -0,0 +1,77 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.database.Database;
+import duke.database.InMemoryStorageEngine;
+import duke.database.MappedDatabase;
+import duke.database.StorageEngine;
+import duke.database.StorageEngines;
+import duke.exception.DukeException;
+import duke.exception.databaseexceptions.StorageEngineNotFoundException;
+import duke.task.Deadline;
+import duke.task.Task;
+import duke.task.ToDo;
+
+
+
+public class StorageEngineTest {
+
+    private String newDatabasePath() throws IOException {
+        Path directory = Files.createTempDirectory("duke");
+        directory.toFile().deleteOnExit();
+        return directory.resolve("tasks.txt").toString();
+    }
+
+    @Test
+    public void storageEngines_registeredNames_created() throws DukeException, IOException {
+        String filePath = newDatabasePath();
+        assertTrue(StorageEngines.create("memory", filePath) instanceof InMemoryStorageEngine);
+        assertTrue(StorageEngines.create("mapped", filePath) instanceof MappedDatabase);
+        assertThrows(StorageEngineNotFoundException.class, () -> StorageEngines.create("floppy", filePath));
+    }
+
+    @Test
+    public void inMemoryStorageEngine_update_loadedBack() throws DukeException {
+        StorageEngine engine = new InMemoryStorageEngine();
+        List<Task> tasks = engine.load();
+        tasks.add(new ToDo("in memory", true));
+        engine.update(tasks);
+        tasks.set(0, tasks.get(0).withCompleted(false));
+
+        List<Task> loaded = engine.load();
+        assertEquals(1, loaded.size());
+        assertTrue(loaded.get(0).isCompleted());
+    }
+
+    @Test
+    public void mappedStore_tornSnapshot_previousSnapshotLoaded() throws DukeException, IOException {
+        String filePath = newDatabasePath();
+        Database database = new MappedDatabase(filePath);
+        ArrayList<Task> tasks = database.load();
+        tasks.add(new Deadline("first", "18-02-2023 18:00"));
+        database.update(tasks);
+        tasks.add(new ToDo("second"));
+        database.update(tasks);
+        assertEquals(2, new MappedDatabase(filePath).load().size());
+
+        // Damaging the details of the second task tears the newest snapshot, which is the only one holding it.
+        byte[] contents = Files.readAllBytes(Path.of(filePath));
+        int position = new String(contents, StandardCharsets.ISO_8859_1).indexOf("second");
+        contents[position] = 'S';
+        Files.write(Path.of(filePath), contents);
+
+        ArrayList<Task> loaded = new MappedDatabase(filePath).load();
+        assertEquals(1, loaded.size());
+        assertEquals("first", loaded.get(0).getDetails());
+    }
+}
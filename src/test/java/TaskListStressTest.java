@@ -0,0 +1,155 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import duke.commands.ListCommand;
+import duke.database.BinaryTaskCodec;
+import duke.database.LazyTaskList;
+import duke.database.StorageFormat;
+import duke.exception.DukeException;
+import duke.task.Task;
+import duke.task.ToDo;
+import duke.tasklist.TaskList;
+
+public class TaskListStressTest {
+
+    private static final int NUM_OF_WRITERS = 4;
+    private static final int NUM_OF_READERS = 2;
+    private static final int NUM_OF_TASKS_PER_WRITER = 2_000;
+
+    /**
+     * Each writer adds its tasks in turn, marks each one as done, and deletes the even ones straight after. Every
+     * snapshot read meanwhile must show each writer's tasks as they were between two of its changes.
+     */
+    @Test
+    public void taskList_concurrentAddMarkDelete_snapshotsLinearizable() throws InterruptedException {
+        TaskList taskList = new TaskList();
+        stress(taskList, () -> checkSnapshot(taskList.getSnapshot()));
+        checkSnapshot(taskList.getSnapshot());
+        for (Task task : taskList.getSnapshot()) {
+            assertTrue(task.isCompleted());
+        }
+    }
+
+    /**
+     * A lazily loaded list keeps no snapshot, so its snapshots are copied and its pages are listed while holding the
+     * lock, which must still show each writer's tasks as they were between two of its changes.
+     */
+    @Test
+    public void taskList_lazyListConcurrentAddMarkDelete_readsLinearizable() throws InterruptedException,
+            IOException, DukeException {
+        Path path = Files.createTempDirectory("duke").resolve("tasks.txt");
+        Files.write(path, new BinaryTaskCodec().encode(List.of(), 0));
+        TaskList taskList = new TaskList(LazyTaskList.open(path, StorageFormat.BINARY, 64));
+        ListCommand list = new ListCommand(1, 50);
+        stress(taskList, () -> {
+            checkSnapshot(taskList.getSnapshot());
+            taskList.readTasks(tasks -> {
+                checkSnapshot(tasks);
+                try {
+                    list.writeTo(tasks, new StringBuilder());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            });
+        });
+        checkSnapshot(taskList.getSnapshot());
+        taskList.close();
+    }
+
+    /**
+     * Runs the writers against the TaskList, with the readers running the read over and over until every writer is
+     * done, then checks that no thread failed and that only the odd tasks of each writer are left.
+     */
+    private static void stress(TaskList taskList, Runnable read) throws InterruptedException {
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        CountDownLatch writersDone = new CountDownLatch(NUM_OF_WRITERS);
+        List<Thread> threads = new ArrayList<>();
+        for (int writer = 0; writer < NUM_OF_WRITERS; writer++) {
+            int writerNumber = writer;
+            threads.add(new Thread(() -> {
+                try {
+                    write(taskList, writerNumber);
+                } catch (Throwable e) {
+                    failures.add(e);
+                } finally {
+                    writersDone.countDown();
+                }
+            }));
+        }
+        for (int reader = 0; reader < NUM_OF_READERS; reader++) {
+            threads.add(new Thread(() -> {
+                try {
+                    while (isWriting.get()) {
+                        read.run();
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        assertTrue(writersDone.await(60, TimeUnit.SECONDS));
+        isWriting.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(List.of(), new ArrayList<>(failures));
+        assertEquals(NUM_OF_WRITERS * NUM_OF_TASKS_PER_WRITER / 2, taskList.length());
+    }
+
+    private static void write(TaskList taskList, int writerNumber) throws DukeException {
+        for (int i = 0; i < NUM_OF_TASKS_PER_WRITER; i++) {
+            Task task = taskList.addTask(new ToDo(writerNumber + " " + i));
+            taskList.getLock().lock();
+            try {
+                taskList.markTask(taskList.getTaskNumber(task.getId()), true);
+                if (i % 2 == 0) {
+                    taskList.deleteTask(taskList.getTaskNumber(task.getId()));
+                }
+            } finally {
+                taskList.getLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Checks that the ids are ascending, and that each writer's tasks are the odd ones it has added so far, all marked
+     * as done, followed by at most one more that may not be marked or deleted yet.
+     */
+    private static void checkSnapshot(List<Task> snapshot) {
+        long lastId = 0;
+        int[] nextTask = new int[NUM_OF_WRITERS];
+        boolean[] hasUnfinishedTask = new boolean[NUM_OF_WRITERS];
+        for (Task task : snapshot) {
+            assertTrue(task.getId() > lastId, "ids not ascending");
+            lastId = task.getId();
+            String[] parts = task.getDetails().strip().split(" ");
+            int writer = Integer.parseInt(parts[0]);
+            int number = Integer.parseInt(parts[1]);
+            assertTrue(!hasUnfinishedTask[writer], "task after an unfinished one: " + task.getDetails());
+            int expected = nextTask[writer] % 2 == 0 ? nextTask[writer] + 1 : nextTask[writer];
+            boolean isLatest = number == nextTask[writer] || number == expected;
+            assertTrue(isLatest, "task missing before: " + task.getDetails());
+            if (number % 2 == 0 || !task.isCompleted()) {
+                hasUnfinishedTask[writer] = true;
+            }
+            nextTask[writer] = number + 1;
+        }
+    }
+}
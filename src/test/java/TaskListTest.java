@@ -0,0 +1,411 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import duke.exception.DukeException;
+import duke.exception.tasklistexceptions.TaskListNothingToRedoException;
+import duke.exception.tasklistexceptions.TaskListNothingToUndoException;
+import duke.exception.tasklistexceptions.TaskListTaskIdNotFoundException;
+import duke.exception.tasklistexceptions.TaskListTaskNumberInvalidException;
+import duke.task.ColumnarTaskList;
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Task;
+import duke.task.ToDo;
+import duke.tasklist.SortOrder;
+import duke.tasklist.TaskList;
+import duke.tasklist.TaskSelection;
+import duke.tasklist.TaskTarget;
+import duke.tasklist.TreeList;
+
+
+
+public class TaskListTest {
+    @Test
+    public void taskList_deleteBeforeTask_idStillFindsTask() throws DukeException {
+        TaskList taskList = new TaskList();
+        for (int i = 1; i <= 5; i++) {
+            taskList.addTask(new ToDo("task " + i));
+        }
+        assertEquals(4, taskList.getTask(4).getId());
+        taskList.deleteTask(1);
+        taskList.deleteTask(2);
+
+        assertEquals(2, TaskTarget.parse("#4").resolve(taskList));
+        assertEquals("task 4", taskList.getTask(TaskTarget.parse("#4").resolve(taskList)).getDetails());
+        assertThrows(TaskListTaskIdNotFoundException.class, () -> TaskTarget.parse("#3").resolve(taskList));
+    }
+
+    @Test
+    public void taskList_lastTaskDeleted_idNotGivenOutAgain() throws DukeException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("first"));
+        taskList.addTask(new ToDo("second"));
+        taskList.getTaskNumber(2);
+        taskList.deleteTask(2);
+        Task third = taskList.addTask(new ToDo("third"));
+
+        assertEquals(3, third.getId());
+        assertEquals(2, taskList.getTaskNumber(3));
+        assertThrows(TaskListTaskIdNotFoundException.class, () -> taskList.getTaskNumber(2));
+    }
+
+    @Test
+    public void taskList_findTasksWithWords_indexKeptUpToDate() throws DukeException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("CS2103T lecture"));
+        taskList.addTask(new ToDo("CS2103T tutorial, then lecture notes"));
+        taskList.addTask(new ToDo("lectures for CS2101"));
+        assertEquals(2, taskList.findTasksWithWords("lecture cs2103t").size());
+
+        taskList.addTask(new ToDo("Watch lecture (CS2103T)"));
+        taskList.deleteTask(1);
+        taskList.editTask(2, "CS2103T lecture");
+        List<Task> found = taskList.findTasksWithWords("LECTURE  cs2103t");
+
+        assertEquals(3, found.size());
+        assertEquals("CS2103T tutorial, then lecture notes", found.get(0).getDetails());
+        assertEquals("CS2103T lecture", found.get(1).getDetails());
+        assertEquals(0, taskList.findTasksWithWords("lecture cs2101").size());
+    }
+
+    @Test
+    public void taskList_findTasksContaining_sameAsScan() throws DukeException {
+        TaskList taskList = new TaskList();
+        Random random = new Random(2103);
+        String[] words = {"CS2103T", "lecture", "lectures", "quiz", "Tutorial", "ip", "tP"};
+        for (int i = 0; i < 500; i++) {
+            taskList.addTask(new ToDo(words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]));
+            if (i % 7 == 6) {
+                taskList.deleteTask(random.nextInt(taskList.length()) + 1);
+            }
+            if (i % 5 == 0) {
+                taskList.editTask(random.nextInt(taskList.length()) + 1, words[random.nextInt(words.length)]);
+            }
+            if (i == 250) {
+                // Built halfway, so that every change after has to keep it up to date.
+                taskList.findTasksContaining("CS2");
+            }
+        }
+        for (String query : new String[] {"ip", "lecture", "tures", "CS2103T lect", "Tutorial ip", "2103", "quizz"}) {
+            List<Task> expected = new ArrayList<>();
+            for (Task task : taskList.getTasks()) {
+                if (task.getDetails().contains(query)) {
+                    expected.add(task);
+                }
+            }
+            assertEquals(expected, taskList.findTasksContaining(query));
+        }
+    }
+
+    @Test
+    public void taskList_findTasksDue_sortedByDeadlineWithinRange() throws DukeException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Deadline("essay", "20-10-2026 18:00"));
+        taskList.addTask(new ToDo("read"));
+        taskList.addTask(new Deadline("quiz", "19-10-2026 09:00"));
+        assertEquals(2, taskList.findTasksDue(null, LocalDateTime.of(2026, 10, 20, 18, 0)).size());
+
+        taskList.addTask(new Deadline("lab", "20-10-2026 18:00"));
+        taskList.addTask(new Deadline("exam", "01-12-2026 09:00"));
+        taskList.deleteTask(3);
+        List<Deadline> due = taskList.findTasksDue(LocalDateTime.of(2026, 10, 19, 0, 0),
+                LocalDateTime.of(2026, 10, 25, 23, 59));
+
+        assertEquals(2, due.size());
+        assertEquals("essay", due.get(0).getDetails().strip());
+        assertEquals("lab", due.get(1).getDetails().strip());
+        assertEquals(0, taskList.findTasksDue(LocalDateTime.of(2026, 10, 25, 0, 0),
+                LocalDateTime.of(2026, 10, 19, 0, 0)).size());
+    }
+
+    @Test
+    public void taskList_findTasksDueEmptyOrInvertedRange_onlyExactDeadlinesFound() throws DukeException {
+        TaskList taskList = new TaskList();
+        LocalDateTime monday = LocalDateTime.of(2026, 10, 19, 9, 0);
+        assertEquals(0, taskList.findTasksDue(null, monday).size());
+        assertEquals(0, taskList.findTasksDue(monday, monday.plusDays(7)).size());
+
+        taskList.addTask(new Deadline("quiz", monday, false));
+        taskList.addTask(new Deadline("essay", monday.plusDays(1), false));
+        assertEquals(0, taskList.findTasksDue(null, monday.minusMinutes(1)).size());
+        assertEquals(List.of("quiz"), detailsOf(taskList.findTasksDue(monday, monday)));
+        assertEquals(0, taskList.findTasksDue(monday.plusMinutes(1), monday.plusMinutes(1)).size());
+        assertEquals(0, taskList.findTasksDue(monday.plusDays(1), monday).size());
+    }
+
+    @Test
+    public void taskList_findEventsOverlapping_sameAsScan() throws DukeException {
+        TaskList taskList = new TaskList();
+        Random random = new Random(2103);
+        LocalDateTime monday = LocalDateTime.of(2026, 10, 19, 0, 0);
+        for (int i = 0; i < 1_000; i++) {
+            LocalDateTime start = monday.plusHours(random.nextInt(24 * 7));
+            taskList.addTask(new Event("event " + i, start, start.plusHours(random.nextInt(6)), false));
+            if (i % 3 == 2) {
+                taskList.deleteTask(random.nextInt(taskList.length()) + 1);
+            }
+            if (i == 500) {
+                // Built halfway, so that every change after has to keep it up to date.
+                taskList.findEventsOverlapping(monday, monday);
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            LocalDateTime from = monday.plusHours(random.nextInt(24 * 7));
+            LocalDateTime to = from.plusHours(random.nextInt(12));
+            List<Event> expected = new ArrayList<>();
+            for (Task task : taskList.getTasks()) {
+                Event event = (Event) task;
+                if (event.getStartDateTime().isBefore(to) && event.getEndDateTime().isAfter(from)) {
+                    expected.add(event);
+                }
+            }
+            expected.sort(Comparator.comparing(Event::getStartDateTime).thenComparingLong(Event::getId));
+            assertEquals(expected, taskList.findEventsOverlapping(from, to));
+        }
+    }
+
+    @Test
+    public void taskList_findEventsOverlappingEmptyOrInvertedWindow_onlyEventsAroundInstantFound()
+            throws DukeException {
+        TaskList taskList = new TaskList();
+        LocalDateTime monday = LocalDateTime.of(2026, 10, 19, 9, 0);
+        assertEquals(0, taskList.findEventsOverlapping(monday, monday.plusDays(7)).size());
+
+        taskList.addTask(new Event("lecture", monday, monday.plusHours(2), false));
+        taskList.addTask(new Event("lab", monday.plusHours(2), monday.plusHours(4), false));
+        assertEquals(List.of("lecture"), detailsOf(taskList.findEventsOverlapping(monday.plusHours(1),
+                monday.plusHours(1))));
+        assertEquals(0, taskList.findEventsOverlapping(monday.plusHours(2), monday.plusHours(2)).size());
+        assertEquals(0, taskList.findEventsOverlapping(monday.plusHours(4), monday.plusHours(5)).size());
+        assertEquals(0, taskList.findEventsOverlapping(monday.plusHours(3), monday.plusHours(1)).size());
+    }
+
+    @Test
+    public void taskList_undoThenRedo_restoresEachCommand() throws DukeException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("read book"));
+        taskList.commitVersion();
+        taskList.addTask(new ToDo("return book"));
+        taskList.markTask(1, true);
+        taskList.commitVersion();
+        taskList.deleteTask(2);
+        taskList.commitVersion();
+        assertEquals(1, taskList.findTasksWithWords("book").size());
+
+        taskList.undo();
+        assertEquals(2, taskList.length());
+        assertEquals(2, taskList.findTasksWithWords("book").size());
+        taskList.undo();
+        assertEquals(1, taskList.length());
+        assertEquals(false, taskList.getTask(1).isCompleted());
+        taskList.redo();
+        assertEquals(true, taskList.getTask(1).isCompleted());
+        assertEquals(2, taskList.getTaskNumber(2));
+
+        taskList.editTask(1, "sell book");
+        taskList.commitVersion();
+        assertThrows(TaskListNothingToRedoException.class, taskList::redo);
+        taskList.undo();
+        taskList.undo();
+        taskList.undo();
+        assertEquals(0, taskList.length());
+        assertThrows(TaskListNothingToUndoException.class, taskList::undo);
+    }
+
+    @Test
+    public void taskList_historyOverBudget_oldestCommandsDropped() throws DukeException {
+        TaskList taskList = new TaskList();
+        taskList.setHistoryBudget(1024);
+        for (int i = 1; i <= 1_000; i++) {
+            taskList.addTask(new ToDo("task " + i));
+            taskList.commitVersion();
+        }
+        int numOfUndone = 0;
+        try {
+            while (true) {
+                taskList.undo();
+                numOfUndone++;
+            }
+        } catch (TaskListNothingToUndoException e) {
+            assertEquals(1_000 - numOfUndone, taskList.length());
+        }
+        assertEquals(true, numOfUndone > 0 && numOfUndone < 1_000);
+    }
+
+    @Test
+    public void taskList_deleteTasksSelected_sameOnEveryBacking() throws DukeException {
+        for (String selection : List.of("3,7,9-20", "2-299", "all-done", "#5,1-2,#5")) {
+            List<Long> expected = null;
+            List<List<Task>> backings = List.of(new ArrayList<>(), new TreeList<>(), new ColumnarTaskList());
+            for (List<Task> backing : backings) {
+                TaskList taskList = new TaskList(backing);
+                for (int i = 1; i <= 300; i++) {
+                    taskList.addTask(new ToDo("task " + i));
+                }
+                taskList.markTasks(TaskSelection.parse("1-100").resolve(taskList), true);
+                taskList.findTasksWithWords("task");
+                taskList.deleteTasks(TaskSelection.parse(selection).resolve(taskList));
+
+                List<Long> ids = new ArrayList<>();
+                for (Task task : taskList.getSnapshot()) {
+                    ids.add(task.getId());
+                }
+                assertEquals(ids.size(), taskList.findTasksWithWords("task").size());
+                if (expected == null) {
+                    expected = ids;
+                } else {
+                    assertEquals(expected, ids);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void taskList_markTasksOutOfRange_noTaskMarked() throws DukeException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("first"));
+        taskList.addTask(new ToDo("second"));
+        assertThrows(TaskListTaskNumberInvalidException.class, () -> taskList.markTasks(new int[] {1, 3}, true));
+        assertEquals(0, TaskSelection.parse("all-done").resolve(taskList).length);
+    }
+
+    @Test
+    public void taskList_sortedSnapshotsAfterChanges_sameAsSort() throws DukeException {
+        LocalDateTime monday = LocalDateTime.of(2026, 10, 19, 9, 0);
+        for (TaskList taskList : List.of(new TaskList(), new TaskList(new ColumnarTaskList()))) {
+            Random random = new Random(2103);
+            for (SortOrder order : SortOrder.values()) {
+                taskList.getSortedSnapshot(order);
+            }
+            for (int i = 0; i < 2_000; i++) {
+                int operation = random.nextInt(10);
+                LocalDateTime start = monday.plusHours(random.nextInt(100));
+                if (operation < 5 || taskList.length() == 0) {
+                    Task task = operation < 2 ? new ToDo("todo " + i)
+                            : operation < 4 ? new Deadline("deadline " + i, start, random.nextBoolean())
+                            : new Event("event " + i, start, start.plusHours(1), random.nextBoolean());
+                    taskList.addTask(task);
+                } else if (operation < 7) {
+                    taskList.markTask(random.nextInt(taskList.length()) + 1, random.nextBoolean());
+                } else if (operation < 8) {
+                    taskList.editTask(random.nextInt(taskList.length()) + 1, "edited " + i);
+                } else {
+                    taskList.deleteTask(random.nextInt(taskList.length()) + 1);
+                }
+            }
+            List<Long> deadlineIds = new ArrayList<>();
+            List<Long> startIds = new ArrayList<>();
+            List<Long> statusIds = new ArrayList<>();
+            List<Task> tasks = new ArrayList<>(taskList.getSnapshot());
+            tasks.sort(Comparator.comparing(Task::isCompleted).thenComparingLong(Task::getId));
+            for (Task task : tasks) {
+                statusIds.add(task.getId());
+            }
+            tasks.sort(Comparator.comparing((Task task) -> task instanceof Deadline ? ((Deadline) task).getDeadline()
+                    : task instanceof Event ? ((Event) task).getStartDateTime() : monday)
+                    .thenComparingLong(Task::getId));
+            for (Task task : tasks) {
+                if (task instanceof Deadline) {
+                    deadlineIds.add(task.getId());
+                } else if (task instanceof Event) {
+                    startIds.add(task.getId());
+                }
+            }
+            assertEquals(deadlineIds, idsOf(taskList.getSortedSnapshot(SortOrder.DEADLINE)));
+            assertEquals(startIds, idsOf(taskList.getSortedSnapshot(SortOrder.START)));
+            assertEquals(statusIds, idsOf(taskList.getSortedSnapshot(SortOrder.STATUS)));
+        }
+    }
+
+    @Test
+    public void taskList_sortedSnapshotsWithoutListedTasks_empty() throws DukeException {
+        TaskList taskList = new TaskList();
+        for (SortOrder order : SortOrder.values()) {
+            assertEquals(0, taskList.getSortedSnapshot(order).size());
+        }
+
+        taskList.addTask(new ToDo("read"));
+        taskList.addTask(new Deadline("essay", LocalDateTime.of(2026, 10, 19, 9, 0), false));
+        assertEquals(List.of("essay"), detailsOf(taskList.getSortedSnapshot(SortOrder.DEADLINE)));
+        taskList.deleteTask(2);
+        assertEquals(0, taskList.getSortedSnapshot(SortOrder.DEADLINE).size());
+        assertEquals(0, taskList.getSortedSnapshot(SortOrder.START).size());
+        assertEquals(List.of("read"), detailsOf(taskList.getSortedSnapshot(SortOrder.STATUS)));
+    }
+
+    @Test
+    public void taskList_queriesWhileLockHeld_answeredFromSnapshot() throws Exception {
+        LocalDateTime monday = LocalDateTime.of(2026, 10, 19, 9, 0);
+        // The indexes of one list are built before the lock is held, and those of the other list while it is held.
+        TaskList taskList = new TaskList();
+        TaskList unindexed = new TaskList();
+        for (TaskList tasks : List.of(taskList, unindexed)) {
+            tasks.addTask(new ToDo("CS2103T lecture notes"));
+            tasks.addTask(new Deadline("CS2103T quiz", monday.plusDays(1), false));
+            tasks.addTask(new Event("CS2103T lecture", monday, monday.plusHours(2), false));
+            tasks.addTask(new Deadline("essay", monday, false));
+            tasks.markTask(4, true);
+        }
+        List<List<String>> expected = queryDetails(taskList, monday);
+
+        CountDownLatch isLocked = new CountDownLatch(1);
+        CountDownLatch isQueried = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            taskList.getLock().lock();
+            unindexed.getLock().lock();
+            try {
+                isLocked.countDown();
+                isQueried.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                unindexed.getLock().unlock();
+                taskList.getLock().unlock();
+            }
+        });
+        holder.start();
+        isLocked.await();
+        try {
+            assertEquals(expected, queryDetails(taskList, monday));
+            assertEquals(expected, queryDetails(unindexed, monday));
+        } finally {
+            isQueried.countDown();
+            holder.join();
+        }
+        assertEquals(expected, queryDetails(unindexed, monday));
+    }
+
+    private static List<List<String>> queryDetails(TaskList taskList, LocalDateTime monday) {
+        return List.of(detailsOf(taskList.findTasksWithWords("lecture cs2103t")),
+                detailsOf(taskList.findTasksContaining("2103T")),
+                detailsOf(taskList.findTasksDue(monday, monday.plusDays(2))),
+                detailsOf(taskList.findEventsOverlapping(monday.plusHours(1), monday.plusDays(1))),
+                detailsOf(taskList.getSortedSnapshot(SortOrder.DEADLINE)),
+                detailsOf(taskList.getSortedSnapshot(SortOrder.STATUS)));
+    }
+
+    private static List<String> detailsOf(List<? extends Task> tasks) {
+        List<String> details = new ArrayList<>();
+        for (Task task : tasks) {
+            details.add(task.getDetails().strip());
+        }
+        return details;
+    }
+
+    private static List<Long> idsOf(List<? extends Task> tasks) {
+        List<Long> ids = new ArrayList<>();
+        for (Task task : tasks) {
+            ids.add(task.getId());
+        }
+        return ids;
+    }
+}
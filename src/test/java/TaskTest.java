@@ -0,0 +1,51 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import duke.task.Task;
+import duke.task.ToDo;
+
+
+
+public class TaskTest {
+    @Test
+    public void task_latin1AndOtherDetails_decodedUnchanged() {
+        for (String details : new String[]{"", "Do work for CS2103T", "café à la crème", "读书 📚 for CS2103T"}) {
+            assertEquals(details, new ToDo(details).getDetails());
+        }
+    }
+
+    @Test
+    public void task_detailsUtf8_sameAsEncodedString() {
+        for (String details : new String[]{"", "Do work for CS2103T", "café à la crème", "读书 📚 for CS2103T"}) {
+            Task task = new ToDo(details);
+            assertArrayEquals(details.getBytes(StandardCharsets.UTF_8), task.getDetailsUtf8());
+            assertEquals(details, task.getDetails());
+            assertEquals(details, task.getDetails());
+        }
+    }
+
+    @Test
+    public void task_isContains_sameAsStringContains() {
+        String[] queries = {"", "work", "CS2103", "Work", "é", "crème", "读", "📚", "T ", "zzz"};
+        for (String details : new String[]{"Do work for CS2103T", "café à la crème", "读书 📚 for CS2103T"}) {
+            Task task = new ToDo(details);
+            for (String query : queries) {
+                assertEquals(details.contains(query), task.isContains(query), details + " contains " + query);
+            }
+        }
+    }
+
+    @Test
+    public void task_editedDetails_otherTasksUnchanged() {
+        Task first = new ToDo("Do work for CS2103T");
+        Task second = new ToDo("Do work for CS2103T");
+        Task edited = second.withDetails("Do work for CS2101");
+        assertEquals("Do work for CS2103T", first.getDetails());
+        assertEquals("Do work for CS2103T", second.getDetails());
+        assertEquals("Do work for CS2101", edited.getDetails());
+    }
+}
@@ -0,0 +1,74 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import duke.tasklist.TreeList;
+
+public class TreeListTest {
+    @Test
+    public void treeList_randomInsertsAndRemoves_sameAsArrayList() {
+        Random random = new Random(2103);
+        List<Integer> expected = new ArrayList<>();
+        TreeList<Integer> actual = new TreeList<>();
+        for (int i = 0; i < 5_000; i++) {
+            int operation = random.nextInt(4);
+            if (operation < 2 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                actual.add(index, i);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), actual.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, -i), actual.set(index, -i));
+            }
+        }
+        assertEquals(expected, actual);
+        assertEquals(expected, new TreeList<>(expected));
+        assertThrows(IndexOutOfBoundsException.class, () -> actual.get(actual.size()));
+    }
+
+    @Test
+    public void treeList_iteratorRemove_removesOnlyReturnedElements() {
+        TreeList<Integer> list = new TreeList<>(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        Iterator<Integer> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 3 != 0) {
+                iterator.remove();
+            }
+        }
+        assertEquals(Arrays.asList(0, 3, 6, 9), list);
+    }
+
+    @Test
+    public void treeList_changedAfterSnapshot_snapshotUnchanged() {
+        Random random = new Random(2103);
+        TreeList<Integer> list = new TreeList<>();
+        List<List<Integer>> snapshots = new ArrayList<>();
+        List<List<Integer>> expected = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int operation = random.nextInt(3);
+            if (operation == 0 || list.isEmpty()) {
+                list.add(random.nextInt(list.size() + 1), i);
+            } else if (operation == 1) {
+                list.remove(random.nextInt(list.size()));
+            } else {
+                list.set(random.nextInt(list.size()), -i);
+            }
+            if (i % 100 == 0) {
+                snapshots.add(list.snapshot());
+                expected.add(new ArrayList<>(list));
+            }
+        }
+        assertEquals(expected, snapshots);
+        assertThrows(UnsupportedOperationException.class, () -> snapshots.get(0).add(1));
+    }
+}